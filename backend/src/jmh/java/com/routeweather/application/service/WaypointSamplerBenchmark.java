@@ -0,0 +1,51 @@
+package com.routeweather.application.service;
+
+import com.routeweather.benchmark.Fixtures;
+import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.TimedWaypoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling timed weather waypoints from a full OSRM geometry (distance along the route,
+ * ETAs from the travel times, one waypoint per forecast cell and hour), with the default
+ * sampling settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaypointSamplerBenchmark {
+
+    @Param({"1500", "12000"})
+    int points;
+
+    private final WaypointSampler sampler = new WaypointSampler(0.1, 25, 24);
+    private final LocalDateTime departure = Fixtures.FORECAST_START.plusHours(8);
+    private RouteDetails details;
+
+    @Setup
+    public void setUp() {
+        details = Fixtures.route(points).toRouteDetails();
+    }
+
+    @Benchmark
+    public List<TimedWaypoint> sample() {
+        return sampler.sample(details, departure);
+    }
+}
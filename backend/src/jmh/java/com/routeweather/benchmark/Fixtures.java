@@ -0,0 +1,140 @@
+package com.routeweather.benchmark;
+
+import com.routeweather.domain.model.Polyline;
+import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.RouteGeometry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Upstream payloads for the benchmarks, in the exact shape Nominatim/OSRM/Open-Meteo return
+ * and at the size of real requests, generated deterministically so every run parses the
+ * same bytes.
+ *
+ * The default route follows Madrid → Barcelona (~620 km): OSRM returns around 12,000
+ * geometry points for it with overview=full. The default forecast batch is the 24 cells
+ * (route-weather.sampling.max-waypoints) over the two days a long trip can span.
+ */
+public final class Fixtures {
+
+    public static final double[] MADRID = {40.4168, -3.7038};
+    public static final double[] BARCELONA = {41.3874, 2.1686};
+    public static final int ROUTE_POINTS = 12_000;
+    public static final int FORECAST_LOCATIONS = 24;
+    public static final int FORECAST_HOURS = 48;
+    public static final LocalDateTime FORECAST_START = LocalDateTime.of(2026, 6, 15, 0, 0);
+
+    /** A road-like route: geometry, travel time to every point and total duration. */
+    public record RouteFixture(double[] latitudes, double[] longitudes, double[] segmentDurations, double durationSeconds) {
+
+        public RouteDetails toRouteDetails() {
+            double[] cumulative = new double[latitudes.length];
+            for (int i = 1; i < cumulative.length; i++) {
+                cumulative[i] = cumulative[i - 1] + segmentDurations[i - 1];
+            }
+            return new RouteDetails(RouteGeometry.of(Polyline.of(latitudes, longitudes)), cumulative, durationSeconds);
+        }
+    }
+
+    private Fixtures() {}
+
+    /**
+     * {@code points} points from Madrid to Barcelona, meandering like a road, each segment
+     * driven at 60–120 km/h.
+     */
+    public static RouteFixture route(int points) {
+        Random random = new Random(42);
+        double[] lats = new double[points];
+        double[] lons = new double[points];
+        double[] durations = new double[points - 1];
+        double total = 0;
+        for (int i = 0; i < points; i++) {
+            double t = (double) i / (points - 1);
+            double bend = Math.sin(t * Math.PI * 9) * 0.15 + Math.sin(t * Math.PI * 61) * 0.01;
+            lats[i] = round(MADRID[0] + (BARCELONA[0] - MADRID[0]) * t + bend + random.nextGaussian() * 0.0002);
+            lons[i] = round(MADRID[1] + (BARCELONA[1] - MADRID[1]) * t - bend * 0.5 + random.nextGaussian() * 0.0002);
+            if (i > 0) {
+                double km = haversineKm(lats[i - 1], lons[i - 1], lats[i], lons[i]);
+                durations[i - 1] = Math.round(km / (60 + random.nextInt(61)) * 36_000) / 10.0;
+                total += durations[i - 1];
+            }
+        }
+        return new RouteFixture(lats, lons, durations, Math.round(total * 10) / 10.0);
+    }
+
+    /** An OSRM /route response for the route (geometries=geojson, annotations=duration). */
+    public static byte[] osrmResponse(RouteFixture route) {
+        StringBuilder json = new StringBuilder(route.latitudes().length * 48);
+        json.append("{\"code\":\"Ok\",\"routes\":[{\"geometry\":{\"coordinates\":[");
+        for (int i = 0; i < route.latitudes().length; i++) {
+            if (i > 0) json.append(',');
+            json.append('[').append(route.longitudes()[i]).append(',').append(route.latitudes()[i]).append(']');
+        }
+        json.append("],\"type\":\"LineString\"},\"legs\":[{\"steps\":[],\"summary\":\"\",\"weight\":")
+                .append(route.durationSeconds()).append(",\"duration\":").append(route.durationSeconds())
+                .append(",\"annotation\":{\"duration\":[");
+        for (int i = 0; i < route.segmentDurations().length; i++) {
+            if (i > 0) json.append(',');
+            json.append(route.segmentDurations()[i]);
+        }
+        json.append("]},\"distance\":621843.2}],\"weight_name\":\"routability\",\"weight\":")
+                .append(route.durationSeconds()).append(",\"duration\":").append(route.durationSeconds())
+                .append(",\"distance\":621843.2}],\"waypoints\":[")
+                .append("{\"hint\":\"\",\"distance\":4.1,\"name\":\"Calle Mayor\",\"location\":[-3.7038,40.4168]},")
+                .append("{\"hint\":\"\",\"distance\":2.7,\"name\":\"Placa de Catalunya\",\"location\":[2.1686,41.3874]}]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** A multi-location Open-Meteo forecast response: one entry per location, hourly data. */
+    public static byte[] openMeteoResponse(int locations, int hours) {
+        Random random = new Random(7);
+        int[] codes = {0, 1, 2, 3, 45, 51, 61, 63, 65, 80, 95};
+        StringBuilder json = new StringBuilder(locations * hours * 80);
+        json.append('[');
+        for (int l = 0; l < locations; l++) {
+            if (l > 0) json.append(',');
+            json.append(String.format(Locale.ROOT,
+                    "{\"latitude\":%.2f,\"longitude\":%.2f,\"generationtime_ms\":0.41,\"utc_offset_seconds\":7200,"
+                            + "\"timezone\":\"Europe/Madrid\",\"timezone_abbreviation\":\"CEST\",\"elevation\":%.1f,"
+                            + "\"hourly_units\":{\"time\":\"iso8601\",\"temperature_2m\":\"°C\",\"precipitation\":\"mm\","
+                            + "\"windspeed_10m\":\"km/h\",\"weathercode\":\"wmo code\"},\"hourly\":{\"time\":[",
+                    MADRID[0] + l * 0.04, MADRID[1] + l * 0.25, 200 + random.nextInt(600) * 1.0));
+            for (int h = 0; h < hours; h++) {
+                if (h > 0) json.append(',');
+                json.append('"').append(FORECAST_START.plusHours(h)).append('"');
+            }
+            appendSeries(json, "temperature_2m", hours, () -> String.format(Locale.ROOT, "%.1f", 12 + random.nextDouble() * 20));
+            appendSeries(json, "precipitation", hours, () -> random.nextInt(4) == 0
+                    ? String.format(Locale.ROOT, "%.1f", random.nextDouble() * 6) : "0.0");
+            appendSeries(json, "windspeed_10m", hours, () -> String.format(Locale.ROOT, "%.1f", random.nextDouble() * 45));
+            appendSeries(json, "weathercode", hours, () -> Integer.toString(codes[random.nextInt(codes.length)]));
+            json.append("]}}");
+        }
+        json.append(']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendSeries(StringBuilder json, String name, int hours, Supplier<String> value) {
+        json.append("],\"").append(name).append("\":[");
+        for (int h = 0; h < hours; h++) {
+            if (h > 0) json.append(',');
+            json.append(value.get());
+        }
+    }
+
+    private static double round(double degrees) {
+        return Math.round(degrees * 1e6) / 1e6;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
@@ -0,0 +1,99 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routeweather.benchmark.Fixtures;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.Polyline;
+import com.routeweather.domain.model.Route;
+import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.RouteWeatherReport;
+import com.routeweather.domain.model.WeatherCondition;
+import com.routeweather.domain.model.WeatherPoint;
+import com.routeweather.infrastructure.adapter.in.rest.dto.RouteWeatherResponse;
+import com.routeweather.infrastructure.adapter.in.rest.mapper.RouteWeatherMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a Madrid → Barcelona report (24 weather points, full OSRM geometry) into the
+ * response DTO and writing it in each media type the controller serves, with the same
+ * ObjectMappers the message converters use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    /** The ObjectMapper behind each media type's message converter. */
+    @State(Scope.Benchmark)
+    public static class Serializer {
+
+        @Param({"json", "polyline-json", "cbor"})
+        String format;
+
+        ObjectMapper objectMapper;
+
+        @Setup
+        public void setUp() {
+            objectMapper = switch (format) {
+                case "json" -> Jackson2ObjectMapperBuilder.json()
+                        .serializerByType(Polyline.class, new PolylineJsonSerializer())
+                        .build();
+                case "polyline-json" -> new PolylineJsonHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+                case "cbor" -> new RouteWeatherCborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+                default -> throw new IllegalArgumentException("Unknown format: " + format);
+            };
+        }
+    }
+
+    /** Default zoom, and full resolution for a client zoomed all the way in. */
+    @Param({"11", "18"})
+    int zoom;
+
+    private RouteWeatherReport report;
+
+    @Setup
+    public void setUp() {
+        RouteDetails details = Fixtures.route(Fixtures.ROUTE_POINTS).toRouteDetails();
+        Polyline geometry = details.geometry().full();
+        List<WeatherPoint> weatherPoints = new ArrayList<>();
+        for (int i = 0; i < Fixtures.FORECAST_LOCATIONS; i++) {
+            Coordinates at = geometry.get(i * (geometry.size() - 1) / (Fixtures.FORECAST_LOCATIONS - 1));
+            weatherPoints.add(new WeatherPoint(at, Fixtures.FORECAST_START.plusHours(8).plusMinutes(i * 15L),
+                    18.5 + i * 0.3, i % 5 == 0 ? 1.2 : 0.0, 10 + i, WeatherCondition.values()[i % WeatherCondition.values().length]));
+        }
+        Route route = new Route("Madrid", "Barcelona", geometry.get(0), geometry.get(geometry.size() - 1),
+                LocalDate.of(2026, 6, 15), LocalTime.of(8, 0));
+        report = new RouteWeatherReport(route, weatherPoints, details.geometry());
+    }
+
+    @Benchmark
+    public RouteWeatherResponse toResponse() {
+        return RouteWeatherMapper.toResponse(report, zoom);
+    }
+
+    @Benchmark
+    public byte[] toResponseAndSerialize(Serializer serializer) throws JsonProcessingException {
+        return serializer.objectMapper.writeValueAsBytes(RouteWeatherMapper.toResponse(report, zoom));
+    }
+}
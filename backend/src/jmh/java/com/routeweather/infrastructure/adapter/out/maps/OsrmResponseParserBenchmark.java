@@ -0,0 +1,44 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/** Parsing an OSRM overview=full response: geometry and per-segment durations. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OsrmResponseParserBenchmark {
+
+    /** A short regional route and the Madrid → Barcelona default. */
+    @Param({"1500", "12000"})
+    int points;
+
+    private byte[] response;
+
+    @Setup
+    public void setUp() {
+        response = Fixtures.osrmResponse(Fixtures.route(points));
+    }
+
+    @Benchmark
+    public OsrmResponseParser.OsrmRoute parse() throws IOException {
+        return OsrmResponseParser.parse(new ByteArrayInputStream(response));
+    }
+}
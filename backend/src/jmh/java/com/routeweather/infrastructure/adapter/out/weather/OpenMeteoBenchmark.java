@@ -0,0 +1,75 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import com.routeweather.benchmark.Fixtures;
+import com.routeweather.domain.model.WeatherCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Open-Meteo path of a report: parsing a 24-location batch response, then for each
+ * waypoint locating its hour in the series and mapping the WMO code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenMeteoBenchmark {
+
+    private byte[] response;
+    private HourlySeries series;
+    private LocalDateTime[] arrivals;
+    private int[] codes;
+
+    @Setup
+    public void setUp() throws IOException {
+        response = Fixtures.openMeteoResponse(Fixtures.FORECAST_LOCATIONS, Fixtures.FORECAST_HOURS);
+        series = OpenMeteoResponseParser.parse(new ByteArrayInputStream(response)).get(0);
+        arrivals = new LocalDateTime[Fixtures.FORECAST_LOCATIONS];
+        for (int i = 0; i < arrivals.length; i++) {
+            arrivals[i] = Fixtures.FORECAST_START.plusHours(9).plusMinutes(i * 17L);
+        }
+        codes = new int[100];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i;
+        }
+    }
+
+    @Benchmark
+    public List<HourlySeries> parseBatchResponse() throws IOException {
+        return OpenMeteoResponseParser.parse(new ByteArrayInputStream(response));
+    }
+
+    /** One hour lookup per waypoint of a full report. */
+    @Benchmark
+    public void findHourIndex(Blackhole blackhole) {
+        for (LocalDateTime arrival : arrivals) {
+            blackhole.consume(series.indexOf(arrival));
+        }
+    }
+
+    /** Every WMO code once. */
+    @Benchmark
+    public void mapWeatherCode(Blackhole blackhole) {
+        for (int code : codes) {
+            WeatherCondition condition = OpenMeteoWeatherAdapter.mapWeatherCode(code);
+            blackhole.consume(condition);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.routeweather.application.port.in;
+
+import com.routeweather.domain.model.Coordinates;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Input command for the FindBestDepartureUseCase.
+ *
+ * Candidate departures run from {@code earliestDeparture} to {@code latestDeparture}
+ * (inclusive) on {@code travelDate}, one every {@code step}.
+ *
+ * As in RouteWeatherQuery, a place's coordinates are present only when the user picked it
+ * from the place suggestions; otherwise they are null and the name is geocoded.
+ */
+public record DepartureWindowQuery(
+        String origin,
+        String destination,
+        LocalDate travelDate,
+        LocalTime earliestDeparture,
+        LocalTime latestDeparture,
+        Duration step,
+        Coordinates originCoordinates,
+        Coordinates destinationCoordinates
+) {
+
+    /** A query whose places are both resolved by name. */
+    public DepartureWindowQuery(String origin, String destination, LocalDate travelDate,
+                                LocalTime earliestDeparture, LocalTime latestDeparture, Duration step) {
+        this(origin, destination, travelDate, earliestDeparture, latestDeparture, step, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.routeweather.application.port.in;
+
+import com.routeweather.domain.model.DepartureOption;
+
+import java.util.List;
+
+/**
+ * Inbound port (driving side): ranks the departure times in a window by the weather
+ * the traveller would meet along the route.
+ *
+ * The route is calculated once and the forecasts for every candidate are fetched together,
+ * so ranking a whole window costs about as much as a single route weather report.
+ *
+ * Implemented by: application/service/DepartureWindowService
+ * Called by:      infrastructure/adapter/in/rest/RouteWeatherController
+ */
+public interface FindBestDepartureUseCase {
+
+    /**
+     * @return one option per candidate departure, best (lowest score) first; ties keep
+     *         departure order
+     */
+    List<DepartureOption> rankDepartures(DepartureWindowQuery query);
+}
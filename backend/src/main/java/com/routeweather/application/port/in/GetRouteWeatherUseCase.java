@@ -2,6 +2,9 @@ package com.routeweather.application.port.in;
 
 import com.routeweather.domain.model.RouteWeatherReport;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Inbound port (driving side): the primary use case of the application.
  *
@@ -15,4 +18,24 @@ import com.routeweather.domain.model.RouteWeatherReport;
 public interface GetRouteWeatherUseCase {
 
     RouteWeatherReport getWeatherForRoute(RouteWeatherQuery query);
+
+    /**
+     * Answers many queries at once, sharing geocodes, routes and forecasts between them.
+     *
+     * Returns one result per query, in query order. A query that fails (e.g. unknown place)
+     * does not fail the batch; its result carries the exception instead.
+     *
+     * The default answers the queries one by one, sharing nothing.
+     */
+    default List<RouteWeatherResult> getWeatherForRoutes(List<RouteWeatherQuery> queries) {
+        List<RouteWeatherResult> results = new ArrayList<>(queries.size());
+        for (RouteWeatherQuery query : queries) {
+            try {
+                results.add(RouteWeatherResult.success(query, getWeatherForRoute(query)));
+            } catch (RuntimeException e) {
+                results.add(RouteWeatherResult.failure(query, e));
+            }
+        }
+        return results;
+    }
 }
@@ -0,0 +1,19 @@
+package com.routeweather.application.port.in;
+
+import com.routeweather.domain.model.Route;
+import com.routeweather.domain.model.RouteGeometry;
+import com.routeweather.domain.model.WeatherPoint;
+
+/**
+ * Progress callbacks for StreamRouteWeatherUseCase.
+ *
+ * onRoute is always called first and exactly once. onWeatherPoint follows once per
+ * waypoint, in completion order rather than route order. Calls never overlap, but may
+ * come from different threads.
+ */
+public interface RouteWeatherListener {
+
+    void onRoute(Route route, RouteGeometry geometry, int waypointCount);
+
+    void onWeatherPoint(int index, WeatherPoint weatherPoint);
+}
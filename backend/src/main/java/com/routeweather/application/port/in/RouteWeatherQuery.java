@@ -1,13 +1,17 @@
 package com.routeweather.application.port.in;
 
+import com.routeweather.domain.model.Coordinates;
+
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 /**
  * Input command for the GetRouteWeatherUseCase.
  *
- * Carries the raw user input (city names + date + departure time). Coordinates are NOT
- * part of this object — they are resolved by the service using RouteCalculatorPort.geocode().
+ * Carries the raw user input (city names + date + departure time). A place's coordinates
+ * are present only when the user picked it from the place suggestions, which already know
+ * where it is; otherwise they are null and the service resolves the name using
+ * RouteCalculatorPort.geocode().
  *
  * Lives in the application layer so it can be used by both the use case interface
  * and any inbound adapter (REST, CLI, etc.) without leaking domain objects outward.
@@ -16,5 +20,13 @@ public record RouteWeatherQuery(
         String origin,
         String destination,
         LocalDate travelDate,
-        LocalTime departureTime
-) {}
+        LocalTime departureTime,
+        Coordinates originCoordinates,
+        Coordinates destinationCoordinates
+) {
+
+    /** A query whose places are both resolved by name. */
+    public RouteWeatherQuery(String origin, String destination, LocalDate travelDate, LocalTime departureTime) {
+        this(origin, destination, travelDate, departureTime, null, null);
+    }
+}
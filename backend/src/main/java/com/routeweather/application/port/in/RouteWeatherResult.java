@@ -0,0 +1,25 @@
+package com.routeweather.application.port.in;
+
+import com.routeweather.domain.model.RouteWeatherReport;
+
+/**
+ * Outcome of one query in a batch: either a report or the exception that query failed with.
+ */
+public record RouteWeatherResult(
+        RouteWeatherQuery query,
+        RouteWeatherReport report,
+        RuntimeException error
+) {
+
+    public static RouteWeatherResult success(RouteWeatherQuery query, RouteWeatherReport report) {
+        return new RouteWeatherResult(query, report, null);
+    }
+
+    public static RouteWeatherResult failure(RouteWeatherQuery query, RuntimeException error) {
+        return new RouteWeatherResult(query, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.routeweather.application.port.in;
+
+import com.routeweather.domain.model.RouteWeatherReport;
+
+/**
+ * Inbound port (driving side): streaming variant of GetRouteWeatherUseCase.
+ *
+ * Produces the same report, but reports progress to a RouteWeatherListener while it is
+ * being built: first the route, then each weather point as soon as its forecast resolves.
+ * This lets clients draw the map long before the slowest forecast has arrived.
+ *
+ * Implemented by: application/service/RouteWeatherService
+ * Called by:      infrastructure/adapter/in/rest/RouteWeatherController
+ */
+public interface StreamRouteWeatherUseCase {
+
+    /**
+     * Blocks until the report is complete; the listener is called along the way.
+     *
+     * @return the complete report, identical to what GetRouteWeatherUseCase would return
+     */
+    RouteWeatherReport streamWeatherForRoute(RouteWeatherQuery query, RouteWeatherListener listener);
+}
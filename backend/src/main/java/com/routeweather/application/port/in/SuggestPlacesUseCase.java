@@ -0,0 +1,20 @@
+package com.routeweather.application.port.in;
+
+import com.routeweather.domain.model.PlaceSuggestion;
+
+import java.util.List;
+
+/**
+ * Inbound port (driving side): completes a partially typed place name.
+ *
+ * Answered from in-memory data only, never from an upstream, so it can be called on
+ * every keystroke.
+ *
+ * Implemented by: application/service/PlaceSuggestionService
+ * Called by:      infrastructure/adapter/in/rest/PlaceSuggestionController
+ */
+public interface SuggestPlacesUseCase {
+
+    /** @return at most {@code limit} places whose name starts with {@code prefix}, best first */
+    List<PlaceSuggestion> suggest(String prefix, int limit);
+}
@@ -0,0 +1,19 @@
+package com.routeweather.application.port.out;
+
+import com.routeweather.domain.model.PlaceSuggestion;
+
+import java.util.List;
+
+/**
+ * Outbound port (driven side): places known locally, searchable by name prefix.
+ *
+ * Implemented by: infrastructure/adapter/out/maps/PlaceSuggestionIndex
+ */
+public interface PlaceDirectoryPort {
+
+    /**
+     * @return at most {@code limit} places whose name starts with {@code prefix} (compared
+     *         case- and accent-insensitively), best first
+     */
+    List<PlaceSuggestion> findByPrefix(String prefix, int limit);
+}
@@ -14,13 +14,14 @@ public interface RouteCalculatorPort {
      * Convert a place name (e.g., "Madrid") to geographic coordinates.
      *
      * @throws com.routeweather.domain.exception.RouteNotFoundException if the place cannot be found
+     * @throws com.routeweather.domain.exception.UpstreamUnavailableException if the geocoder cannot be asked right now
      */
     Coordinates geocode(String placeName);
 
     /**
      * Calculate a driving route between two coordinates.
-     * Returns both the road-following geometry (for map display) and a small
-     * set of evenly-sampled waypoints (for weather forecast queries).
+     * Returns the full road-following geometry (for map display and waypoint sampling)
+     * together with the travel time to each of its points, when available.
      */
     RouteDetails calculateRoute(Coordinates origin, Coordinates destination);
 }
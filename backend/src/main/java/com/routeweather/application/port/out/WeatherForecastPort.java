@@ -12,6 +12,15 @@ import java.util.List;
  */
 public interface WeatherForecastPort {
 
+    /**
+     * Receives forecasts as they become available.
+     * Calls may arrive from different threads and in any index order.
+     */
+    @FunctionalInterface
+    interface ForecastListener {
+        void onWeatherPoint(int index, WeatherPoint weatherPoint);
+    }
+
     /**
      * Return hourly weather forecasts for each timed waypoint.
      *
@@ -22,4 +31,21 @@ public interface WeatherForecastPort {
      * @return a WeatherPoint for each waypoint, in the same order
      */
     List<WeatherPoint> getForecast(List<TimedWaypoint> waypoints);
+
+    /**
+     * Streaming counterpart of {@link #getForecast}: reports each waypoint's forecast to the
+     * listener as soon as it is known, and returns once every waypoint has been reported.
+     *
+     * The default implementation waits for the whole list; adapters that resolve waypoints
+     * independently should override it.
+     *
+     * @param waypoints timed waypoints in route order
+     * @param listener  called exactly once per waypoint, with the waypoint's index
+     */
+    default void streamForecast(List<TimedWaypoint> waypoints, ForecastListener listener) {
+        List<WeatherPoint> weatherPoints = getForecast(waypoints);
+        for (int i = 0; i < weatherPoints.size(); i++) {
+            listener.onWeatherPoint(i, weatherPoints.get(i));
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.port.in.RouteWeatherResult;
+import com.routeweather.domain.model.RouteWeatherReport;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator that coalesces identical concurrent queries into a single computation.
+ *
+ * The first caller for a query (the leader) runs the delegate; callers arriving with an equal
+ * query while it is in flight wait for the same result instead of starting their own
+ * geocode → route → forecast chain. Everyone receives the same RouteWeatherReport, or the
+ * same exception if the leader fails.
+ *
+ * Successful results may optionally be reused for a short window after completion, which
+ * absorbs bursts of identical submissions. Failures are never reused.
+ *
+ * Batches go straight to the delegate, which already deduplicates work within a batch.
+ *
+ * Plain Java class — NO Spring annotations. Wired in BeanConfiguration.
+ */
+public class CoalescingRouteWeatherService implements GetRouteWeatherUseCase {
+
+    /** One shared computation. expiresAtNanos stays at MAX_VALUE while in flight. */
+    private static final class Call {
+        final CompletableFuture<RouteWeatherReport> result = new CompletableFuture<>();
+        volatile long expiresAtNanos = Long.MAX_VALUE;
+    }
+
+    private final GetRouteWeatherUseCase delegate;
+    private final long reuseWindowNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<RouteWeatherQuery, Call> calls = new ConcurrentHashMap<>();
+
+    public CoalescingRouteWeatherService(GetRouteWeatherUseCase delegate, Duration reuseWindow) {
+        this(delegate, reuseWindow, System::nanoTime);
+    }
+
+    CoalescingRouteWeatherService(GetRouteWeatherUseCase delegate, Duration reuseWindow, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.reuseWindowNanos = reuseWindow.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public RouteWeatherReport getWeatherForRoute(RouteWeatherQuery query) {
+        while (true) {
+            Call call = new Call();
+            Call existing = calls.putIfAbsent(query, call);
+            if (existing == null) {
+                return lead(query, call);
+            }
+            if (existing.expiresAtNanos - nanoClock.getAsLong() <= 0) {
+                calls.remove(query, existing);
+                continue;
+            }
+            return await(existing.result);
+        }
+    }
+
+    @Override
+    public List<RouteWeatherResult> getWeatherForRoutes(List<RouteWeatherQuery> queries) {
+        return delegate.getWeatherForRoutes(queries);
+    }
+
+    private RouteWeatherReport lead(RouteWeatherQuery query, Call call) {
+        RouteWeatherReport report;
+        try {
+            report = delegate.getWeatherForRoute(query);
+        } catch (RuntimeException | Error e) {
+            calls.remove(query, call);
+            call.result.completeExceptionally(e);
+            throw e;
+        }
+
+        if (reuseWindowNanos > 0) {
+            call.expiresAtNanos = nanoClock.getAsLong() + reuseWindowNanos;
+        } else {
+            calls.remove(query, call);
+        }
+        call.result.complete(report);
+        evictExpired();
+        return report;
+    }
+
+    private void evictExpired() {
+        long now = nanoClock.getAsLong();
+        calls.values().removeIf(c -> c.expiresAtNanos - now <= 0);
+    }
+
+    /** Rethrows the leader's exception as-is rather than wrapped in a CompletionException. */
+    private static RouteWeatherReport await(CompletableFuture<RouteWeatherReport> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
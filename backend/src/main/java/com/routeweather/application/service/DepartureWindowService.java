@@ -0,0 +1,178 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.in.DepartureWindowQuery;
+import com.routeweather.application.port.in.FindBestDepartureUseCase;
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.application.port.out.WeatherForecastPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.DepartureOption;
+import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.TimedWaypoint;
+import com.routeweather.domain.model.WeatherCondition;
+import com.routeweather.domain.model.WeatherPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Application service: implements FindBestDepartureUseCase.
+ *
+ * Flow:
+ *  1. Geocode origin and destination in parallel (unless the query already carries their
+ *     coordinates) and calculate the route, once for the whole window
+ *  2. Sample the route's waypoints for every candidate departure
+ *  3. Forecast every distinct (cell, hour) across all candidates in a single call. The
+ *     weather adapter fetches whole days of hourly values per cell, so this amounts to
+ *     fetching each corridor cell's hourly series once
+ *  4. Score each candidate in memory and rank them
+ *
+ * No Spring annotations. Wired via BeanConfiguration.
+ */
+public class DepartureWindowService implements FindBestDepartureUseCase {
+
+    /** Wind below this speed does not affect the score. */
+    private static final int CALM_WIND_KMH = 30;
+
+    private final RouteCalculatorPort routeCalculatorPort;
+    private final WeatherForecastPort weatherForecastPort;
+    private final WaypointSampler waypointSampler;
+    private final Executor executor;
+
+    public DepartureWindowService(
+            RouteCalculatorPort routeCalculatorPort,
+            WeatherForecastPort weatherForecastPort,
+            WaypointSampler waypointSampler) {
+        this(routeCalculatorPort, weatherForecastPort, waypointSampler, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * @param executor runs the origin geocode while the destination one runs on the caller
+     */
+    public DepartureWindowService(
+            RouteCalculatorPort routeCalculatorPort,
+            WeatherForecastPort weatherForecastPort,
+            WaypointSampler waypointSampler,
+            Executor executor) {
+        this.routeCalculatorPort = routeCalculatorPort;
+        this.weatherForecastPort = weatherForecastPort;
+        this.waypointSampler = waypointSampler;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<DepartureOption> rankDepartures(DepartureWindowQuery query) {
+        if (query.latestDeparture().isBefore(query.earliestDeparture())) {
+            throw new IllegalArgumentException("latestDeparture must not be before earliestDeparture");
+        }
+        if (query.step().isNegative() || query.step().isZero()) {
+            throw new IllegalArgumentException("step must be positive, got: " + query.step());
+        }
+
+        CompletableFuture<Coordinates> originLookup = query.originCoordinates() != null
+                ? CompletableFuture.completedFuture(query.originCoordinates())
+                : CompletableFuture.supplyAsync(() -> routeCalculatorPort.geocode(query.origin()), executor);
+        Coordinates destination = query.destinationCoordinates() != null
+                ? query.destinationCoordinates()
+                : routeCalculatorPort.geocode(query.destination());
+        Coordinates origin = await(originLookup);
+        RouteDetails details = routeCalculatorPort.calculateRoute(origin, destination);
+
+        List<LocalDateTime> departures = new ArrayList<>();
+        LocalDateTime latest = LocalDateTime.of(query.travelDate(), query.latestDeparture());
+        for (LocalDateTime departure = LocalDateTime.of(query.travelDate(), query.earliestDeparture());
+             !departure.isAfter(latest);
+             departure = departure.plus(query.step())) {
+            departures.add(departure);
+        }
+
+        List<List<TimedWaypoint>> waypointsPerDeparture = new ArrayList<>(departures.size());
+        Map<WaypointSampler.CellHour, TimedWaypoint> distinctWaypoints = new LinkedHashMap<>();
+        for (LocalDateTime departure : departures) {
+            List<TimedWaypoint> waypoints = waypointSampler.sample(details, departure);
+            waypointsPerDeparture.add(waypoints);
+            for (TimedWaypoint waypoint : waypoints) {
+                distinctWaypoints.putIfAbsent(waypointSampler.forecastKey(waypoint), waypoint);
+            }
+        }
+
+        List<TimedWaypoint> toForecast = new ArrayList<>(distinctWaypoints.values());
+        List<WeatherPoint> weather = weatherForecastPort.getForecast(toForecast);
+        Map<WaypointSampler.CellHour, WeatherPoint> forecasts = new HashMap<>();
+        for (int i = 0; i < toForecast.size(); i++) {
+            forecasts.put(waypointSampler.forecastKey(toForecast.get(i)), weather.get(i));
+        }
+
+        List<DepartureOption> options = new ArrayList<>(departures.size());
+        for (int d = 0; d < departures.size(); d++) {
+            List<WeatherPoint> along = new ArrayList<>();
+            for (TimedWaypoint waypoint : waypointsPerDeparture.get(d)) {
+                along.add(forecasts.get(waypointSampler.forecastKey(waypoint)));
+            }
+            LocalDateTime departure = departures.get(d);
+            options.add(score(departure, departure.plusSeconds(Math.round(details.totalDurationSeconds())), along));
+        }
+        // Fully forecast options first; List.sort is stable, so equal scores stay in departure order
+        options.sort(Comparator.comparing((DepartureOption option) -> option.unavailableWaypoints() > 0)
+                .thenComparingDouble(DepartureOption::score));
+        return options;
+    }
+
+    private static DepartureOption score(LocalDateTime departure, LocalDateTime arrival, List<WeatherPoint> along) {
+        double penalty = 0;
+        double precipitation = 0;
+        int maxWind = 0;
+        WeatherCondition worst = WeatherCondition.CLEAR;
+        int available = 0;
+        for (WeatherPoint point : along) {
+            if (!point.isAvailable()) {
+                continue;
+            }
+            available++;
+            penalty += point.precipitationMm()
+                    + severity(point.condition())
+                    + Math.max(0, point.windSpeedKmh() - CALM_WIND_KMH) / 10.0;
+            precipitation += point.precipitationMm();
+            maxWind = Math.max(maxWind, point.windSpeedKmh());
+            if (severity(point.condition()) > severity(worst)) {
+                worst = point.condition();
+            }
+        }
+        double score = available == 0 ? 0 : penalty / available;
+        return new DepartureOption(departure, arrival, score, precipitation, maxWind, worst, along.size() - available);
+    }
+
+    /**
+     * Waits for the origin geocode, rethrowing the original exception (e.g. RouteNotFoundException)
+     * rather than the CompletionException wrapper.
+     */
+    private static <T> T await(CompletableFuture<T> stage) {
+        try {
+            return stage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    /** Penalty for driving through a condition; dry conditions cost nothing. */
+    private static double severity(WeatherCondition condition) {
+        return switch (condition) {
+            case CLEAR, PARTLY_CLOUDY, CLOUDY -> 0;
+            case FOGGY -> 1;
+            case RAINY -> 2;
+            case HEAVY_RAIN -> 4;
+            case SNOWY -> 6;
+            case STORMY -> 8;
+        };
+    }
+}
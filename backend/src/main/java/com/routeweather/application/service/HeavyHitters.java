@@ -0,0 +1,128 @@
+package com.routeweather.application.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate "most frequent keys" in bounded memory: a Count-Min sketch estimates how often
+ * each key has been seen, and the keys with the highest estimates are kept, at most
+ * {@code capacity} of them.
+ *
+ * Counting is lock-free: the sketch is an AtomicLongArray of {@code DEPTH} rows updated with
+ * atomic increments, and the tracked keys live in a ConcurrentHashMap that a new key only
+ * enters by displacing the lowest estimate. Under contention the map may briefly hold a
+ * key or two more than {@code capacity}. Estimates never undercount; they overcount by
+ * about total / width.
+ *
+ * {@link #decay()} halves every count, so old traffic fades and the top keys follow
+ * current demand.
+ */
+public class HeavyHitters<K> {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x7F4A7C15, 0x632BE5AB, 0x85157AF5};
+
+    private final int width;
+    private final int capacity;
+    private final AtomicLongArray counters;
+    private final Map<K, Long> tracked = new ConcurrentHashMap<>();
+    /** Estimate a key must beat to displace a tracked one; may lag behind, never ahead. */
+    private volatile long threshold;
+
+    /**
+     * @param width    counters per sketch row, rounded up to a power of two
+     * @param capacity how many of the most frequent keys are kept
+     */
+    public HeavyHitters(int width, int capacity) {
+        if (width <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Width and capacity must be positive");
+        }
+        int rounded = Integer.highestOneBit(width);
+        this.width = rounded == width ? width : rounded << 1;
+        this.capacity = capacity;
+        this.counters = new AtomicLongArray(DEPTH * this.width);
+    }
+
+    /** Counts one occurrence of {@code key} and returns its new estimate. */
+    public long add(K key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(row * width + index(hash, row)));
+        }
+        offer(key, estimate);
+        return estimate;
+    }
+
+    /** Current estimate for {@code key}; 0 if it was never seen. */
+    public long estimate(K key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /** The {@code n} tracked keys with the highest estimates, most frequent first. */
+    public List<K> top(int n) {
+        return tracked.entrySet().stream()
+                .sorted(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** Halves every count; keys whose estimate drops to zero stop being tracked. */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >> 1);
+        }
+        tracked.replaceAll((key, count) -> count >> 1);
+        tracked.values().removeIf(count -> count == 0);
+        threshold = 0;
+    }
+
+    private void offer(K key, long estimate) {
+        Long previous = tracked.get(key);
+        if (previous != null) {
+            if (estimate > previous) {
+                tracked.replace(key, previous, estimate);
+            }
+            return;
+        }
+        if (tracked.size() < capacity) {
+            tracked.putIfAbsent(key, estimate);
+            return;
+        }
+        if (estimate <= threshold) {
+            return;
+        }
+        Map.Entry<K, Long> lowest = null;
+        for (Map.Entry<K, Long> entry : tracked.entrySet()) {
+            if (lowest == null || entry.getValue() < lowest.getValue()) {
+                lowest = entry;
+            }
+        }
+        if (lowest == null || estimate <= lowest.getValue()) {
+            threshold = lowest == null ? 0 : lowest.getValue();
+            return;
+        }
+        if (tracked.remove(lowest.getKey(), lowest.getValue())) {
+            tracked.putIfAbsent(key, estimate);
+        }
+    }
+
+    /** Column of {@code hash} in sketch row {@code row} (murmur3 finalizer, one seed per row). */
+    private int index(int hash, int row) {
+        int h = hash ^ SEEDS[row];
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & (width - 1);
+    }
+}
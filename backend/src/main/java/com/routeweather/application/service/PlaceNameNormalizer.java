@@ -0,0 +1,26 @@
+package com.routeweather.application.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of user-typed place names, the one definition of "the same place name"
+ * shared by the application (popular routes) and the adapters (caches, gazetteer, suggestions).
+ *
+ * "  São   Paulo ", "sao paulo" and "SAO PAULO" all normalize to "sao paulo":
+ * diacritics are stripped, case is folded and runs of whitespace collapse to one space.
+ */
+public final class PlaceNameNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private PlaceNameNormalizer() {}
+
+    public static String normalize(String placeName) {
+        String decomposed = Normalizer.normalize(placeName, Normalizer.Form.NFD);
+        String withoutMarks = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
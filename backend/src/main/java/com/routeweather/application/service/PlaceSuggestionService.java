@@ -0,0 +1,37 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.in.SuggestPlacesUseCase;
+import com.routeweather.application.port.out.PlaceDirectoryPort;
+import com.routeweather.domain.model.PlaceSuggestion;
+
+import java.util.List;
+
+/**
+ * Application service: implements SuggestPlacesUseCase on top of the PlaceDirectoryPort.
+ *
+ * Prefixes shorter than {@code minPrefixLength} match too much to be useful and get no
+ * suggestions; the number of suggestions is capped at {@code maxLimit}.
+ *
+ * No Spring annotations — wired in infrastructure/config/BeanConfiguration.
+ */
+public class PlaceSuggestionService implements SuggestPlacesUseCase {
+
+    private final PlaceDirectoryPort placeDirectory;
+    private final int minPrefixLength;
+    private final int maxLimit;
+
+    public PlaceSuggestionService(PlaceDirectoryPort placeDirectory, int minPrefixLength, int maxLimit) {
+        this.placeDirectory = placeDirectory;
+        this.minPrefixLength = minPrefixLength;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public List<PlaceSuggestion> suggest(String prefix, int limit) {
+        String trimmed = prefix == null ? "" : prefix.strip();
+        if (trimmed.length() < minPrefixLength || limit <= 0) {
+            return List.of();
+        }
+        return placeDirectory.findByPrefix(trimmed, Math.min(limit, maxLimit));
+    }
+}
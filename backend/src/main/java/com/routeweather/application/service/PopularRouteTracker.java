@@ -0,0 +1,74 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.port.in.RouteWeatherResult;
+import com.routeweather.domain.model.RouteWeatherReport;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Decorator that counts how often each route is asked for, so the most requested ones can
+ * be kept warm ahead of demand (see infrastructure/scheduling/PopularRouteWarmer).
+ *
+ * A route is origin, destination and departure hour, with place names compared as
+ * PlaceNameNormalizer keys (ignoring case, whitespace and diacritics); the travel date is
+ * left out, since the same trip is asked for on many dates. Counts are kept in a
+ * HeavyHitters sketch of bounded size, and every query of a batch counts once.
+ *
+ * Plain Java class — NO Spring annotations. Wired in BeanConfiguration.
+ */
+public class PopularRouteTracker implements GetRouteWeatherUseCase {
+
+    /** A frequently requested trip, independent of its date. */
+    public record PopularRoute(String origin, String destination, LocalTime departureHour) {
+
+        static PopularRoute of(RouteWeatherQuery query) {
+            return new PopularRoute(
+                    PlaceNameNormalizer.normalize(query.origin()), PlaceNameNormalizer.normalize(query.destination()),
+                    query.departureTime().truncatedTo(ChronoUnit.HOURS));
+        }
+
+        /** The query for this trip on {@code date}. */
+        public RouteWeatherQuery on(LocalDate date) {
+            return new RouteWeatherQuery(origin, destination, date, departureHour);
+        }
+    }
+
+    private final GetRouteWeatherUseCase delegate;
+    private final HeavyHitters<PopularRoute> counts;
+
+    /**
+     * @param sketchWidth counters per row of the frequency sketch
+     * @param tracked     how many of the most requested routes are remembered
+     */
+    public PopularRouteTracker(GetRouteWeatherUseCase delegate, int sketchWidth, int tracked) {
+        this.delegate = delegate;
+        this.counts = new HeavyHitters<>(sketchWidth, tracked);
+    }
+
+    @Override
+    public RouteWeatherReport getWeatherForRoute(RouteWeatherQuery query) {
+        counts.add(PopularRoute.of(query));
+        return delegate.getWeatherForRoute(query);
+    }
+
+    @Override
+    public List<RouteWeatherResult> getWeatherForRoutes(List<RouteWeatherQuery> queries) {
+        queries.forEach(query -> counts.add(PopularRoute.of(query)));
+        return delegate.getWeatherForRoutes(queries);
+    }
+
+    /** The {@code n} most requested routes, most requested first. */
+    public List<PopularRoute> topRoutes(int n) {
+        return counts.top(n);
+    }
+
+    /** Halves all counts, so popularity follows recent demand. */
+    public void decay() {
+        counts.decay();
+    }
+}
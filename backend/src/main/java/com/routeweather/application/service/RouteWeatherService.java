@@ -1,90 +1,371 @@
 package com.routeweather.application.service;
 
 import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherListener;
 import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.port.in.RouteWeatherResult;
+import com.routeweather.application.port.in.StreamRouteWeatherUseCase;
 import com.routeweather.application.port.out.RouteCalculatorPort;
 import com.routeweather.application.port.out.WeatherForecastPort;
 import com.routeweather.domain.model.Coordinates;
 import com.routeweather.domain.model.Route;
+import com.routeweather.domain.model.RouteGeometry;
 import com.routeweather.domain.model.RouteDetails;
 import com.routeweather.domain.model.RouteWeatherReport;
 import com.routeweather.domain.model.TimedWaypoint;
 import com.routeweather.domain.model.WeatherPoint;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 /**
  * Application service implementing the main use case.
  *
  * Flow:
- *  1. Geocode origin and destination city names → Coordinates
+ *  1. Geocode origin and destination city names → Coordinates, unless the query already
+ *     carries the coordinates of a suggested place
  *  2. Build the domain Route entity
- *  3. Calculate route: returns road-following geometry + sampled weather waypoints + total duration
- *  4. Compute estimated arrival time at each weather waypoint based on departure time and
- *     the waypoint's fractional position along the route
+ *  3. Calculate route: returns road-following geometry + travel times along it
+ *  4. Sample timed weather waypoints along the route (WaypointSampler): evenly by distance,
+ *     with ETAs from the travel times, at most one per forecast cell and hour
  *  5. Fetch hourly weather forecast at each timed waypoint
  *  6. Assemble and return RouteWeatherReport (includes geometry for map display)
  *
+ * The steps run as a dependency pipeline rather than one after another:
+ *  - both geocodes run in parallel
+ *  - the origin forecast only needs the origin coordinates and the departure time, so it
+ *    starts speculatively as soon as the origin is geocoded, overlapping with routing
+ *  - the remaining waypoints are forecast as soon as the route details arrive
+ * The critical path is therefore roughly max(geocode) + route + one forecast.
+ *
+ * The streaming variant runs the same pipeline and reports the route and each weather
+ * point to a listener as soon as they are known.
+ *
  * Plain Java class — NO Spring annotations. Wired in BeanConfiguration.
  */
-public class RouteWeatherService implements GetRouteWeatherUseCase {
+public class RouteWeatherService implements GetRouteWeatherUseCase, StreamRouteWeatherUseCase {
+
+    private static final int DEFAULT_BATCH_PARALLELISM = 8;
+
+    private static final RouteWeatherListener NO_OP_LISTENER = new RouteWeatherListener() {
+        @Override
+        public void onRoute(Route route, RouteGeometry geometry, int waypointCount) {}
+
+        @Override
+        public void onWeatherPoint(int index, WeatherPoint weatherPoint) {}
+    };
 
     private final RouteCalculatorPort routeCalculatorPort;
     private final WeatherForecastPort weatherForecastPort;
+    private final WaypointSampler waypointSampler;
+    private final Executor executor;
+    private final int batchParallelism;
+
+    public RouteWeatherService(
+            RouteCalculatorPort routeCalculatorPort,
+            WeatherForecastPort weatherForecastPort,
+            WaypointSampler waypointSampler) {
+        this(routeCalculatorPort, weatherForecastPort, waypointSampler, Executors.newVirtualThreadPerTaskExecutor(),
+                DEFAULT_BATCH_PARALLELISM);
+    }
 
+    /**
+     * @param batchParallelism how many geocodes or route calculations a batch runs at once
+     */
     public RouteWeatherService(
             RouteCalculatorPort routeCalculatorPort,
-            WeatherForecastPort weatherForecastPort) {
+            WeatherForecastPort weatherForecastPort,
+            WaypointSampler waypointSampler,
+            Executor executor,
+            int batchParallelism) {
+        if (batchParallelism < 1) {
+            throw new IllegalArgumentException("batchParallelism must be at least 1, got: " + batchParallelism);
+        }
         this.routeCalculatorPort = routeCalculatorPort;
         this.weatherForecastPort = weatherForecastPort;
+        this.waypointSampler = waypointSampler;
+        this.executor = executor;
+        this.batchParallelism = batchParallelism;
     }
 
     @Override
     public RouteWeatherReport getWeatherForRoute(RouteWeatherQuery query) {
-        Coordinates originCoords = routeCalculatorPort.geocode(query.origin());
-        Coordinates destinationCoords = routeCalculatorPort.geocode(query.destination());
+        return streamWeatherForRoute(query, NO_OP_LISTENER);
+    }
 
-        Route route = new Route(
+    @Override
+    public RouteWeatherReport streamWeatherForRoute(RouteWeatherQuery query, RouteWeatherListener listener) {
+        RouteWeatherListener serializedListener = new SerializedListener(listener);
+        LocalDateTime departure = LocalDateTime.of(query.travelDate(), query.departureTime());
+
+        CompletableFuture<Coordinates> originCoords = locate(query.origin(), query.originCoordinates());
+        CompletableFuture<Coordinates> destinationCoords = locate(query.destination(), query.destinationCoordinates());
+
+        // Speculative: the traveller is at the origin at departure time, whatever the route turns out to be
+        CompletableFuture<WeatherPoint> originWeather = originCoords.thenApplyAsync(
+                coords -> weatherForecastPort.getForecast(List.of(new TimedWaypoint(coords, departure))).get(0),
+                executor);
+
+        CompletableFuture<RouteDetails> routeDetails = originCoords.thenCombineAsync(
+                destinationCoords, routeCalculatorPort::calculateRoute, executor);
+
+        CompletableFuture<Route> route = routeDetails.thenApply(details -> new Route(
                 query.origin(),
                 query.destination(),
-                originCoords,
-                destinationCoords,
+                originCoords.join(),
+                destinationCoords.join(),
                 query.travelDate(),
-                query.departureTime());
+                query.departureTime()));
+
+        // Every weather point depends on this stage, so the route is always announced first
+        CompletableFuture<List<TimedWaypoint>> timedWaypoints = routeDetails.thenCombine(route, (details, r) -> {
+            List<TimedWaypoint> waypoints = waypointSampler.sample(details, departure);
+            serializedListener.onRoute(r, details.geometry(), waypoints.size());
+            return waypoints;
+        });
+
+        CompletableFuture<WeatherPoint> anchoredOriginWeather = originWeather.thenCombine(timedWaypoints,
+                (weather, waypoints) -> {
+                    if (waypoints.isEmpty()) {
+                        return null;
+                    }
+                    WeatherPoint anchored = reanchor(weather, waypoints.get(0));
+                    serializedListener.onWeatherPoint(0, anchored);
+                    return anchored;
+                });
+
+        CompletableFuture<WeatherPoint[]> remainingWeather = timedWaypoints.thenApplyAsync(waypoints -> {
+            WeatherPoint[] weatherPoints = new WeatherPoint[Math.max(0, waypoints.size() - 1)];
+            if (waypoints.size() > 1) {
+                weatherForecastPort.streamForecast(waypoints.subList(1, waypoints.size()), (index, weatherPoint) -> {
+                    weatherPoints[index] = weatherPoint;
+                    serializedListener.onWeatherPoint(index + 1, weatherPoint);
+                });
+            }
+            return weatherPoints;
+        }, executor);
+
+        List<WeatherPoint> weatherPoints = new ArrayList<>();
+        WeatherPoint first = await(anchoredOriginWeather);
+        if (first != null) {
+            weatherPoints.add(first);
+            weatherPoints.addAll(Arrays.asList(await(remainingWeather)));
+        }
+
+        return new RouteWeatherReport(await(route), weatherPoints, await(routeDetails).geometry());
+    }
+
+    /**
+     * Batch flow: the same stages as a single report, but each stage runs once for the whole
+     * batch over distinct inputs only.
+     *  1. Geocode every distinct place name (compared as PlaceNameNormalizer keys) the user
+     *     did not pick with its coordinates (bounded parallelism)
+     *  2. Route every distinct geocoded origin/destination pair (bounded parallelism)
+     *  3. Sample each query's waypoints and forecast every distinct (cell, hour) once, in a
+     *     single call so the weather adapter can batch and bound it as usual. If that call
+     *     fails, each query's waypoints are forecast on their own, so the failure is reported
+     *     only for the queries it affects
+     *  4. Assemble one report per query, giving each waypoint its shared forecast
+     */
+    @Override
+    public List<RouteWeatherResult> getWeatherForRoutes(List<RouteWeatherQuery> queries) {
+        // Keyed by PlaceNameNormalizer key, so spellings of one place are geocoded once
+        Map<String, String> placeNames = new LinkedHashMap<>();
+        for (RouteWeatherQuery query : queries) {
+            if (query.originCoordinates() == null) {
+                placeNames.putIfAbsent(PlaceNameNormalizer.normalize(query.origin()), query.origin());
+            }
+            if (query.destinationCoordinates() == null) {
+                placeNames.putIfAbsent(PlaceNameNormalizer.normalize(query.destination()), query.destination());
+            }
+        }
+        Map<String, CompletableFuture<Coordinates>> geocodes =
+                resolveEach(placeNames.keySet(), key -> routeCalculatorPort.geocode(placeNames.get(key)));
+
+        RouteWeatherResult[] results = new RouteWeatherResult[queries.size()];
+        Route[] routes = new Route[queries.size()];
+        Set<Leg> legs = new LinkedHashSet<>();
+        for (int i = 0; i < queries.size(); i++) {
+            RouteWeatherQuery query = queries.get(i);
+            try {
+                routes[i] = new Route(query.origin(), query.destination(),
+                        located(query.origin(), query.originCoordinates(), geocodes),
+                        located(query.destination(), query.destinationCoordinates(), geocodes),
+                        query.travelDate(), query.departureTime());
+                legs.add(new Leg(routes[i].getOriginCoordinates(), routes[i].getDestinationCoordinates()));
+            } catch (RuntimeException e) {
+                results[i] = RouteWeatherResult.failure(query, e);
+            }
+        }
+        Map<Leg, CompletableFuture<RouteDetails>> routeDetails =
+                resolveEach(legs, leg -> routeCalculatorPort.calculateRoute(leg.origin(), leg.destination()));
+
+        List<List<TimedWaypoint>> waypointsPerQuery = new ArrayList<>(Collections.nCopies(queries.size(), null));
+        RouteDetails[] detailsPerQuery = new RouteDetails[queries.size()];
+        Map<WaypointSampler.CellHour, TimedWaypoint> distinctWaypoints = new LinkedHashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            if (results[i] != null) continue;
+            RouteWeatherQuery query = queries.get(i);
+            try {
+                detailsPerQuery[i] = await(routeDetails.get(
+                        new Leg(routes[i].getOriginCoordinates(), routes[i].getDestinationCoordinates())));
+                List<TimedWaypoint> waypoints = waypointSampler.sample(
+                        detailsPerQuery[i], LocalDateTime.of(query.travelDate(), query.departureTime()));
+                waypointsPerQuery.set(i, waypoints);
+                for (TimedWaypoint waypoint : waypoints) {
+                    distinctWaypoints.putIfAbsent(waypointSampler.forecastKey(waypoint), waypoint);
+                }
+            } catch (RuntimeException e) {
+                results[i] = RouteWeatherResult.failure(query, e);
+            }
+        }
+
+        Map<WaypointSampler.CellHour, WeatherPoint> forecasts = new HashMap<>();
+        try {
+            forecastInto(distinctWaypoints.values(), forecasts);
+        } catch (RuntimeException e) {
+            // Keep what the shared call could not answer with the routes that need it
+            for (int i = 0; i < queries.size(); i++) {
+                if (results[i] != null) continue;
+                try {
+                    forecastInto(waypointsPerQuery.get(i), forecasts);
+                } catch (RuntimeException queryFailure) {
+                    results[i] = RouteWeatherResult.failure(queries.get(i), queryFailure);
+                }
+            }
+        }
+
+        for (int i = 0; i < queries.size(); i++) {
+            if (results[i] != null) continue;
+            List<WeatherPoint> weatherPoints = new ArrayList<>(waypointsPerQuery.get(i).size());
+            for (TimedWaypoint waypoint : waypointsPerQuery.get(i)) {
+                weatherPoints.add(reanchor(forecasts.get(waypointSampler.forecastKey(waypoint)), waypoint));
+            }
+            results[i] = RouteWeatherResult.success(queries.get(i),
+                    new RouteWeatherReport(routes[i], weatherPoints, detailsPerQuery[i].geometry()));
+        }
+        return Arrays.asList(results);
+    }
+
+    /** Forecasts the waypoints whose (cell, hour) is not in {@code forecasts} yet, in one call. */
+    private void forecastInto(Collection<TimedWaypoint> waypoints, Map<WaypointSampler.CellHour, WeatherPoint> forecasts) {
+        Map<WaypointSampler.CellHour, TimedWaypoint> missing = new LinkedHashMap<>();
+        for (TimedWaypoint waypoint : waypoints) {
+            WaypointSampler.CellHour key = waypointSampler.forecastKey(waypoint);
+            if (!forecasts.containsKey(key)) {
+                missing.putIfAbsent(key, waypoint);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<TimedWaypoint> toForecast = new ArrayList<>(missing.values());
+        List<WeatherPoint> weather = weatherForecastPort.getForecast(toForecast);
+        for (int i = 0; i < toForecast.size(); i++) {
+            forecasts.put(waypointSampler.forecastKey(toForecast.get(i)), weather.get(i));
+        }
+    }
+
+    /** A distinct routing request within a batch. */
+    private record Leg(Coordinates origin, Coordinates destination) {}
+
+    /** The coordinates the user picked, or else the place name geocoded on the executor. */
+    private CompletableFuture<Coordinates> locate(String placeName, Coordinates chosen) {
+        return chosen != null
+                ? CompletableFuture.completedFuture(chosen)
+                : CompletableFuture.supplyAsync(() -> routeCalculatorPort.geocode(placeName), executor);
+    }
+
+    private static Coordinates located(String placeName, Coordinates chosen,
+                                       Map<String, CompletableFuture<Coordinates>> geocodes) {
+        return chosen != null ? chosen : await(geocodes.get(PlaceNameNormalizer.normalize(placeName)));
+    }
+
+    /**
+     * Starts {@code call} for every key, at most batchParallelism at a time, and waits for all
+     * of them. Failed calls leave their future completed exceptionally.
+     */
+    private <K, V> Map<K, CompletableFuture<V>> resolveEach(Collection<K> keys, Function<K, V> call) {
+        Semaphore permits = new Semaphore(batchParallelism);
+        Map<K, CompletableFuture<V>> futures = new HashMap<>();
+        for (K key : keys) {
+            futures.put(key, CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return call.apply(key);
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+        return futures;
+    }
+
+    /**
+     * Moves a forecast onto another waypoint in the same forecast cell and hour. The first
+     * route waypoint, for instance, is the origin snapped to the road network, which lies
+     * within metres of the geocoded origin the speculative forecast was made for.
+     */
+    private static WeatherPoint reanchor(WeatherPoint weather, TimedWaypoint waypoint) {
+        return new WeatherPoint(
+                waypoint.coordinates(),
+                waypoint.estimatedArrival(),
+                weather.temperatureCelsius(),
+                weather.precipitationMm(),
+                weather.windSpeedKmh(),
+                weather.condition(),
+                weather.status());
+    }
+
+    /** Pipeline stages complete on different threads; listeners see one call at a time. */
+    private static final class SerializedListener implements RouteWeatherListener {
 
-        RouteDetails routeDetails = routeCalculatorPort.calculateRoute(originCoords, destinationCoords);
+        private final RouteWeatherListener delegate;
 
-        List<TimedWaypoint> timedWaypoints = buildTimedWaypoints(
-                routeDetails.weatherWaypoints(),
-                LocalDateTime.of(query.travelDate(), query.departureTime()),
-                routeDetails.totalDurationSeconds());
+        SerializedListener(RouteWeatherListener delegate) {
+            this.delegate = delegate;
+        }
 
-        List<WeatherPoint> weatherPoints = weatherForecastPort.getForecast(timedWaypoints);
+        @Override
+        public synchronized void onRoute(Route route, RouteGeometry geometry, int waypointCount) {
+            delegate.onRoute(route, geometry, waypointCount);
+        }
 
-        return new RouteWeatherReport(route, weatherPoints, routeDetails.geometry());
+        @Override
+        public synchronized void onWeatherPoint(int index, WeatherPoint weatherPoint) {
+            delegate.onWeatherPoint(index, weatherPoint);
+        }
     }
 
     /**
-     * Distributes estimated arrival times across waypoints assuming uniform travel speed.
-     *
-     * Waypoint 0 gets the departure time; the last waypoint gets departure + total duration;
-     * intermediate waypoints are interpolated linearly by their position index.
+     * Waits for a pipeline stage, rethrowing the original exception (e.g. RouteNotFoundException)
+     * rather than the CompletionException wrapper.
      */
-    private List<TimedWaypoint> buildTimedWaypoints(
-            List<Coordinates> waypoints,
-            LocalDateTime departure,
-            double totalDurationSeconds) {
-
-        int n = waypoints.size();
-        return IntStream.range(0, n)
-                .mapToObj(i -> {
-                    double fraction = (n > 1) ? (double) i / (n - 1) : 0.0;
-                    long offsetSeconds = Math.round(fraction * totalDurationSeconds);
-                    LocalDateTime arrival = departure.plusSeconds(offsetSeconds);
-                    return new TimedWaypoint(waypoints.get(i), arrival);
-                })
-                .toList();
+    private static <T> T await(CompletableFuture<T> stage) {
+        try {
+            return stage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
     }
 }
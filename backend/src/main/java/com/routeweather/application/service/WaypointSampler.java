@@ -0,0 +1,150 @@
+package com.routeweather.application.service;
+
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.Polyline;
+import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.TimedWaypoint;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Chooses the timed weather waypoints for a route so that no forecast is asked for twice.
+ *
+ * Works on the full-resolution geometry:
+ *  1. Cumulative haversine distance is computed for every geometry point; cumulative travel
+ *     time comes from the routing service's per-segment durations when it has them, and is
+ *     otherwise assumed proportional to distance.
+ *  2. Candidates are placed at equal distances along the route (not equal polyline indices,
+ *     which bunch up on curvy roads and skip straight stretches). Each candidate's segment is
+ *     found by binary search on the distance array and its position and ETA interpolated.
+ *  3. A candidate is kept only if no earlier waypoint falls in the same forecast grid cell and
+ *     hour, because it would receive exactly the same forecast.
+ *
+ * The number of candidates — the upper bound on forecast lookups — grows with route length:
+ * one per {@code kmPerWaypoint}, plus the origin, capped at {@code maxWaypoints}.
+ * The origin is always the first waypoint.
+ *
+ * Plain Java class — NO Spring annotations. Wired in BeanConfiguration.
+ */
+public class WaypointSampler {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /** Waypoints with equal keys receive the same forecast. */
+    record CellHour(long latIndex, long lonIndex, LocalDateTime hour) {}
+
+    private final double cellDegrees;
+    private final double kmPerWaypoint;
+    private final int maxWaypoints;
+
+    /**
+     * @param cellDegrees   forecast grid cell size; should match the weather adapter's cache cells
+     * @param kmPerWaypoint route length per additional waypoint
+     * @param maxWaypoints  hard cap on waypoints per route (at least 2)
+     */
+    public WaypointSampler(double cellDegrees, double kmPerWaypoint, int maxWaypoints) {
+        if (cellDegrees <= 0 || kmPerWaypoint <= 0) {
+            throw new IllegalArgumentException("Cell size and spacing must be positive");
+        }
+        if (maxWaypoints < 2) {
+            throw new IllegalArgumentException("maxWaypoints must be at least 2, got: " + maxWaypoints);
+        }
+        this.cellDegrees = cellDegrees;
+        this.kmPerWaypoint = kmPerWaypoint;
+        this.maxWaypoints = maxWaypoints;
+    }
+
+    public List<TimedWaypoint> sample(RouteDetails details, LocalDateTime departure) {
+        Polyline geometry = details.geometry().full();
+        if (geometry.isEmpty()) {
+            return List.of();
+        }
+
+        double[] distanceKm = cumulativeDistanceKm(geometry);
+        double totalKm = distanceKm[distanceKm.length - 1];
+        double[] seconds = details.cumulativeSeconds() != null
+                && details.cumulativeSeconds().length == geometry.size()
+                ? details.cumulativeSeconds()
+                : proportionalSeconds(distanceKm, details.totalDurationSeconds());
+
+        if (totalKm == 0) {
+            return List.of(new TimedWaypoint(geometry.get(0), departure));
+        }
+
+        int budget = (int) Math.min(maxWaypoints, Math.max(2, Math.ceil(totalKm / kmPerWaypoint) + 1));
+        List<TimedWaypoint> waypoints = new ArrayList<>(budget);
+        Set<CellHour> seen = new HashSet<>();
+
+        for (int k = 0; k < budget; k++) {
+            double targetKm = totalKm * k / (budget - 1);
+            int segment = segmentAt(distanceKm, targetKm);
+            double segmentKm = distanceKm[segment + 1] - distanceKm[segment];
+            double fraction = segmentKm == 0 ? 0 : (targetKm - distanceKm[segment]) / segmentKm;
+
+            double latitude = lerp(geometry.latitude(segment), geometry.latitude(segment + 1), fraction);
+            double longitude = lerp(geometry.longitude(segment), geometry.longitude(segment + 1), fraction);
+            double offsetSeconds = lerp(seconds[segment], seconds[segment + 1], fraction);
+            TimedWaypoint candidate = new TimedWaypoint(
+                    new Coordinates(latitude, longitude), departure.plusSeconds(Math.round(offsetSeconds)));
+
+            if (seen.add(forecastKey(candidate))) {
+                waypoints.add(candidate);
+            }
+        }
+        return waypoints;
+    }
+
+    /** The forecast grid cell and hour a waypoint falls in. */
+    CellHour forecastKey(TimedWaypoint waypoint) {
+        return new CellHour(
+                (long) Math.floor(waypoint.coordinates().latitude() / cellDegrees),
+                (long) Math.floor(waypoint.coordinates().longitude() / cellDegrees),
+                waypoint.estimatedArrival().truncatedTo(ChronoUnit.HOURS));
+    }
+
+    /** Index i of the segment [i, i + 1] containing {@code targetKm}. */
+    private static int segmentAt(double[] distanceKm, double targetKm) {
+        int found = Arrays.binarySearch(distanceKm, targetKm);
+        int index = found >= 0 ? found : -found - 2;
+        return Math.max(0, Math.min(index, distanceKm.length - 2));
+    }
+
+    private static double[] cumulativeDistanceKm(Polyline geometry) {
+        double[] distance = new double[geometry.size()];
+        for (int i = 1; i < distance.length; i++) {
+            distance[i] = distance[i - 1] + haversineKm(
+                    geometry.latitude(i - 1), geometry.longitude(i - 1),
+                    geometry.latitude(i), geometry.longitude(i));
+        }
+        return distance;
+    }
+
+    private static double[] proportionalSeconds(double[] distanceKm, double totalSeconds) {
+        double totalKm = distanceKm[distanceKm.length - 1];
+        double[] seconds = new double[distanceKm.length];
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = totalKm == 0 ? 0 : totalSeconds * distanceKm[i] / totalKm;
+        }
+        return seconds;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /** Exact at both ends: fraction 0 gives {@code from}, fraction 1 gives {@code to}. */
+    private static double lerp(double from, double to, double fraction) {
+        return from * (1 - fraction) + to * fraction;
+    }
+}
@@ -0,0 +1,13 @@
+package com.routeweather.domain.exception;
+
+/**
+ * Thrown when a route cannot be resolved right now because an upstream service is
+ * overloaded, failing or unreachable. Unlike RouteNotFoundException, it says nothing about
+ * the places asked for: the same query may succeed if retried later.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.routeweather.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Value object: how the weather along a route looks for one departure time.
+ *
+ * score: mean weather penalty per waypoint, 0 for dry, calm, clear conditions; lower is better
+ * worstCondition: the most severe condition met anywhere along the route
+ * unavailableWaypoints: waypoints with no forecast; they are left out of the score
+ *
+ * No framework dependencies — pure domain code.
+ */
+public record DepartureOption(
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        double score,
+        double totalPrecipitationMm,
+        int maxWindSpeedKmh,
+        WeatherCondition worstCondition,
+        int unavailableWaypoints
+) {}
@@ -0,0 +1,14 @@
+package com.routeweather.domain.model;
+
+/**
+ * How current a WeatherPoint's forecast is.
+ *
+ * FRESH:       from a recent forecast
+ * STALE:       the forecast source is failing; this is the last good forecast for the place
+ * UNAVAILABLE: no forecast could be obtained; the point carries no weather values
+ */
+public enum ForecastStatus {
+    FRESH,
+    STALE,
+    UNAVAILABLE
+}
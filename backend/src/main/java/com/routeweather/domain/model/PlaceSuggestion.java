@@ -0,0 +1,8 @@
+package com.routeweather.domain.model;
+
+/**
+ * Value object: a known place offered while the user types, with its resolved position.
+ *
+ * No framework dependencies — pure domain code.
+ */
+public record PlaceSuggestion(String name, Coordinates coordinates) {}
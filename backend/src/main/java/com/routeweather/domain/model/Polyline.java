@@ -0,0 +1,90 @@
+package com.routeweather.domain.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Value object representing a road-following route as parallel latitude/longitude arrays.
+ *
+ * Full-resolution routes have thousands of points, so they are not held as a list of
+ * Coordinates: the arrays are validated in one pass when the polyline is built and points
+ * are read back by index. Immutable — the factory methods copy their input and no accessor
+ * exposes the arrays.
+ *
+ * No framework dependencies — pure domain code.
+ */
+public final class Polyline {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    /** Takes ownership of already validated arrays; for use within the domain model only. */
+    Polyline(double[] latitudes, double[] longitudes) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the arrays differ in length or hold an out-of-range value
+     */
+    public static Polyline of(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude arrays differ in length: "
+                    + latitudes.length + " vs " + longitudes.length);
+        }
+        double[] lats = Arrays.copyOf(latitudes, latitudes.length);
+        double[] lons = Arrays.copyOf(longitudes, longitudes.length);
+        requireInRange(lats, 90, "Latitude");
+        requireInRange(lons, 180, "Longitude");
+        return new Polyline(lats, lons);
+    }
+
+    /** Builds a polyline from already validated points. */
+    public static Polyline of(List<Coordinates> points) {
+        double[] lats = new double[points.size()];
+        double[] lons = new double[points.size()];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = points.get(i).latitude();
+            lons[i] = points.get(i).longitude();
+        }
+        return new Polyline(lats, lons);
+    }
+
+    public int size() { return latitudes.length; }
+    public boolean isEmpty() { return latitudes.length == 0; }
+    public double latitude(int index) { return latitudes[index]; }
+    public double longitude(int index) { return longitudes[index]; }
+
+    /** Materializes a single point; prefer latitude()/longitude() in loops. */
+    public Coordinates get(int index) {
+        return new Coordinates(latitudes[index], longitudes[index]);
+    }
+
+    private static void requireInRange(double[] values, double limit, String name) {
+        for (int i = 0; i < values.length; i++) {
+            // written so that NaN fails too
+            if (!(values[i] >= -limit && values[i] <= limit)) {
+                throw new IllegalArgumentException(
+                        name + " must be between -" + (int) limit + " and " + (int) limit
+                                + ", got: " + values[i] + " at index " + i);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Polyline other
+                && Arrays.equals(latitudes, other.latitudes)
+                && Arrays.equals(longitudes, other.longitudes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(latitudes) + Arrays.hashCode(longitudes);
+    }
+
+    @Override
+    public String toString() {
+        return "Polyline[" + latitudes.length + " points]";
+    }
+}
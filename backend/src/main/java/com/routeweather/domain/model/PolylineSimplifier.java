@@ -0,0 +1,109 @@
+package com.routeweather.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Douglas–Peucker simplification that ranks every point once instead of re-running per tolerance.
+ *
+ * Each point gets an importance: the largest tolerance (in degrees of latitude) at which
+ * Douglas–Peucker would still keep it. A child's importance is capped at its parent's, so
+ * the points kept for a given tolerance are simply those whose importance reaches it, and
+ * coarser levels are always subsets of finer ones.
+ *
+ * Distances are measured on an equirectangular projection (longitude scaled by the cosine of
+ * the mean latitude), which is accurate enough for the extent of a road route.
+ * The recursion runs on a reusable int/double stack, so the only per-route allocations are
+ * the importance array and the stack.
+ */
+final class PolylineSimplifier {
+
+    private PolylineSimplifier() {}
+
+    /** @return per-point importance in degrees; the endpoints are always +infinity */
+    static double[] importance(Polyline polyline) {
+        int n = polyline.size();
+        double[] importance = new double[n];
+        if (n == 0) return importance;
+        importance[0] = Double.POSITIVE_INFINITY;
+        importance[n - 1] = Double.POSITIVE_INFINITY;
+
+        double lonScale = Math.cos(Math.toRadians(meanLatitude(polyline)));
+        // Pending ranges: [first, last] pairs in ranges, the parent's rank in caps
+        int[] ranges = new int[64];
+        double[] caps = new double[32];
+        ranges[0] = 0;
+        ranges[1] = n - 1;
+        caps[0] = Double.POSITIVE_INFINITY;
+        int top = 1;
+
+        while (top > 0) {
+            top--;
+            int first = ranges[2 * top];
+            int last = ranges[2 * top + 1];
+            double cap = caps[top];
+            if (last - first < 2) continue;
+
+            int farthest = first + 1;
+            double maxDistance = -1;
+            for (int i = first + 1; i < last; i++) {
+                double distance = segmentDistance(polyline, i, first, last, lonScale);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthest = i;
+                }
+            }
+            double rank = Math.min(maxDistance, cap);
+            importance[farthest] = rank;
+
+            if (top + 2 > caps.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+                caps = Arrays.copyOf(caps, caps.length * 2);
+            }
+            ranges[2 * top] = first;
+            ranges[2 * top + 1] = farthest;
+            caps[top++] = rank;
+            ranges[2 * top] = farthest;
+            ranges[2 * top + 1] = last;
+            caps[top++] = rank;
+        }
+        return importance;
+    }
+
+    /** @return the points whose importance is at least {@code tolerance} */
+    static Polyline keep(Polyline polyline, double[] importance, double tolerance) {
+        int count = 0;
+        for (double rank : importance) {
+            if (rank >= tolerance) count++;
+        }
+        if (count == polyline.size()) return polyline;
+
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        int j = 0;
+        for (int i = 0; i < importance.length; i++) {
+            if (importance[i] >= tolerance) {
+                latitudes[j] = polyline.latitude(i);
+                longitudes[j++] = polyline.longitude(i);
+            }
+        }
+        return new Polyline(latitudes, longitudes);
+    }
+
+    private static double meanLatitude(Polyline polyline) {
+        double sum = 0;
+        for (int i = 0; i < polyline.size(); i++) sum += polyline.latitude(i);
+        return sum / polyline.size();
+    }
+
+    /** Distance from point p to segment [a, b] on the equirectangular plane, in degrees. */
+    private static double segmentDistance(Polyline polyline, int p, int a, int b, double lonScale) {
+        double ax = polyline.longitude(a) * lonScale, ay = polyline.latitude(a);
+        double bx = polyline.longitude(b) * lonScale, by = polyline.latitude(b);
+        double px = polyline.longitude(p) * lonScale, py = polyline.latitude(p);
+        double dx = bx - ax, dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+        double ex = px - (ax + t * dx), ey = py - (ay + t * dy);
+        return Math.sqrt(ex * ex + ey * ey);
+    }
+}
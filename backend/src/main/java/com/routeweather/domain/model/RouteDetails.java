@@ -5,12 +5,29 @@ import java.util.List;
 /**
  * Value object returned by RouteCalculatorPort.calculateRoute().
  *
- * Separates the two concerns of the routing call:
- *  - geometry: the full road-following polyline (used to draw the map)
- *  - weatherWaypoints: a small evenly-sampled subset (used to query the weather API)
+ *  - geometry: the road-following polyline at full and simplified resolutions; the full one
+ *    is also what weather waypoints are sampled from
+ *  - cumulativeSeconds: travel time from the origin to each point of the full geometry, or
+ *    null when the routing service gave no per-segment durations (time is then assumed to
+ *    be proportional to distance)
+ *  - totalDurationSeconds: travel time to the destination
+ *
+ * fallback is true when no road route could be calculated and the details only
+ * contain the origin and destination; such results are not worth caching.
  */
 public record RouteDetails(
-        List<Coordinates> geometry,
-        List<Coordinates> weatherWaypoints,
-        double totalDurationSeconds
-) {}
+        RouteGeometry geometry,
+        double[] cumulativeSeconds,
+        double totalDurationSeconds,
+        boolean fallback
+) {
+
+    public RouteDetails(RouteGeometry geometry, double[] cumulativeSeconds, double totalDurationSeconds) {
+        this(geometry, cumulativeSeconds, totalDurationSeconds, false);
+    }
+
+    /** Straight origin → destination "route" used when the routing service gives no answer. */
+    public static RouteDetails fallback(Coordinates origin, Coordinates destination) {
+        return new RouteDetails(RouteGeometry.of(Polyline.of(List.of(origin, destination))), null, 0.0, true);
+    }
+}
@@ -0,0 +1,54 @@
+package com.routeweather.domain.model;
+
+/**
+ * Value object: a route's full-resolution polyline plus simplified versions for map display.
+ *
+ * Levels are precomputed once per route for a fixed set of web-map zoom levels, with a
+ * tolerance of about one screen pixel at that zoom (360° / (256 · 2^zoom)). Picking the
+ * geometry for a request is then a lookup; the full polyline is returned above the
+ * highest precomputed zoom.
+ *
+ * No framework dependencies — pure domain code.
+ */
+public final class RouteGeometry {
+
+    /** Zoom levels that get a precomputed simplification, in ascending order. */
+    static final int[] ZOOM_LEVELS = {5, 8, 11, 14};
+
+    private final Polyline full;
+    private final Polyline[] levels;
+
+    private RouteGeometry(Polyline full, Polyline[] levels) {
+        this.full = full;
+        this.levels = levels;
+    }
+
+    /** Simplifies {@code full} for every zoom in ZOOM_LEVELS (one Douglas–Peucker ranking pass). */
+    public static RouteGeometry of(Polyline full) {
+        double[] importance = PolylineSimplifier.importance(full);
+        Polyline[] levels = new Polyline[ZOOM_LEVELS.length];
+        for (int i = 0; i < ZOOM_LEVELS.length; i++) {
+            levels[i] = PolylineSimplifier.keep(full, importance, toleranceDegrees(ZOOM_LEVELS[i]));
+        }
+        return new RouteGeometry(full, levels);
+    }
+
+    public Polyline full() { return full; }
+
+    /** The coarsest precomputed level that is still detailed enough for {@code zoom}. */
+    public Polyline atZoom(int zoom) {
+        for (int i = 0; i < ZOOM_LEVELS.length; i++) {
+            if (zoom <= ZOOM_LEVELS[i]) return levels[i];
+        }
+        return full;
+    }
+
+    static double toleranceDegrees(int zoom) {
+        return 360.0 / (256 * Math.pow(2, zoom));
+    }
+
+    @Override
+    public String toString() {
+        return "RouteGeometry[" + full.size() + " points]";
+    }
+}
@@ -9,21 +9,21 @@ import java.util.Objects;
  * Contains:
  *  - route: origin, destination, travel date
  *  - weatherPoints: forecast at each sampled waypoint
- *  - routeGeometry: road-following polyline for map display
+ *  - routeGeometry: road-following polyline for map display, at several resolutions
  */
 public class RouteWeatherReport {
 
     private final Route route;
     private final List<WeatherPoint> weatherPoints;
-    private final List<Coordinates> routeGeometry;
+    private final RouteGeometry routeGeometry;
 
-    public RouteWeatherReport(Route route, List<WeatherPoint> weatherPoints, List<Coordinates> routeGeometry) {
+    public RouteWeatherReport(Route route, List<WeatherPoint> weatherPoints, RouteGeometry routeGeometry) {
         this.route = Objects.requireNonNull(route, "route is required");
         this.weatherPoints = List.copyOf(Objects.requireNonNull(weatherPoints, "weatherPoints is required"));
-        this.routeGeometry = List.copyOf(Objects.requireNonNull(routeGeometry, "routeGeometry is required"));
+        this.routeGeometry = Objects.requireNonNull(routeGeometry, "routeGeometry is required");
     }
 
     public Route getRoute() { return route; }
     public List<WeatherPoint> getWeatherPoints() { return weatherPoints; }
-    public List<Coordinates> getRouteGeometry() { return routeGeometry; }
+    public RouteGeometry getRouteGeometry() { return routeGeometry; }
 }
@@ -5,6 +5,9 @@ import java.time.LocalDateTime;
 /**
  * Value object: weather forecast at a specific geographic point and time.
  *
+ * An UNAVAILABLE point has no weather: temperature and precipitation are NaN, wind is 0
+ * and condition is null. Check {@link #isAvailable()} before reading them.
+ *
  * No framework dependencies — pure domain code.
  */
 public record WeatherPoint(
@@ -13,5 +16,21 @@ public record WeatherPoint(
         double temperatureCelsius,
         double precipitationMm,
         int windSpeedKmh,
-        WeatherCondition condition
-) {}
+        WeatherCondition condition,
+        ForecastStatus status
+) {
+
+    /** A FRESH forecast. */
+    public WeatherPoint(Coordinates coordinates, LocalDateTime forecastTime, double temperatureCelsius,
+                        double precipitationMm, int windSpeedKmh, WeatherCondition condition) {
+        this(coordinates, forecastTime, temperatureCelsius, precipitationMm, windSpeedKmh, condition, ForecastStatus.FRESH);
+    }
+
+    public static WeatherPoint unavailable(Coordinates coordinates, LocalDateTime forecastTime) {
+        return new WeatherPoint(coordinates, forecastTime, Double.NaN, Double.NaN, 0, null, ForecastStatus.UNAVAILABLE);
+    }
+
+    public boolean isAvailable() {
+        return status != ForecastStatus.UNAVAILABLE;
+    }
+}
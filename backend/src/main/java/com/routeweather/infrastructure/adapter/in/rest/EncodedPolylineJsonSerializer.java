@@ -0,0 +1,55 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.routeweather.domain.model.Polyline;
+
+import java.io.IOException;
+
+/**
+ * Writes a Polyline as a single string in the Encoded Polyline Algorithm Format with
+ * precision 5 (~1 m), the format used by Google Maps and OSRM (polyline5).
+ *
+ * Each point is stored as the zig-zag varint delta from the previous one, so consecutive
+ * road points typically take 4–6 characters instead of ~45 bytes as a JSON object.
+ *
+ * Only registered on PolylineJsonHttpMessageConverter's ObjectMapper.
+ */
+class EncodedPolylineJsonSerializer extends StdSerializer<Polyline> {
+
+    private static final double PRECISION = 1e5;
+
+    EncodedPolylineJsonSerializer() {
+        super(Polyline.class);
+    }
+
+    @Override
+    public void serialize(Polyline polyline, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeString(encode(polyline));
+    }
+
+    static String encode(Polyline polyline) {
+        StringBuilder encoded = new StringBuilder(polyline.size() * 6);
+        long previousLat = 0;
+        long previousLon = 0;
+        for (int i = 0; i < polyline.size(); i++) {
+            long lat = Math.round(polyline.latitude(i) * PRECISION);
+            long lon = Math.round(polyline.longitude(i) * PRECISION);
+            appendSigned(lat - previousLat, encoded);
+            appendSigned(lon - previousLon, encoded);
+            previousLat = lat;
+            previousLon = lon;
+        }
+        return encoded.toString();
+    }
+
+    private static void appendSigned(long value, StringBuilder encoded) {
+        long zigZag = value < 0 ? ~(value << 1) : value << 1;
+        while (zigZag >= 0x20) {
+            encoded.append((char) ((0x20 | (zigZag & 0x1f)) + 63));
+            zigZag >>= 5;
+        }
+        encoded.append((char) (zigZag + 63));
+    }
+}
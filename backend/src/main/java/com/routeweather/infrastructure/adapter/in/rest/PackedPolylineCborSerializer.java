@@ -0,0 +1,36 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.routeweather.domain.model.Polyline;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Writes a Polyline as one binary value: little-endian float32 pairs [lat0, lon0, lat1, ...].
+ *
+ * In CBOR this becomes a byte string of 8 bytes per point, which the browser reads back
+ * through a DataView without any per-point parsing. float32 keeps ~1 m precision at any latitude/longitude, which
+ * is more than a map line needs.
+ *
+ * Only registered on RouteWeatherCborHttpMessageConverter's ObjectMapper.
+ */
+class PackedPolylineCborSerializer extends StdSerializer<Polyline> {
+
+    PackedPolylineCborSerializer() {
+        super(Polyline.class);
+    }
+
+    @Override
+    public void serialize(Polyline polyline, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ByteBuffer packed = ByteBuffer.allocate(polyline.size() * 2 * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < polyline.size(); i++) {
+            packed.putFloat((float) polyline.latitude(i));
+            packed.putFloat((float) polyline.longitude(i));
+        }
+        gen.writeBinary(packed.array());
+    }
+}
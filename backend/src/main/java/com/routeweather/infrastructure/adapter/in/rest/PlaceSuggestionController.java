@@ -0,0 +1,48 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.routeweather.application.port.in.SuggestPlacesUseCase;
+import com.routeweather.infrastructure.adapter.in.rest.dto.PlaceSuggestionResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * REST adapter (inbound): exposes the SuggestPlacesUseCase over HTTP.
+ *
+ * GET /api/places/suggest?q=zara&limit=8
+ *   Returns: up to {@code limit} PlaceSuggestionResponse, best first; an empty list when
+ *   {@code q} is too short or nothing matches. Answered from memory, never from an upstream.
+ *   Responses may be cached by the browser for a minute, so retyping a prefix is free.
+ */
+@RestController
+@RequestMapping("/api/places")
+@CrossOrigin(origins = "${frontend.cors.origin:http://localhost:5173}")
+public class PlaceSuggestionController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate();
+
+    private final SuggestPlacesUseCase suggestPlacesUseCase;
+
+    public PlaceSuggestionController(SuggestPlacesUseCase suggestPlacesUseCase) {
+        this.suggestPlacesUseCase = suggestPlacesUseCase;
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<PlaceSuggestionResponse>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "8") int limit) {
+
+        List<PlaceSuggestionResponse> suggestions = suggestPlacesUseCase.suggest(query, limit).stream()
+                .map(place -> new PlaceSuggestionResponse(
+                        place.name(), place.coordinates().latitude(), place.coordinates().longitude()))
+                .toList();
+        return ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(suggestions);
+    }
+}
@@ -0,0 +1,25 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.routeweather.domain.model.Polyline;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves application/vnd.routeweather.polyline+json: the regular JSON response, but with
+ * every Polyline written as an encoded polyline string.
+ *
+ * Starts from Spring Boot's ObjectMapper builder so dates and every other type serialize
+ * exactly as in application/json.
+ */
+@Component
+public class PolylineJsonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public PolylineJsonHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        super(objectMapperBuilder.build()
+                        .registerModule(new SimpleModule("encoded-polyline")
+                                .addSerializer(Polyline.class, new EncodedPolylineJsonSerializer())),
+                RouteWeatherMediaTypes.POLYLINE_JSON);
+    }
+}
@@ -0,0 +1,34 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.routeweather.domain.model.Polyline;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes a Polyline as a JSON array of {latitude, longitude} objects — the same wire
+ * format the client has always received — straight from the polyline's arrays, without
+ * an intermediate list of DTOs.
+ */
+@JsonComponent
+public class PolylineJsonSerializer extends StdSerializer<Polyline> {
+
+    public PolylineJsonSerializer() {
+        super(Polyline.class);
+    }
+
+    @Override
+    public void serialize(Polyline polyline, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(polyline, polyline.size());
+        for (int i = 0; i < polyline.size(); i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("latitude", polyline.latitude(i));
+            gen.writeNumberField("longitude", polyline.longitude(i));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,24 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.routeweather.domain.model.Polyline;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves application/cbor with Polylines packed as float32 byte strings.
+ *
+ * Replaces Spring MVC's default CBOR converter, which would use a bare ObjectMapper and so
+ * miss Spring Boot's Jackson settings (ISO dates, @JsonComponent serializers).
+ */
+@Component
+public class RouteWeatherCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public RouteWeatherCborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        super(objectMapperBuilder.factory(new CBORFactory()).build()
+                .registerModule(new SimpleModule("packed-polyline")
+                        .addSerializer(Polyline.class, new PackedPolylineCborSerializer())));
+    }
+}
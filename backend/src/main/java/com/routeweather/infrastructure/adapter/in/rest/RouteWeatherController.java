@@ -1,41 +1,245 @@
 package com.routeweather.infrastructure.adapter.in.rest;
 
+import com.routeweather.application.port.in.FindBestDepartureUseCase;
 import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherListener;
 import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.port.in.RouteWeatherResult;
+import com.routeweather.application.port.in.StreamRouteWeatherUseCase;
+import com.routeweather.domain.exception.RouteNotFoundException;
+import com.routeweather.domain.exception.UpstreamUnavailableException;
+import com.routeweather.domain.model.DepartureOption;
+import com.routeweather.domain.model.Route;
+import com.routeweather.domain.model.RouteGeometry;
 import com.routeweather.domain.model.RouteWeatherReport;
+import com.routeweather.domain.model.WeatherPoint;
+import com.routeweather.infrastructure.adapter.in.rest.dto.DepartureWindowRequest;
+import com.routeweather.infrastructure.adapter.in.rest.dto.DepartureWindowResponse;
+import com.routeweather.infrastructure.adapter.in.rest.dto.RouteBatchItemResponse;
+import com.routeweather.infrastructure.adapter.in.rest.dto.RouteBatchRequest;
+import com.routeweather.infrastructure.adapter.in.rest.dto.RouteBatchResponse;
 import com.routeweather.infrastructure.adapter.in.rest.dto.RouteRequest;
 import com.routeweather.infrastructure.adapter.in.rest.dto.RouteWeatherResponse;
+import com.routeweather.infrastructure.adapter.in.rest.dto.StreamCompleteResponse;
 import com.routeweather.infrastructure.adapter.in.rest.mapper.RouteWeatherMapper;
+import com.routeweather.infrastructure.observability.StageMetrics;
+import com.routeweather.infrastructure.scheduling.CallPriority;
+import com.routeweather.infrastructure.scheduling.RequestContext;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * REST adapter (inbound): exposes the GetRouteWeatherUseCase over HTTP.
  *
  * POST /api/routes/weather
  *   Body: { "origin": "Madrid", "destination": "Barcelona", "travelDate": "2025-06-15" }
- *   Returns: RouteWeatherResponse with weather at each waypoint
+ *   Returns: RouteWeatherResponse with weather at each waypoint, as JSON, encoded-polyline
+ *   JSON or CBOR depending on the Accept header (see RouteWeatherMediaTypes)
+ *   Optional ?zoom= selects the geometry simplification for that map zoom level
+ *
+ * POST /api/routes/weather/stream
+ *   Same body and ?zoom=. Returns a Server-Sent Events stream:
+ *     route          RouteMetadataResponse, as soon as the route is known
+ *     weather-point  IndexedWeatherPointResponse, once per waypoint as its forecast resolves
+ *     complete       StreamCompleteResponse
+ *   or a single "error" event carrying a ProblemDetail.
+ *
+ * POST /api/routes/weather/batch
+ *   Body: { "routes": [ RouteRequest, ... ] } (at most 100), same formats and ?zoom= as /weather
+ *   Returns: RouteBatchResponse with one result per route in request order, each holding
+ *   either a report or a ProblemDetail
+ *
+ * POST /api/routes/departures
+ *   Body: { "origin": "Madrid", "destination": "Barcelona", "travelDate": "2025-06-15",
+ *           "earliestDeparture": "06:00", "latestDeparture": "22:00", "stepMinutes": 30 }
+ *   Returns: DepartureWindowResponse ranking every departure in the window, best first
+ *
+ * Upstream calls made for the batch endpoint run at BATCH priority, all others at
+ * INTERACTIVE, each with the configured deadline (see RequestContext).
+ *
+ * Non-streaming responses carry a Server-Timing header (see ServerTimingAdvice); mapping
+ * to DTOs is timed as the 'map' stage.
  */
 @RestController
 @RequestMapping("/api/routes")
 @CrossOrigin(origins = "${frontend.cors.origin:http://localhost:5173}")
 public class RouteWeatherController {
 
+    private static final Logger log = LoggerFactory.getLogger(RouteWeatherController.class);
+
+    private static final long STREAM_TIMEOUT_MS = 60_000;
+
     private final GetRouteWeatherUseCase getRouteWeatherUseCase;
+    private final StreamRouteWeatherUseCase streamRouteWeatherUseCase;
+    private final FindBestDepartureUseCase findBestDepartureUseCase;
+    private final Executor streamExecutor;
+    private final StageMetrics stageMetrics;
+    private final int defaultZoom;
+    private final Duration interactiveDeadline;
+    private final Duration batchDeadline;
 
-    public RouteWeatherController(GetRouteWeatherUseCase getRouteWeatherUseCase) {
+    public RouteWeatherController(
+            GetRouteWeatherUseCase getRouteWeatherUseCase,
+            StreamRouteWeatherUseCase streamRouteWeatherUseCase,
+            FindBestDepartureUseCase findBestDepartureUseCase,
+            @Qualifier("routeWeatherExecutor") Executor streamExecutor,
+            StageMetrics stageMetrics,
+            @Value("${route-weather.geometry.default-zoom:11}") int defaultZoom,
+            @Value("${route-weather.scheduling.interactive-deadline:10s}") Duration interactiveDeadline,
+            @Value("${route-weather.scheduling.batch-deadline:60s}") Duration batchDeadline) {
         this.getRouteWeatherUseCase = getRouteWeatherUseCase;
+        this.streamRouteWeatherUseCase = streamRouteWeatherUseCase;
+        this.findBestDepartureUseCase = findBestDepartureUseCase;
+        this.streamExecutor = streamExecutor;
+        this.stageMetrics = stageMetrics;
+        this.defaultZoom = defaultZoom;
+        this.interactiveDeadline = interactiveDeadline;
+        this.batchDeadline = batchDeadline;
     }
 
-    @PostMapping("/weather")
+    @PostMapping(value = "/weather", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            RouteWeatherMediaTypes.POLYLINE_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<RouteWeatherResponse> getRouteWeather(
-            @Valid @RequestBody RouteRequest request) {
+            @Valid @RequestBody RouteRequest request,
+            @RequestParam(required = false) Integer zoom) {
 
         RouteWeatherQuery query = RouteWeatherMapper.toQuery(request);
-        RouteWeatherReport report = getRouteWeatherUseCase.getWeatherForRoute(query);
-        RouteWeatherResponse response = RouteWeatherMapper.toResponse(report);
+        RouteWeatherReport report;
+        try (RequestContext.Scope ignored = RequestContext.open(CallPriority.INTERACTIVE, interactiveDeadline)) {
+            report = getRouteWeatherUseCase.getWeatherForRoute(query);
+        }
+        int geometryZoom = zoom == null ? defaultZoom : zoom;
+        RouteWeatherResponse response = stageMetrics.time("map", () -> RouteWeatherMapper.toResponse(report, geometryZoom));
 
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping(value = "/weather/batch", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            RouteWeatherMediaTypes.POLYLINE_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<RouteBatchResponse> getRouteWeatherBatch(
+            @Valid @RequestBody RouteBatchRequest request,
+            @RequestParam(required = false) Integer zoom) {
+
+        List<RouteWeatherQuery> queries = request.routes().stream().map(RouteWeatherMapper::toQuery).toList();
+        List<RouteWeatherResult> results;
+        try (RequestContext.Scope ignored = RequestContext.open(CallPriority.BATCH, batchDeadline)) {
+            results = getRouteWeatherUseCase.getWeatherForRoutes(queries);
+        }
+        int geometryZoom = zoom == null ? defaultZoom : zoom;
+
+        return ResponseEntity.ok(stageMetrics.time("map", () -> {
+            List<RouteBatchItemResponse> items = new ArrayList<>(results.size());
+            for (int i = 0; i < results.size(); i++) {
+                RouteWeatherResult result = results.get(i);
+                items.add(result.isSuccess()
+                        ? new RouteBatchItemResponse(i, RouteWeatherMapper.toResponse(result.report(), geometryZoom), null)
+                        : new RouteBatchItemResponse(i, null, problemFor(result.error())));
+            }
+            return new RouteBatchResponse(items);
+        }));
+    }
+
+    @PostMapping("/departures")
+    public ResponseEntity<DepartureWindowResponse> rankDepartures(@Valid @RequestBody DepartureWindowRequest request) {
+        List<DepartureOption> options;
+        try (RequestContext.Scope ignored = RequestContext.open(CallPriority.INTERACTIVE, interactiveDeadline)) {
+            options = findBestDepartureUseCase.rankDepartures(RouteWeatherMapper.toQuery(request));
+        }
+        return ResponseEntity.ok(stageMetrics.time("map", () -> RouteWeatherMapper.toResponse(request, options)));
+    }
+
+    @PostMapping(value = "/weather/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRouteWeather(
+            @Valid @RequestBody RouteRequest request,
+            @RequestParam(required = false) Integer zoom) {
+        RouteWeatherQuery query = RouteWeatherMapper.toQuery(request);
+        int geometryZoom = zoom == null ? defaultZoom : zoom;
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+
+        // The executor hands the context on to the streaming thread
+        try (RequestContext.Scope ignored = RequestContext.open(CallPriority.INTERACTIVE, interactiveDeadline)) {
+            streamExecutor.execute(() -> streamTo(emitter, query, geometryZoom));
+        }
+        return emitter;
+    }
+
+    private void streamTo(SseEmitter emitter, RouteWeatherQuery query, int geometryZoom) {
+        try {
+            RouteWeatherReport report = streamRouteWeatherUseCase.streamWeatherForRoute(query, new SseListener(emitter, geometryZoom));
+            send(emitter, "complete", new StreamCompleteResponse(report.getWeatherPoints().size()));
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            log.debug("Route weather stream closed by client: {}", e.getMessage());
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            completeWithProblem(emitter, problemFor(e));
+        }
+    }
+
+    /** The ProblemDetail for a failure reported outside the regular exception handlers. */
+    private static ProblemDetail problemFor(RuntimeException e) {
+        if (e instanceof RouteNotFoundException) {
+            ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+            problem.setTitle("Route not found");
+            return problem;
+        }
+        if (e instanceof UpstreamUnavailableException) {
+            return GlobalExceptionHandler.upstreamUnavailable(e);
+        }
+        log.warn("Route weather failed", e);
+        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+        problem.setTitle("Route weather failed");
+        return problem;
+    }
+
+    private static void completeWithProblem(SseEmitter emitter, ProblemDetail problem) {
+        try {
+            send(emitter, "error", problem);
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Translates use-case progress into SSE events. */
+    private record SseListener(SseEmitter emitter, int zoom) implements RouteWeatherListener {
+
+        @Override
+        public void onRoute(Route route, RouteGeometry geometry, int waypointCount) {
+            send(emitter, "route", RouteWeatherMapper.toRouteMetadataResponse(route, geometry, waypointCount, zoom));
+        }
+
+        @Override
+        public void onWeatherPoint(int index, WeatherPoint weatherPoint) {
+            send(emitter, "weather-point", RouteWeatherMapper.toIndexedWeatherPointResponse(index, weatherPoint));
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Response formats offered by RouteWeatherController, selected with the Accept header.
+ *
+ *  application/json                           routeGeometry as [{latitude, longitude}, ...] (default)
+ *  application/vnd.routeweather.polyline+json routeGeometry as an encoded polyline string (precision 5)
+ *  application/cbor                           CBOR; routeGeometry as a byte string of little-endian
+ *                                             float32 pairs [lat0, lon0, lat1, lon1, ...]
+ */
+public final class RouteWeatherMediaTypes {
+
+    public static final String POLYLINE_JSON_VALUE = "application/vnd.routeweather.polyline+json";
+    public static final MediaType POLYLINE_JSON = MediaType.parseMediaType(POLYLINE_JSON_VALUE);
+
+    private RouteWeatherMediaTypes() {}
+}
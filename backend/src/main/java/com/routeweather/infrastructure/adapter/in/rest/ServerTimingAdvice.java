@@ -0,0 +1,40 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.routeweather.infrastructure.observability.StageTimings;
+import com.routeweather.infrastructure.scheduling.RequestContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the Server-Timing header, e.g.
+ * {@code Server-Timing: geocode;dur=3.1, nominatim;dur=2.8, route;dur=120.4, osrm;dur=118.9, total;dur=260.2},
+ * to every response body written for a request that collects stage timings (see
+ * ServerTimingFilter). Durations are in milliseconds; SSE streams carry no header.
+ */
+@RestControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StageTimings timings = RequestContext.current().timings();
+        if (timings != null) {
+            response.getHeaders().set(SERVER_TIMING, timings.toHeaderValue());
+            timings.markResponseWrite();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,50 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.routeweather.infrastructure.observability.StageMetrics;
+import com.routeweather.infrastructure.observability.StageTimings;
+import com.routeweather.infrastructure.scheduling.CallPriority;
+import com.routeweather.infrastructure.scheduling.RequestContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Collects the stage timings of every /api request (see StageTimings) and records how long
+ * its response took to serialize and write, as the 'serialize' stage.
+ *
+ * The Server-Timing header is added by ServerTimingAdvice just before the body is written,
+ * so it reports every stage except serialization, which only reaches the metrics.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final StageMetrics stageMetrics;
+
+    public ServerTimingFilter(StageMetrics stageMetrics) {
+        this.stageMetrics = stageMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StageTimings timings = new StageTimings();
+        try (RequestContext.Scope ignored = RequestContext.open(new RequestContext(CallPriority.INTERACTIVE, null, timings))) {
+            chain.doFilter(request, response);
+        } finally {
+            long serializeNanos = timings.nanosSinceResponseWrite();
+            if (serializeNanos >= 0) {
+                stageMetrics.record("serialize", serializeNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Inbound DTO: the position of a place the client picked from the place suggestions.
+ */
+public record CoordinatesRequest(
+
+        @NotNull(message = "latitude is required")
+        @DecimalMin(value = "-90", message = "latitude must be between -90 and 90")
+        @DecimalMax(value = "90", message = "latitude must be between -90 and 90")
+        Double latitude,
+
+        @NotNull(message = "longitude is required")
+        @DecimalMin(value = "-180", message = "longitude must be between -180 and 180")
+        @DecimalMax(value = "180", message = "longitude must be between -180 and 180")
+        Double longitude
+) {}
@@ -0,0 +1,22 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbound DTO: one ranked departure time.
+ *
+ * score: mean weather penalty per waypoint (precipitation, condition severity, strong wind);
+ *        0 is dry, calm and clear, lower is better
+ * unavailableWaypoints: waypoints without a forecast, left out of the score; options with
+ *        any are ranked after those with full coverage
+ */
+public record DepartureOptionResponse(
+        int rank,
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        double score,
+        double totalPrecipitationMm,
+        int maxWindSpeedKmh,
+        String worstCondition,
+        int unavailableWaypoints
+) {}
@@ -0,0 +1,62 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Inbound DTO: a route and a window of departure times to rank.
+ *
+ * earliestDeparture and latestDeparture are sent as "HH:mm" (24-hour) on travelDate; the
+ * window may not cross midnight. Example: "06:00" to "22:00" every 30 minutes.
+ *
+ * originCoordinates and destinationCoordinates are optional, as in RouteRequest: sent for a
+ * place picked from the suggestions, they are used instead of geocoding the name.
+ */
+public record DepartureWindowRequest(
+
+        @NotBlank(message = "origin is required")
+        String origin,
+
+        @NotBlank(message = "destination is required")
+        String destination,
+
+        @NotNull(message = "travelDate is required")
+        @FutureOrPresent(message = "travelDate must be today or in the future")
+        LocalDate travelDate,
+
+        @NotNull(message = "earliestDeparture is required")
+        @JsonFormat(pattern = "HH:mm")
+        LocalTime earliestDeparture,
+
+        @NotNull(message = "latestDeparture is required")
+        @JsonFormat(pattern = "HH:mm")
+        LocalTime latestDeparture,
+
+        @NotNull(message = "stepMinutes is required")
+        @Min(value = 10, message = "stepMinutes must be at least 10")
+        @Max(value = 240, message = "stepMinutes must be at most 240")
+        Integer stepMinutes,
+
+        @Valid
+        CoordinatesRequest originCoordinates,
+
+        @Valid
+        CoordinatesRequest destinationCoordinates
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "latestDeparture must not be before earliestDeparture")
+    public boolean isWindowOrdered() {
+        return earliestDeparture == null || latestDeparture == null || !latestDeparture.isBefore(earliestDeparture);
+    }
+}
@@ -0,0 +1,14 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Outbound DTO: the departure times of a window, best first.
+ */
+public record DepartureWindowResponse(
+        String origin,
+        String destination,
+        LocalDate travelDate,
+        List<DepartureOptionResponse> options
+) {}
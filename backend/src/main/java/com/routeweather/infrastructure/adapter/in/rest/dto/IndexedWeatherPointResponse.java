@@ -0,0 +1,7 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+/**
+ * Outbound DTO: one streamed weather point. index is the waypoint's position along the route;
+ * events arrive in completion order, so clients place them by index.
+ */
+public record IndexedWeatherPointResponse(int index, WeatherPointResponse weatherPoint) {}
@@ -0,0 +1,10 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+/**
+ * Outbound DTO: one autocomplete suggestion with the position it resolves to.
+ */
+public record PlaceSuggestionResponse(
+        String name,
+        double latitude,
+        double longitude
+) {}
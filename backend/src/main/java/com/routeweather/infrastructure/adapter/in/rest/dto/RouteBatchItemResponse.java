@@ -0,0 +1,14 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Outbound DTO: the result for routes[index] of a batch request.
+ *
+ * Exactly one of report and error is set; a failed route does not fail the batch.
+ */
+public record RouteBatchItemResponse(
+        int index,
+        RouteWeatherResponse report,
+        ProblemDetail error
+) {}
@@ -0,0 +1,19 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Inbound DTO: several route weather requests answered in one call.
+ *
+ * Place names, routes and forecast cells shared between routes are looked up only once.
+ */
+public record RouteBatchRequest(
+
+        @NotEmpty(message = "routes must not be empty")
+        @Size(max = 100, message = "at most 100 routes per batch")
+        List<@Valid RouteRequest> routes
+) {}
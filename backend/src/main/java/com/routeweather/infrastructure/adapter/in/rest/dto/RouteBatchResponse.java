@@ -0,0 +1,8 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import java.util.List;
+
+/**
+ * Outbound DTO: one result per requested route, in request order.
+ */
+public record RouteBatchResponse(List<RouteBatchItemResponse> results) {}
@@ -0,0 +1,18 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+import com.routeweather.domain.model.Polyline;
+
+import java.time.LocalDate;
+
+/**
+ * Outbound DTO: first event of a streamed report, sent as soon as the route is known.
+ *
+ * waypointCount: how many weather-point events will follow
+ */
+public record RouteMetadataResponse(
+        String origin,
+        String destination,
+        LocalDate travelDate,
+        int waypointCount,
+        Polyline routeGeometry
+) {}
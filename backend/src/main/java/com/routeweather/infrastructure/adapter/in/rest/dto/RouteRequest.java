@@ -1,6 +1,7 @@
 package com.routeweather.infrastructure.adapter.in.rest.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,10 @@ import java.time.LocalTime;
  * Stays in the infrastructure layer — never passed to domain or application services.
  *
  * departureTime is sent as "HH:mm" (24-hour). Example: "08:30".
+ *
+ * originCoordinates and destinationCoordinates are optional: the client sends them for a
+ * place picked from the suggestions, so the server uses that exact place instead of
+ * geocoding the name again.
  */
 public record RouteRequest(
 
@@ -28,5 +33,11 @@ public record RouteRequest(
 
         @NotNull(message = "departureTime is required")
         @JsonFormat(pattern = "HH:mm")
-        LocalTime departureTime
+        LocalTime departureTime,
+
+        @Valid
+        CoordinatesRequest originCoordinates,
+
+        @Valid
+        CoordinatesRequest destinationCoordinates
 ) {}
@@ -1,12 +1,15 @@
 package com.routeweather.infrastructure.adapter.in.rest.dto;
 
+import com.routeweather.domain.model.Polyline;
+
 import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Outbound DTO: the full route weather report returned to the client.
  *
- * routeGeometry: road-following polyline points (for map display)
+ * routeGeometry: road-following polyline points (for map display), written as
+ *                [{latitude, longitude}, ...] by PolylineJsonSerializer
  * weatherPoints: forecast at each sampled waypoint (subset of the geometry)
  */
 public record RouteWeatherResponse(
@@ -14,5 +17,5 @@ public record RouteWeatherResponse(
         String destination,
         LocalDate travelDate,
         List<WeatherPointResponse> weatherPoints,
-        List<CoordinatesResponse> routeGeometry
+        Polyline routeGeometry
 ) {}
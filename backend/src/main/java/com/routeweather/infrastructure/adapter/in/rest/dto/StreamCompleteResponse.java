@@ -0,0 +1,6 @@
+package com.routeweather.infrastructure.adapter.in.rest.dto;
+
+/**
+ * Outbound DTO: last event of a streamed report.
+ */
+public record StreamCompleteResponse(int weatherPointCount) {}
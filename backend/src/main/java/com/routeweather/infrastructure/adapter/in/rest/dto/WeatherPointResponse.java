@@ -4,13 +4,17 @@ import java.time.LocalDateTime;
 
 /**
  * Outbound DTO: a single weather forecast point returned to the client.
+ *
+ * status: FRESH, STALE (last good forecast, served while the source is failing) or
+ *         UNAVAILABLE, in which case temperature, precipitation, wind and condition are null
  */
 public record WeatherPointResponse(
         double latitude,
         double longitude,
         LocalDateTime forecastTime,
-        double temperatureCelsius,
-        double precipitationMm,
-        int windSpeedKmh,
-        String condition
+        Double temperatureCelsius,
+        Double precipitationMm,
+        Integer windSpeedKmh,
+        String condition,
+        String status
 ) {}
@@ -1,14 +1,25 @@
 package com.routeweather.infrastructure.adapter.in.rest.mapper;
 
+import com.routeweather.application.port.in.DepartureWindowQuery;
 import com.routeweather.application.port.in.RouteWeatherQuery;
 import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.DepartureOption;
+import com.routeweather.domain.model.Route;
+import com.routeweather.domain.model.RouteGeometry;
 import com.routeweather.domain.model.RouteWeatherReport;
 import com.routeweather.domain.model.WeatherPoint;
-import com.routeweather.infrastructure.adapter.in.rest.dto.CoordinatesResponse;
+import com.routeweather.infrastructure.adapter.in.rest.dto.CoordinatesRequest;
+import com.routeweather.infrastructure.adapter.in.rest.dto.DepartureOptionResponse;
+import com.routeweather.infrastructure.adapter.in.rest.dto.DepartureWindowRequest;
+import com.routeweather.infrastructure.adapter.in.rest.dto.DepartureWindowResponse;
+import com.routeweather.infrastructure.adapter.in.rest.dto.IndexedWeatherPointResponse;
+import com.routeweather.infrastructure.adapter.in.rest.dto.RouteMetadataResponse;
 import com.routeweather.infrastructure.adapter.in.rest.dto.RouteRequest;
 import com.routeweather.infrastructure.adapter.in.rest.dto.RouteWeatherResponse;
 import com.routeweather.infrastructure.adapter.in.rest.dto.WeatherPointResponse;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,27 +35,81 @@ public class RouteWeatherMapper {
                 request.origin(),
                 request.destination(),
                 request.travelDate(),
-                request.departureTime());
+                request.departureTime(),
+                toCoordinates(request.originCoordinates()),
+                toCoordinates(request.destinationCoordinates()));
     }
 
-    public static RouteWeatherResponse toResponse(RouteWeatherReport report) {
+    public static DepartureWindowQuery toQuery(DepartureWindowRequest request) {
+        return new DepartureWindowQuery(
+                request.origin(),
+                request.destination(),
+                request.travelDate(),
+                request.earliestDeparture(),
+                request.latestDeparture(),
+                Duration.ofMinutes(request.stepMinutes()),
+                toCoordinates(request.originCoordinates()),
+                toCoordinates(request.destinationCoordinates()));
+    }
+
+    /**
+     * @param options ranked best first, as returned by FindBestDepartureUseCase
+     */
+    public static DepartureWindowResponse toResponse(DepartureWindowRequest request, List<DepartureOption> options) {
+        List<DepartureOptionResponse> ranked = new ArrayList<>(options.size());
+        for (int i = 0; i < options.size(); i++) {
+            DepartureOption option = options.get(i);
+            ranked.add(new DepartureOptionResponse(
+                    i + 1,
+                    option.departure(),
+                    option.arrival(),
+                    option.score(),
+                    option.totalPrecipitationMm(),
+                    option.maxWindSpeedKmh(),
+                    option.worstCondition().name(),
+                    option.unavailableWaypoints()));
+        }
+        return new DepartureWindowResponse(request.origin(), request.destination(), request.travelDate(), ranked);
+    }
+
+    /**
+     * @param zoom map zoom the geometry will be drawn at; picks the matching simplification
+     */
+    public static RouteWeatherResponse toResponse(RouteWeatherReport report, int zoom) {
         List<WeatherPointResponse> weatherPoints = report.getWeatherPoints().stream()
                 .map(RouteWeatherMapper::toWeatherPointResponse)
                 .toList();
 
-        List<CoordinatesResponse> geometry = report.getRouteGeometry().stream()
-                .map(c -> new CoordinatesResponse(c.latitude(), c.longitude()))
-                .toList();
-
         return new RouteWeatherResponse(
                 report.getRoute().getOriginName(),
                 report.getRoute().getDestinationName(),
                 report.getRoute().getTravelDate(),
                 weatherPoints,
-                geometry);
+                report.getRouteGeometry().atZoom(zoom));
+    }
+
+    public static RouteMetadataResponse toRouteMetadataResponse(Route route, RouteGeometry geometry, int waypointCount, int zoom) {
+        return new RouteMetadataResponse(
+                route.getOriginName(),
+                route.getDestinationName(),
+                route.getTravelDate(),
+                waypointCount,
+                geometry.atZoom(zoom));
+    }
+
+    public static IndexedWeatherPointResponse toIndexedWeatherPointResponse(int index, WeatherPoint point) {
+        return new IndexedWeatherPointResponse(index, toWeatherPointResponse(point));
     }
 
     private static WeatherPointResponse toWeatherPointResponse(WeatherPoint point) {
+        if (!point.isAvailable()) {
+            return new WeatherPointResponse(
+                    point.coordinates().latitude(),
+                    point.coordinates().longitude(),
+                    point.forecastTime(),
+                    null, null, null, null,
+                    point.status().name());
+        }
         return new WeatherPointResponse(
                 point.coordinates().latitude(),
                 point.coordinates().longitude(),
@@ -52,6 +117,11 @@ public class RouteWeatherMapper {
                 point.temperatureCelsius(),
                 point.precipitationMm(),
                 point.windSpeedKmh(),
-                point.condition().name());
+                point.condition().name(),
+                point.status().name());
+    }
+
+    private static Coordinates toCoordinates(CoordinatesRequest request) {
+        return request == null ? null : new Coordinates(request.latitude(), request.longitude());
     }
 }
@@ -0,0 +1,224 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.exception.RouteNotFoundException;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.RouteDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decorator around RouteCalculatorPort that caches geocoding results.
+ *
+ * - Keys are normalized place names (see PlaceNames), so "Zaragoza" and " zaragoza " share an entry.
+ * - Concurrent misses for one place all reach the delegate; the Nominatim adapter's
+ *   UpstreamScheduler, keyed by the same normalized name, turns them into one upstream call.
+ * - Entries are bounded by count (LRU-like eviction) and expire after a TTL.
+ * - "Place not found" answers are cached too, with a much shorter TTL, so repeated typos do not
+ *   hit Nominatim again. Upstream failures (UpstreamUnavailableException) are never cached.
+ * - Positive entries are periodically written to a compact binary file and reloaded at startup,
+ *   so a restarted or freshly started replica begins warm instead of bursting against Nominatim.
+ *
+ * Route calculation is delegated untouched.
+ */
+public class CachingGeocoder implements RouteCalculatorPort, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingGeocoder.class);
+
+    private static final int FILE_MAGIC = 0x52574743; // "RWGC"
+    private static final int FILE_VERSION = 1;
+
+    /** Cached outcome of one geocode: either coordinates or the "not found" message. */
+    private record Entry(Coordinates coordinates, String notFoundMessage, long resolvedAtMillis) {
+        boolean isNegative() { return coordinates == null; }
+    }
+
+    private final RouteCalculatorPort delegate;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Path cacheFile;
+    private final Cache<String, Entry> cache;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final ScheduledExecutorService persister;
+
+    /**
+     * @param cacheFile       where to persist entries; null disables persistence
+     * @param persistInterval how often a changed cache is written to {@code cacheFile}
+     */
+    public CachingGeocoder(
+            RouteCalculatorPort delegate,
+            int maxEntries,
+            Duration ttl,
+            Duration negativeTtl,
+            Path cacheFile,
+            Duration persistInterval,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.cacheFile = cacheFile;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "geocode");
+
+        if (cacheFile != null) {
+            load();
+            persister = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("geocode-cache-persister").factory());
+            persister.scheduleWithFixedDelay(this::persistIfDirty,
+                    persistInterval.toMillis(), persistInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            persister = null;
+        }
+    }
+
+    @Override
+    public Coordinates geocode(String placeName) {
+        String key = PlaceNames.normalize(placeName);
+        // Resolved outside the cache's compute lock: a virtual thread blocked on Nominatim while
+        // holding that monitor would pin its carrier. The Nominatim scheduler merges concurrent
+        // lookups of the same place instead.
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            entry = resolve(placeName);
+            cache.put(key, entry);
+        }
+        if (entry.isNegative()) {
+            throw new RouteNotFoundException(entry.notFoundMessage());
+        }
+        return entry.coordinates();
+    }
+
+    @Override
+    public RouteDetails calculateRoute(Coordinates origin, Coordinates destination) {
+        return delegate.calculateRoute(origin, destination);
+    }
+
+    private Entry resolve(String placeName) {
+        try {
+            Coordinates coordinates = delegate.geocode(placeName);
+            dirty.set(true);
+            return new Entry(coordinates, null, System.currentTimeMillis());
+        } catch (RouteNotFoundException e) {
+            return new Entry(null, e.getMessage(), System.currentTimeMillis());
+        }
+    }
+
+    /** Entries expire relative to when they were resolved, which survives a reload from disk. */
+    private class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            Duration lifetime = entry.isNegative() ? negativeTtl : ttl;
+            long ageMillis = System.currentTimeMillis() - entry.resolvedAtMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, lifetime.toMillis() - ageMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // ── Persistence ──────────────────────────────────────────────────────────────
+
+    private void load() {
+        if (!Files.isReadable(cacheFile)) {
+            return;
+        }
+        long oldest = System.currentTimeMillis() - ttl.toMillis();
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                log.warn("Ignoring geocode cache file {} with unknown format", cacheFile);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                double latitude = in.readDouble();
+                double longitude = in.readDouble();
+                long resolvedAt = in.readLong();
+                if (resolvedAt > oldest) {
+                    cache.put(key, new Entry(new Coordinates(latitude, longitude), null, resolvedAt));
+                    loaded++;
+                }
+            }
+            log.info("Loaded {} geocode cache entries from {}", loaded, cacheFile);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not load geocode cache from {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private void persistIfDirty() {
+        if (dirty.getAndSet(false)) {
+            persist();
+        }
+    }
+
+    /** Writes positive entries to a temp file and atomically swaps it in, so readers never see a partial file. */
+    private void persist() {
+        Map<String, Entry> snapshot = Map.copyOf(cache.asMap());
+        try {
+            Path parent = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+            int written = 0;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                long positives = snapshot.values().stream().filter(e -> !e.isNegative()).count();
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt((int) positives);
+                for (Map.Entry<String, Entry> e : snapshot.entrySet()) {
+                    Entry entry = e.getValue();
+                    if (entry.isNegative()) continue;
+                    out.writeUTF(e.getKey());
+                    out.writeDouble(entry.coordinates().latitude());
+                    out.writeDouble(entry.coordinates().longitude());
+                    out.writeLong(entry.resolvedAtMillis());
+                    written++;
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Persisted {} geocode cache entries to {}", written, cacheFile);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not persist geocode cache to {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (persister != null) {
+            persister.shutdownNow();
+            persist();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.RouteDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+/**
+ * Decorator around RouteCalculatorPort that caches calculated routes.
+ *
+ * Road geometry between two geocoded places practically never changes, so routes are kept
+ * for hours to days. Origin and destination are snapped to a grid of {@code snapDegrees}
+ * before forming the key, so tiny differences in geocoded coordinates share one entry.
+ *
+ * RouteDetails hold only primitive arrays (full geometry, every simplified level and the
+ * cumulative travel times) and are never modified, so they are stored as-is and a hit
+ * costs only the lookup. Fallback results (OSRM error or unreachable) are never cached.
+ * Hit ratio is exported as the 'osrm.routes' cache metrics.
+ *
+ * Geocoding is delegated untouched.
+ */
+public class CachingRouteCalculator implements RouteCalculatorPort {
+
+    private record RouteKey(long originLat, long originLon, long destinationLat, long destinationLon) {}
+
+    private final RouteCalculatorPort delegate;
+    private final double snapDegrees;
+    private final Cache<RouteKey, RouteDetails> cache;
+
+    public CachingRouteCalculator(
+            RouteCalculatorPort delegate,
+            double snapDegrees,
+            int maxEntries,
+            Duration ttl,
+            MeterRegistry meterRegistry) {
+        if (snapDegrees <= 0) {
+            throw new IllegalArgumentException("Snap tolerance must be positive, got: " + snapDegrees);
+        }
+        this.delegate = delegate;
+        this.snapDegrees = snapDegrees;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "osrm.routes");
+    }
+
+    @Override
+    public Coordinates geocode(String placeName) {
+        return delegate.geocode(placeName);
+    }
+
+    @Override
+    public RouteDetails calculateRoute(Coordinates origin, Coordinates destination) {
+        RouteKey key = new RouteKey(
+                snap(origin.latitude()), snap(origin.longitude()),
+                snap(destination.latitude()), snap(destination.longitude()));
+
+        RouteDetails cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        RouteDetails details = delegate.calculateRoute(origin, destination);
+        if (!details.fallback()) {
+            cache.put(key, details);
+        }
+        return details;
+    }
+
+    private long snap(double degrees) {
+        return Math.round(degrees / snapDegrees);
+    }
+}
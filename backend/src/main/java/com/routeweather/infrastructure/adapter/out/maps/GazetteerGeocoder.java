@@ -0,0 +1,49 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.RouteDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+
+/**
+ * Decorator around RouteCalculatorPort that geocodes from the local GazetteerIndex first.
+ *
+ * Well-known towns are answered from the memory-mapped index without any network call;
+ * only names the gazetteer does not know reach the delegate (the geocode cache, then
+ * Nominatim). Hits and misses are counted as 'geocode.gazetteer{result}'.
+ *
+ * Route calculation is delegated untouched.
+ */
+public class GazetteerGeocoder implements RouteCalculatorPort {
+
+    private final GazetteerIndex index;
+    private final RouteCalculatorPort delegate;
+    private final Counter hits;
+    private final Counter misses;
+
+    public GazetteerGeocoder(GazetteerIndex index, RouteCalculatorPort delegate, MeterRegistry meterRegistry) {
+        this.index = index;
+        this.delegate = delegate;
+        this.hits = meterRegistry.counter("geocode.gazetteer", "result", "hit");
+        this.misses = meterRegistry.counter("geocode.gazetteer", "result", "miss");
+    }
+
+    @Override
+    public Coordinates geocode(String placeName) {
+        Optional<GazetteerIndex.Place> place = index.lookup(PlaceNames.normalize(placeName));
+        if (place.isPresent()) {
+            hits.increment();
+            return place.get().coordinates();
+        }
+        misses.increment();
+        return delegate.geocode(placeName);
+    }
+
+    @Override
+    public RouteDetails calculateRoute(Coordinates origin, Coordinates destination) {
+        return delegate.calculateRoute(origin, destination);
+    }
+}
@@ -0,0 +1,234 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a GazetteerIndex file from a GeoNames dump (allCountries.txt, cities500.txt, ...).
+ *
+ * Only populated places (feature class P) are imported. Each place is indexed under its
+ * name, ASCII name and alternate names, normalized with PlaceNames. A key shared by several
+ * places goes to the best of them, ranked by
+ *  1. being in one of the preferred countries,
+ *  2. having the key as its own name rather than as an alternate name,
+ *  3. population.
+ * If the runner-up ties with the winner on the first two, the key is marked ambiguous and
+ * GazetteerIndex.lookup does not answer it, leaving the name to Nominatim. So with Spain
+ * preferred "Valencia" is the Spanish city although Valencia, Venezuela is larger, while
+ * "Paris" (France and Texas, neither preferred) goes to Nominatim; and the alternate name
+ * "Londres" of London does not take the name from the town of Londres, Argentina.
+ *
+ * The index is written to a temp file and atomically moved into place, so processes that
+ * already mapped the previous version keep reading it undisturbed.
+ */
+public final class GazetteerImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(GazetteerImporter.class);
+
+    // GeoNames columns (tab-separated)
+    private static final int NAME = 1;
+    private static final int ASCII_NAME = 2;
+    private static final int ALTERNATE_NAMES = 3;
+    private static final int LATITUDE = 4;
+    private static final int LONGITUDE = 5;
+    private static final int GEONAME_ID = 0;
+    private static final int FEATURE_CLASS = 6;
+    private static final int COUNTRY_CODE = 8;
+    private static final int POPULATION = 14;
+
+    // Rank classes of a candidate for a key; higher wins
+    private static final int PREFERRED_COUNTRY = 2;
+    private static final int OWN_NAME = 1;
+
+    private record Candidate(String geonameId, String name, double latitude, double longitude, long population,
+                             String countryCode) {}
+
+    /** The best place for one key so far, and the best class among the other places. */
+    private static final class KeyOwner {
+        Candidate place;
+        int rankClass;
+        int runnerUpClass = -1;
+
+        KeyOwner(Candidate place, int rankClass) {
+            this.place = place;
+            this.rankClass = rankClass;
+        }
+
+        void offer(Candidate candidate, int candidateClass) {
+            if (candidate.geonameId().equals(place.geonameId())) {
+                rankClass = Math.max(rankClass, candidateClass);
+            } else if (candidateClass > rankClass
+                    || candidateClass == rankClass && candidate.population() > place.population()) {
+                runnerUpClass = Math.max(runnerUpClass, rankClass);
+                place = candidate;
+                rankClass = candidateClass;
+            } else {
+                runnerUpClass = Math.max(runnerUpClass, candidateClass);
+            }
+        }
+
+        boolean ambiguous() {
+            return runnerUpClass >= rankClass;
+        }
+    }
+
+    private GazetteerImporter() {}
+
+    /** True if {@code index} is missing, older than {@code dump} or written in another format version. */
+    public static boolean isStale(Path dump, Path index) throws IOException {
+        return !Files.exists(index)
+                || Files.getLastModifiedTime(index).compareTo(Files.getLastModifiedTime(dump)) < 0
+                || !GazetteerIndex.isCurrentFormat(index);
+    }
+
+    /**
+     * Imports the places of {@code dump} with at least {@code minPopulation} inhabitants into
+     * {@code index}. Returns the number of keys written.
+     *
+     * @param preferredCountries ISO 3166 country codes whose places win shared names
+     */
+    public static int importDump(Path dump, Path index, long minPopulation, Set<String> preferredCountries)
+            throws IOException {
+        long start = System.nanoTime();
+        Set<String> preferred = preferredCountries.stream()
+                .map(code -> code.strip().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Map<String, KeyOwner> byKey = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(dump, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t", -1);
+                if (columns.length <= POPULATION || !"P".equals(columns[FEATURE_CLASS])) {
+                    continue;
+                }
+                long population = columns[POPULATION].isEmpty() ? 0 : Long.parseLong(columns[POPULATION]);
+                if (population < minPopulation) {
+                    continue;
+                }
+                Candidate candidate = new Candidate(columns[GEONAME_ID], columns[NAME],
+                        Double.parseDouble(columns[LATITUDE]), Double.parseDouble(columns[LONGITUDE]), population,
+                        columns[COUNTRY_CODE]);
+                int countryClass = preferred.contains(columns[COUNTRY_CODE]) ? PREFERRED_COUNTRY : 0;
+                offer(byKey, columns[NAME], candidate, countryClass + OWN_NAME);
+                offer(byKey, columns[ASCII_NAME], candidate, countryClass + OWN_NAME);
+                for (String alternate : columns[ALTERNATE_NAMES].split(",")) {
+                    offer(byKey, alternate, candidate, countryClass);
+                }
+            }
+        }
+        write(byKey, index);
+        log.info("Imported {} gazetteer names from {} into {} in {} ms",
+                byKey.size(), dump, index, (System.nanoTime() - start) / 1_000_000);
+        return byKey.size();
+    }
+
+    private static void offer(Map<String, KeyOwner> byKey, String name, Candidate candidate, int rankClass) {
+        String key = PlaceNames.normalize(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        KeyOwner owner = byKey.get(key);
+        if (owner == null) {
+            byKey.put(key, new KeyOwner(candidate, rankClass));
+        } else {
+            owner.offer(candidate, rankClass);
+        }
+    }
+
+    private static void write(Map<String, KeyOwner> byKey, Path index) throws IOException {
+        record Keyed(byte[] key, Candidate place, boolean ambiguous) {}
+        List<Keyed> records = new ArrayList<>(byKey.size());
+        byKey.forEach((key, owner) -> records.add(
+                new Keyed(key.getBytes(StandardCharsets.UTF_8), owner.place, owner.ambiguous())));
+        records.sort((a, b) -> Arrays.compareUnsigned(a.key(), b.key()));
+
+        // Display names are shared by all the keys of a place, so each is stored once.
+        Map<String, Integer> nameOffsets = new HashMap<>();
+        StringArea strings = new StringArea();
+        int[] keyOffsets = new int[records.size()];
+        int[] nameOffsetsByRecord = new int[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            keyOffsets[i] = strings.add(records.get(i).key());
+            nameOffsetsByRecord[i] = nameOffsets.computeIfAbsent(records.get(i).place().name(),
+                    name -> strings.add(name.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        long stringsOffset = GazetteerIndex.HEADER_BYTES + (long) records.size() * GazetteerIndex.RECORD_BYTES;
+        if (stringsOffset + strings.size() > Integer.MAX_VALUE) {
+            throw new IOException("Gazetteer index would exceed 2 GB; raise the minimum population");
+        }
+
+        Path parent = index.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, index.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(GazetteerIndex.MAGIC);
+            out.writeInt(GazetteerIndex.VERSION);
+            out.writeInt(records.size());
+            out.writeInt((int) stringsOffset);
+            for (int i = 0; i < records.size(); i++) {
+                Candidate place = records.get(i).place();
+                out.writeInt(keyOffsets[i]);
+                out.writeInt(records.get(i).key().length);
+                out.writeInt(nameOffsetsByRecord[i]);
+                out.writeInt(place.name().getBytes(StandardCharsets.UTF_8).length);
+                out.writeDouble(place.latitude());
+                out.writeDouble(place.longitude());
+                out.writeLong(place.population());
+                out.write(countryBytes(place.countryCode()));
+                out.writeByte(records.get(i).ambiguous() ? GazetteerIndex.FLAG_AMBIGUOUS : 0);
+                out.writeByte(0);
+            }
+            strings.writeTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** The two-letter country code as ASCII bytes, blanks when missing or malformed. */
+    private static byte[] countryBytes(String countryCode) {
+        return countryCode.length() == 2 ? countryCode.getBytes(StandardCharsets.US_ASCII) : new byte[] {' ', ' '};
+    }
+
+    /** Append-only byte area; add() returns the offset of the added bytes. */
+    private static final class StringArea {
+        private final List<byte[]> chunks = new ArrayList<>();
+        private long size;
+
+        int add(byte[] bytes) {
+            int offset = (int) size; // only meaningful below 2 GB, which write() enforces
+            chunks.add(bytes);
+            size += bytes.length;
+            return offset;
+        }
+
+        long size() {
+            return size;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            for (byte[] chunk : chunks) {
+                out.write(chunk);
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.domain.model.Coordinates;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only, memory-mapped index of place names built by GazetteerImporter.
+ *
+ * Opening only maps the file, so it is instant whatever the size, and pages are shared
+ * through the OS page cache by every process that maps the same file. A lookup is a binary
+ * search over fixed-width records, comparing the UTF-8 key bytes in place; nothing is
+ * decoded or allocated until a match is found.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   header   int magic "RWGX", int version, int count, int stringsOffset
+ *   records  count x RECORD_BYTES, sorted by key bytes (unsigned):
+ *            int keyOffset, int keyLength, int nameOffset, int nameLength,
+ *            double latitude, double longitude, long population,
+ *            byte[2] country code (ASCII), byte flags, byte reserved
+ *   strings  UTF-8 bytes of the normalized keys and display names
+ * </pre>
+ * Keys are PlaceNames-normalized and unique; when several places share a name, the importer
+ * picks which one holds the key (see GazetteerImporter). A key flagged ambiguous is not
+ * answered by lookup, but still offered by findByPrefix.
+ */
+public final class GazetteerIndex {
+
+    static final int MAGIC = 0x52574758; // "RWGX"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 44;
+    static final int FLAG_AMBIGUOUS = 1;
+
+    /** A gazetteer entry: display name, position, population used for ranking and country code. */
+    public record Place(String name, Coordinates coordinates, long population, String countryCode) {}
+
+    private record PlaceKey(int nameOffset, double latitude, double longitude) {}
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int stringsOffset;
+
+    private GazetteerIndex(Path file, ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a gazetteer index (or an unknown version): " + file);
+        }
+        this.file = file;
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.stringsOffset = buffer.getInt(12);
+        if ((long) HEADER_BYTES + (long) count * RECORD_BYTES > stringsOffset || stringsOffset > buffer.capacity()) {
+            throw new IOException("Truncated gazetteer index: " + file);
+        }
+    }
+
+    /** Maps {@code file} read-only. The mapping stays valid after the file is replaced or deleted. */
+    public static GazetteerIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Gazetteer index larger than 2 GB, import a smaller dump: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new GazetteerIndex(file, mapped);
+        }
+    }
+
+    /** True if {@code file} starts with the header of an index in this format version. */
+    static boolean isCurrentFormat(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            ByteBuffer header = ByteBuffer.wrap(in.readNBytes(8));
+            return header.capacity() == 8 && header.getInt(0) == MAGIC && header.getInt(4) == VERSION;
+        }
+    }
+
+    /** An index without places, for when no gazetteer is configured. */
+    public static GazetteerIndex empty() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC).putInt(VERSION).putInt(0).putInt(HEADER_BYTES);
+        try {
+            return new GazetteerIndex(null, header);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** The mapped file, or null for the empty index. */
+    public Path file() {
+        return file;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The place whose normalized name is exactly {@code normalizedName}, if any. A name that
+     * the importer found ambiguous yields nothing, so the caller can ask a better-informed geocoder.
+     */
+    public Optional<Place> lookup(String normalizedName) {
+        byte[] key = normalizedName.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareKey(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return (buffer.get(recordOffset(mid) + 42) & FLAG_AMBIGUOUS) != 0
+                        ? Optional.empty() : Optional.of(place(mid));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The most populous places with a key starting with {@code normalizedPrefix}, at most
+     * {@code limit} of them, each place once even if several of its names match.
+     *
+     * Matching keys are contiguous in the sorted file; at most {@code maxScan} of them are
+     * examined, so a one- or two-letter prefix stays cheap at the cost of ranking only the
+     * alphabetically first matches.
+     */
+    public List<Place> findByPrefix(String normalizedPrefix, int limit, int maxScan) {
+        byte[] prefix = normalizedPrefix.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(mid, prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // All names of a place share its display name and position, so those identify it.
+        Map<PlaceKey, Integer> seen = new HashMap<>();
+        for (int i = low, end = (int) Math.min(count, (long) low + maxScan); i < end && startsWith(i, prefix); i++) {
+            int record = recordOffset(i);
+            seen.putIfAbsent(new PlaceKey(buffer.getInt(record + 8),
+                    buffer.getDouble(record + 16), buffer.getDouble(record + 24)), i);
+        }
+        return seen.values().stream()
+                .sorted(Comparator.comparingLong((Integer i) -> buffer.getLong(recordOffset(i) + 32)).reversed())
+                .limit(limit)
+                .map(this::place)
+                .toList();
+    }
+
+    private boolean startsWith(int index, byte[] prefix) {
+        int record = recordOffset(index);
+        if (buffer.getInt(record + 4) < prefix.length) {
+            return false;
+        }
+        int offset = stringsOffset + buffer.getInt(record);
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Compares the key of record {@code index} with {@code key}, as unsigned bytes. */
+    private int compareKey(int index, byte[] key) {
+        int record = recordOffset(index);
+        int offset = stringsOffset + buffer.getInt(record);
+        int length = buffer.getInt(record + 4);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(offset + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private Place place(int index) {
+        int record = recordOffset(index);
+        String name = string(buffer.getInt(record + 8), buffer.getInt(record + 12));
+        Coordinates coordinates = new Coordinates(buffer.getDouble(record + 16), buffer.getDouble(record + 24));
+        String countryCode = new String(new byte[] {buffer.get(record + 40), buffer.get(record + 41)},
+                StandardCharsets.US_ASCII).strip();
+        return new Place(name, coordinates, buffer.getLong(record + 32), countryCode);
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(stringsOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int recordOffset(int index) {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+}
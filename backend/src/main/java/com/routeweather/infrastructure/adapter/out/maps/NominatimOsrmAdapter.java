@@ -1,28 +1,47 @@
 package com.routeweather.infrastructure.adapter.out.maps;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.routeweather.application.port.out.RouteCalculatorPort;
 import com.routeweather.domain.exception.RouteNotFoundException;
+import com.routeweather.domain.exception.UpstreamUnavailableException;
 import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.Polyline;
 import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.RouteGeometry;
+import com.routeweather.infrastructure.adapter.out.resilience.CircuitBreaker;
+import com.routeweather.infrastructure.adapter.out.resilience.HedgedCalls;
+import com.routeweather.infrastructure.observability.UpstreamCallTimer;
+import com.routeweather.infrastructure.scheduling.UpstreamScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
 
 /**
  * Outbound adapter: geocoding via Nominatim (OSM) and routing via OSRM.
  * Both are free and require no API key.
  *
+ * Calls to each upstream are paced by its own UpstreamScheduler (Nominatim's usage policy
+ * allows about one request per second), which also merges identical pending lookups and
+ * serves interactive requests before batch and warm-up traffic.
+ *
+ * Each upstream has its own circuit breaker, so while one is failing calls to it fail fast:
+ * geocoding reports the place as not resolvable (not cached, see CachingGeocoder) and
+ * routing falls back to origin+destination. Slow OSRM calls are hedged; Nominatim calls
+ * are not, as its usage policy allows at most one request per second.
+ *
+ * Every call is timed per upstream and outcome (see UpstreamCallTimer).
+ *
  * Nominatim docs: https://nominatim.org/release-docs/develop/api/Search/
  * OSRM docs:      http://project-osrm.org/docs/v5.24.0/api/
  */
@@ -34,20 +53,52 @@ public class NominatimOsrmAdapter implements RouteCalculatorPort {
     private final String nominatimBaseUrl;
     private final String nominatimUserAgent;
     private final String osrmBaseUrl;
-    private final int maxWaypoints;
-    private final RestTemplate restTemplate;
+    private final RestTemplate nominatimRestTemplate;
+    private final RestTemplate osrmRestTemplate;
+    private final CircuitBreaker nominatimCircuitBreaker;
+    private final CircuitBreaker osrmCircuitBreaker;
+    private final HedgedCalls osrmHedgedCalls;
+    private final UpstreamScheduler nominatimScheduler;
+    private final UpstreamScheduler osrmScheduler;
+    private final UpstreamCallTimer nominatimCallTimer;
+    private final UpstreamCallTimer osrmCallTimer;
 
     public NominatimOsrmAdapter(
             @Value("${external.nominatim.base-url}") String nominatimBaseUrl,
             @Value("${external.nominatim.user-agent}") String nominatimUserAgent,
             @Value("${external.osrm.base-url}") String osrmBaseUrl,
-            @Value("${external.osrm.max-waypoints:6}") int maxWaypoints,
-            RestTemplate restTemplate) {
+            @Qualifier("nominatimRestTemplate") RestTemplate nominatimRestTemplate,
+            @Qualifier("osrmRestTemplate") RestTemplate osrmRestTemplate,
+            @Value("${external.nominatim.resilience.failure-threshold:5}") int nominatimFailureThreshold,
+            @Value("${external.nominatim.resilience.open-duration:30s}") Duration nominatimOpenDuration,
+            @Value("${external.osrm.resilience.failure-threshold:5}") int osrmFailureThreshold,
+            @Value("${external.osrm.resilience.open-duration:30s}") Duration osrmOpenDuration,
+            @Value("${external.osrm.resilience.hedge-min-delay:500ms}") Duration osrmHedgeMinDelay,
+            @Value("${external.nominatim.rate-limit.permits-per-second:1}") double nominatimPermitsPerSecond,
+            @Value("${external.nominatim.rate-limit.burst:1}") int nominatimBurst,
+            @Value("${external.osrm.rate-limit.permits-per-second:5}") double osrmPermitsPerSecond,
+            @Value("${external.osrm.rate-limit.burst:5}") int osrmBurst,
+            MeterRegistry meterRegistry) {
         this.nominatimBaseUrl = nominatimBaseUrl;
         this.nominatimUserAgent = nominatimUserAgent;
         this.osrmBaseUrl = osrmBaseUrl;
-        this.maxWaypoints = maxWaypoints;
-        this.restTemplate = restTemplate;
+        this.nominatimRestTemplate = nominatimRestTemplate;
+        this.osrmRestTemplate = osrmRestTemplate;
+        this.nominatimCircuitBreaker = new CircuitBreaker(
+                "nominatim", nominatimFailureThreshold, nominatimOpenDuration, meterRegistry);
+        this.osrmCircuitBreaker = new CircuitBreaker("osrm", osrmFailureThreshold, osrmOpenDuration, meterRegistry);
+        this.osrmHedgedCalls = new HedgedCalls("osrm", osrmHedgeMinDelay, meterRegistry);
+        this.nominatimScheduler = new UpstreamScheduler("nominatim", nominatimPermitsPerSecond, nominatimBurst, meterRegistry);
+        this.osrmScheduler = new UpstreamScheduler("osrm", osrmPermitsPerSecond, osrmBurst, meterRegistry);
+        this.nominatimCallTimer = new UpstreamCallTimer("nominatim", meterRegistry);
+        this.osrmCallTimer = new UpstreamCallTimer("osrm", meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        nominatimScheduler.close();
+        osrmScheduler.close();
+        osrmHedgedCalls.close();
     }
 
     /**
@@ -64,35 +115,32 @@ public class NominatimOsrmAdapter implements RouteCalculatorPort {
                 .build()
                 .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("User-Agent", nominatimUserAgent);
-        HttpEntity<Void> request = new HttpEntity<>(headers);
-
         try {
-            JsonNode response = restTemplate.exchange(url, HttpMethod.GET, request, JsonNode.class).getBody();
+            Coordinates coordinates = nominatimCallTimer.time(() -> nominatimScheduler.call(PlaceNames.normalize(placeName),
+                    () -> nominatimCircuitBreaker.call(() -> nominatimRestTemplate.execute(url, HttpMethod.GET,
+                            request -> request.getHeaders().set("User-Agent", nominatimUserAgent),
+                            response -> NominatimResponseParser.parseFirst(response.getBody())))));
 
-            if (response == null || response.isEmpty()) {
+            if (coordinates == null) {
                 throw new RouteNotFoundException("Place not found: " + placeName);
             }
 
-            JsonNode first = response.get(0);
-            double latitude = first.path("lat").asDouble();
-            double longitude = first.path("lon").asDouble();
-            log.debug("Geocoded '{}' → ({}, {})", placeName, latitude, longitude);
-            return new Coordinates(latitude, longitude);
+            log.debug("Geocoded '{}' → ({}, {})", placeName, coordinates.latitude(), coordinates.longitude());
+            return coordinates;
 
         } catch (RestClientException e) {
-            throw new RouteNotFoundException("Geocoding failed for '" + placeName + "': " + e.getMessage(), e);
+            // Rate-limit and deadline rejections, an open circuit or a transport failure: not an answer about the place
+            throw new UpstreamUnavailableException("Geocoding failed for '" + placeName + "': " + e.getMessage(), e);
         }
     }
 
     /**
-     * Calls OSRM once with overview=simplified to get the road-following geometry,
-     * then samples maxWaypoints evenly from it for weather forecast queries.
+     * Calls OSRM once with overview=full and annotations=duration to get the road-following
+     * geometry at full resolution and the travel time along each of its segments.
      *
-     * overview=simplified gives a compact polyline (~20-50 points for long routes)
-     * that still accurately follows the road, making it suitable for both map
-     * display and as a source for evenly-sampled weather waypoints.
+     * Map display uses the simplified levels RouteGeometry precomputes from it, rather
+     * than OSRM's own fixed overview=simplified; weather waypoints are sampled from it by
+     * the application layer.
      */
     @Override
     public RouteDetails calculateRoute(Coordinates origin, Coordinates destination) {
@@ -102,49 +150,52 @@ public class NominatimOsrmAdapter implements RouteCalculatorPort {
 
         String url = UriComponentsBuilder
                 .fromHttpUrl(osrmBaseUrl + "/route/v1/driving/" + coordParam)
-                .queryParam("overview", "simplified")
+                .queryParam("overview", "full")
                 .queryParam("geometries", "geojson")
+                .queryParam("annotations", "duration")
                 .build()
                 .toUriString();
 
         try {
-            JsonNode response = restTemplate.getForObject(url, JsonNode.class);
-
-            String code = response.path("code").asText();
-            if (!"Ok".equals(code)) {
-                log.warn("OSRM returned code '{}', falling back to origin+destination", code);
-                List<Coordinates> fallback = List.of(origin, destination);
-                return new RouteDetails(fallback, fallback, 0.0);
+            // A hedge is a second request: it needs its own rate-limit token and call budget
+            BooleanSupplier budgetAllowsHedge = osrmCallTimer.extraCalls();
+            OsrmResponseParser.OsrmRoute response = osrmCallTimer.time(() -> osrmScheduler.call(url,
+                    () -> osrmCircuitBreaker.call(() -> osrmHedgedCalls.call(() -> osrmRestTemplate.execute(
+                            url, HttpMethod.GET, null, r -> OsrmResponseParser.parse(r.getBody())),
+                            () -> osrmScheduler.tryAcquireExtra() && budgetAllowsHedge.getAsBoolean()))));
+
+            if (response == null || !"Ok".equals(response.code()) || response.latitudes() == null) {
+                log.warn("OSRM returned code '{}', falling back to origin+destination",
+                        response == null ? null : response.code());
+                return RouteDetails.fallback(origin, destination);
             }
 
-            JsonNode route = response.path("routes").get(0);
-            double totalDurationSeconds = route.path("duration").asDouble(0.0);
-            JsonNode coordinates = route.path("geometry").path("coordinates");
-
-            List<Coordinates> geometry = new ArrayList<>(coordinates.size());
-            for (JsonNode coord : coordinates) {
-                geometry.add(new Coordinates(coord.get(1).asDouble(), coord.get(0).asDouble()));
-            }
+            double totalDurationSeconds = response.durationSeconds();
+            Polyline geometry = Polyline.of(response.latitudes(), response.longitudes());
 
-            List<Coordinates> weatherWaypoints = sampleEvenly(geometry, maxWaypoints);
-            log.debug("OSRM simplified: {} geometry points, {} weather waypoints, duration {}s",
-                    geometry.size(), weatherWaypoints.size(), totalDurationSeconds);
-            return new RouteDetails(geometry, weatherWaypoints, totalDurationSeconds);
+            double[] cumulativeSeconds = cumulative(response.segmentDurations(), geometry.size());
+            log.debug("OSRM full: {} geometry points, duration annotations {}, duration {}s",
+                    geometry.size(), cumulativeSeconds != null, totalDurationSeconds);
+            return new RouteDetails(RouteGeometry.of(geometry), cumulativeSeconds, totalDurationSeconds);
 
-        } catch (RestClientException e) {
+        } catch (RestClientException | IllegalStateException e) {
             log.warn("OSRM routing failed: {}, falling back to origin+destination", e.getMessage());
-            List<Coordinates> fallback = List.of(origin, destination);
-            return new RouteDetails(fallback, fallback, 0.0);
+            return RouteDetails.fallback(origin, destination);
         }
     }
 
-    private List<Coordinates> sampleEvenly(List<Coordinates> points, int n) {
-        if (points.size() <= n) return points;
-        List<Coordinates> sampled = new ArrayList<>(n);
-        double step = (double) (points.size() - 1) / (n - 1);
-        for (int i = 0; i < n; i++) {
-            sampled.add(points.get((int) Math.round(i * step)));
+    /**
+     * Turns per-segment durations into travel time to each geometry point, or null if they
+     * do not line up with the geometry (one duration per segment).
+     */
+    private static double[] cumulative(double[] segmentDurations, int points) {
+        if (segmentDurations == null || segmentDurations.length != points - 1) {
+            return null;
+        }
+        double[] cumulative = new double[points];
+        for (int i = 1; i < points; i++) {
+            cumulative[i] = cumulative[i - 1] + segmentDurations[i - 1];
         }
-        return sampled;
+        return cumulative;
     }
 }
@@ -0,0 +1,48 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.routeweather.domain.model.Coordinates;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming parser for Nominatim /search?format=json responses.
+ *
+ * Reads only "lat" and "lon" of the first result (Nominatim sends them as strings) and
+ * skips every other field without building a JsonNode tree.
+ */
+final class NominatimResponseParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private NominatimResponseParser() {}
+
+    /**
+     * @return the first result's coordinates, or null if there are no results
+     */
+    static Coordinates parseFirst(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY || parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            double latitude = Double.NaN;
+            double longitude = Double.NaN;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "lat" -> latitude = parser.getValueAsDouble();
+                    case "lon" -> longitude = parser.getValueAsDouble();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+                throw new IOException("Nominatim result has no lat/lon");
+            }
+            return new Coordinates(latitude, longitude);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Streaming parser for OSRM /route responses requested with geometries=geojson and
+ * annotations=duration.
+ *
+ * Reads only the status code and the first route's duration, per-segment durations and
+ * geometry. GeoJSON [lon, lat] pairs are decoded straight into primitive latitude/longitude
+ * arrays, without building a JsonNode tree or a per-point object.
+ */
+final class OsrmResponseParser {
+
+    /**
+     * The first route of an OSRM response; lat/lon are null when code is not "Ok".
+     * segmentDurations holds one entry per geometry segment (all legs concatenated), or is
+     * empty if the response carries no duration annotation.
+     */
+    record OsrmRoute(String code, double durationSeconds, double[] latitudes, double[] longitudes,
+                     double[] segmentDurations) {}
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private OsrmResponseParser() {}
+
+    static OsrmRoute parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("OSRM response is not a JSON object");
+            }
+            String code = "";
+            OsrmRoute route = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "code" -> code = parser.getText();
+                    case "routes" -> route = parseFirstRoute(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (route == null) {
+                return new OsrmRoute(code, 0.0, null, null, null);
+            }
+            return new OsrmRoute(code, route.durationSeconds(), route.latitudes(), route.longitudes(),
+                    route.segmentDurations());
+        }
+    }
+
+    /** Parses routes[0] and skips the alternatives; the parser is positioned on the START_ARRAY. */
+    private static OsrmRoute parseFirstRoute(JsonParser parser) throws IOException {
+        OsrmRoute first = null;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (first != null) {
+                parser.skipChildren();
+                continue;
+            }
+            double duration = 0.0;
+            double[][] geometry = null;
+            double[] segmentDurations = new double[0];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "duration" -> duration = parser.getDoubleValue();
+                    case "geometry" -> geometry = parseGeometry(parser);
+                    case "legs" -> segmentDurations = parseLegDurations(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            first = geometry == null
+                    ? new OsrmRoute(null, duration, new double[0], new double[0], segmentDurations)
+                    : new OsrmRoute(null, duration, geometry[0], geometry[1], segmentDurations);
+        }
+        return first;
+    }
+
+    /** Concatenates legs[*].annotation.duration; the parser is positioned on the legs START_ARRAY. */
+    private static double[] parseLegDurations(JsonParser parser) throws IOException {
+        double[] durations = new double[256];
+        int n = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (!"annotation".equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String annotation = parser.currentName();
+                    parser.nextToken();
+                    if (!"duration".equals(annotation)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (n == durations.length) {
+                            durations = Arrays.copyOf(durations, n * 2);
+                        }
+                        durations[n++] = parser.getDoubleValue();
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(durations, n);
+    }
+
+    /** Parses a GeoJSON LineString object into {latitudes, longitudes}. */
+    private static double[][] parseGeometry(JsonParser parser) throws IOException {
+        double[] lats = new double[0];
+        double[] lons = new double[0];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (!"coordinates".equals(field)) {
+                parser.skipChildren();
+                continue;
+            }
+            lats = new double[256];
+            lons = new double[256];
+            int n = 0;
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                if (n == lats.length) {
+                    lats = Arrays.copyOf(lats, n * 2);
+                    lons = Arrays.copyOf(lons, n * 2);
+                }
+                parser.nextToken();
+                lons[n] = parser.getDoubleValue();
+                parser.nextToken();
+                lats[n] = parser.getDoubleValue();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    // skip an optional third (elevation) value
+                }
+                n++;
+            }
+            lats = Arrays.copyOf(lats, n);
+            lons = Arrays.copyOf(lons, n);
+        }
+        return new double[][] {lats, lons};
+    }
+}
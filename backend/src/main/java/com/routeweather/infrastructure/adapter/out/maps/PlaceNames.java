@@ -0,0 +1,18 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.service.PlaceNameNormalizer;
+
+/**
+ * Canonical form of user-typed place names, used as a lookup key.
+ *
+ * Delegates to PlaceNameNormalizer, so the adapters' keys always agree with the names the
+ * application counts popular routes by.
+ */
+public final class PlaceNames {
+
+    private PlaceNames() {}
+
+    public static String normalize(String placeName) {
+        return PlaceNameNormalizer.normalize(placeName);
+    }
+}
@@ -0,0 +1,206 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.port.out.PlaceDirectoryPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.PlaceSuggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * PlaceDirectoryPort answered from memory: a sorted array of normalized names searched by
+ * binary search, plus the GazetteerIndex when one is configured.
+ *
+ * The array holds the places of an optional seed file and every gazetteer place geocoded
+ * since startup (see PlaceSuggestionRecorder), up to {@code maxEntries}; without a
+ * gazetteer nothing is recorded and it holds the seed alone. It lives in parallel arrays
+ * published as one immutable snapshot: lookups read it without locking, and the rare
+ * insert (a name geocoded for the first time) copies it under a lock.
+ *
+ * Matches from the array come first, shortest name first, as they are places users have
+ * actually asked for; the gazetteer fills the remaining slots by population. A place found
+ * in both is listed once.
+ */
+public class PlaceSuggestionIndex implements PlaceDirectoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceSuggestionIndex.class);
+
+    /** Parallel arrays sorted by key; never modified once published. */
+    private record Snapshot(String[] keys, String[] names, double[] latitudes, double[] longitudes) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new String[0], new double[0], new double[0]);
+
+        int size() {
+            return keys.length;
+        }
+
+        /** Index of the first key not below {@code key}. */
+        int lowerBound(String key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    private final GazetteerIndex gazetteer;
+    private final int maxEntries;
+    private final int maxScan;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * @param gazetteer  searched after the in-memory names; null for none
+     * @param seedFile   lines of "name;latitude;longitude" loaded at startup ('#' starts a
+     *                   comment); null for none
+     * @param maxEntries cap on names kept in memory; further geocodes are not recorded
+     * @param maxScan    matching names examined per source and lookup
+     */
+    public PlaceSuggestionIndex(GazetteerIndex gazetteer, Path seedFile, int maxEntries, int maxScan) {
+        this.gazetteer = gazetteer;
+        this.maxEntries = maxEntries;
+        this.maxScan = maxScan;
+        if (seedFile != null) {
+            loadSeed(seedFile);
+        }
+    }
+
+    @Override
+    public List<PlaceSuggestion> findByPrefix(String prefix, int limit) {
+        String key = PlaceNames.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        List<Integer> matches = new ArrayList<>();
+        for (int i = current.lowerBound(key), end = Math.min(current.size(), i + maxScan);
+             i < end && current.keys()[i].startsWith(key); i++) {
+            matches.add(i);
+        }
+        matches.sort(Comparator.comparingInt((Integer i) -> current.keys()[i].length()));
+
+        List<PlaceSuggestion> suggestions = new ArrayList<>(limit);
+        Set<String> listed = new HashSet<>();
+        for (int i : matches) {
+            if (suggestions.size() == limit) {
+                return suggestions;
+            }
+            if (listed.add(current.keys()[i])) {
+                suggestions.add(new PlaceSuggestion(current.names()[i],
+                        new Coordinates(current.latitudes()[i], current.longitudes()[i])));
+            }
+        }
+        if (gazetteer != null) {
+            for (GazetteerIndex.Place place : gazetteer.findByPrefix(key, limit, maxScan)) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                if (listed.add(PlaceNames.normalize(place.name()))) {
+                    suggestions.add(new PlaceSuggestion(place.name(), place.coordinates()));
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /** Records a successfully geocoded place; a name already known is left as it is. */
+    public void add(String placeName, Coordinates coordinates) {
+        String key = PlaceNames.normalize(placeName);
+        if (key.isEmpty() || contains(snapshot, key)) {
+            return;
+        }
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (contains(current, key) || current.size() >= maxEntries) {
+                return;
+            }
+            snapshot = insert(current, key, displayName(placeName), coordinates);
+        }
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    private static boolean contains(Snapshot snapshot, String key) {
+        return Arrays.binarySearch(snapshot.keys(), key) >= 0;
+    }
+
+    private static Snapshot insert(Snapshot current, String key, String name, Coordinates coordinates) {
+        int at = current.lowerBound(key);
+        int size = current.size();
+        String[] keys = new String[size + 1];
+        String[] names = new String[size + 1];
+        double[] latitudes = new double[size + 1];
+        double[] longitudes = new double[size + 1];
+        System.arraycopy(current.keys(), 0, keys, 0, at);
+        System.arraycopy(current.names(), 0, names, 0, at);
+        System.arraycopy(current.latitudes(), 0, latitudes, 0, at);
+        System.arraycopy(current.longitudes(), 0, longitudes, 0, at);
+        keys[at] = key;
+        names[at] = name;
+        latitudes[at] = coordinates.latitude();
+        longitudes[at] = coordinates.longitude();
+        System.arraycopy(current.keys(), at, keys, at + 1, size - at);
+        System.arraycopy(current.names(), at, names, at + 1, size - at);
+        System.arraycopy(current.latitudes(), at, latitudes, at + 1, size - at);
+        System.arraycopy(current.longitudes(), at, longitudes, at + 1, size - at);
+        return new Snapshot(keys, names, latitudes, longitudes);
+    }
+
+    /** The name as typed, with runs of whitespace collapsed. */
+    private static String displayName(String placeName) {
+        return placeName.strip().replaceAll("\\s+", " ");
+    }
+
+    /** Builds the first snapshot in one pass instead of one insert per seed. */
+    private void loadSeed(Path seedFile) {
+        TreeMap<String, PlaceSuggestion> byKey = new TreeMap<>();
+        try {
+            for (String line : Files.readAllLines(seedFile, StandardCharsets.UTF_8)) {
+                String entry = line.strip();
+                if (entry.isEmpty() || entry.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = entry.split(";");
+                if (fields.length != 3) {
+                    log.warn("Skipping malformed place seed line: {}", line);
+                    continue;
+                }
+                String name = displayName(fields[0]);
+                Coordinates coordinates = new Coordinates(
+                        Double.parseDouble(fields[1].strip()), Double.parseDouble(fields[2].strip()));
+                byKey.putIfAbsent(PlaceNames.normalize(name), new PlaceSuggestion(name, coordinates));
+                if (byKey.size() == maxEntries) {
+                    break;
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not load place seed file {}: {}", seedFile, e.getMessage());
+            return;
+        }
+
+        int size = byKey.size();
+        String[] keys = byKey.keySet().toArray(new String[0]);
+        String[] names = new String[size];
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        int i = 0;
+        for (PlaceSuggestion place : byKey.values()) {
+            names[i] = place.name();
+            latitudes[i] = place.coordinates().latitude();
+            longitudes[i] = place.coordinates().longitude();
+            i++;
+        }
+        snapshot = new Snapshot(keys, names, latitudes, longitudes);
+        log.info("Loaded {} place suggestions from {}", size, seedFile);
+    }
+}
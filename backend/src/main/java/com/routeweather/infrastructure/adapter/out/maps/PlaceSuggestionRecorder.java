@@ -0,0 +1,43 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.RouteDetails;
+
+/**
+ * Decorator around RouteCalculatorPort that adds successfully geocoded places to the
+ * PlaceSuggestionIndex, so places users ask for are suggested ahead of the rest.
+ *
+ * Only names the GazetteerIndex confirms are recorded, under the gazetteer's own spelling
+ * and coordinates: the raw text that happened to geocode (a street address, a typo the
+ * upstream geocoder forgave) must never be offered to other users as a place. Names only
+ * Nominatim resolved are therefore not recorded, and a deployment without a gazetteer does
+ * not use this decorator at all: its suggestions come from the seed file alone.
+ *
+ * Route calculation is delegated untouched.
+ */
+public class PlaceSuggestionRecorder implements RouteCalculatorPort {
+
+    private final RouteCalculatorPort delegate;
+    private final GazetteerIndex gazetteer;
+    private final PlaceSuggestionIndex index;
+
+    public PlaceSuggestionRecorder(RouteCalculatorPort delegate, GazetteerIndex gazetteer, PlaceSuggestionIndex index) {
+        this.delegate = delegate;
+        this.gazetteer = gazetteer;
+        this.index = index;
+    }
+
+    @Override
+    public Coordinates geocode(String placeName) {
+        Coordinates coordinates = delegate.geocode(placeName);
+        gazetteer.lookup(PlaceNames.normalize(placeName))
+                .ifPresent(place -> index.add(place.name(), place.coordinates()));
+        return coordinates;
+    }
+
+    @Override
+    public RouteDetails calculateRoute(Coordinates origin, Coordinates destination) {
+        return delegate.calculateRoute(origin, destination);
+    }
+}
@@ -0,0 +1,138 @@
+package com.routeweather.infrastructure.adapter.out.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Consecutive-failure circuit breaker for one upstream.
+ *
+ * CLOSED: calls go through. After {@code failureThreshold} failures in a row the circuit opens.
+ * OPEN: calls fail immediately with CircuitOpenException for {@code openDuration}.
+ * HALF_OPEN: a single trial call goes through; success closes the circuit, failure reopens it.
+ *
+ * Any exception counts as a failure except a 4xx answer other than 429: the upstream is
+ * up and rejected that one request.
+ *
+ * Publishes upstream.circuit.state (0 closed, 1 half-open, 2 open) and
+ * upstream.circuit.rejected, tagged upstream=&lt;name&gt;.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final String upstream;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String upstream, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this(upstream, failureThreshold, openDuration, System::nanoTime, meterRegistry);
+    }
+
+    CircuitBreaker(String upstream, int failureThreshold, Duration openDuration, LongSupplier nanoTime,
+                   MeterRegistry meterRegistry) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1, got: " + failureThreshold);
+        }
+        this.upstream = upstream;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+        this.rejected = Counter.builder("upstream.circuit.rejected").tag("upstream", upstream).register(meterRegistry);
+        Gauge.builder("upstream.circuit.state", this, breaker -> breaker.state().ordinal())
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} if the circuit allows it.
+     *
+     * @throws CircuitOpenException if the circuit is open; {@code call} is not run
+     */
+    public <T> T call(Supplier<T> call) {
+        acquirePermission();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            if (isFailure(e)) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+            throw e;
+        }
+        onSuccess();
+        return result;
+    }
+
+    /** True while calls are being rejected, without claiming the half-open trial call. */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && nanoTime.getAsLong() - openedAt < openNanos;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private synchronized void acquirePermission() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            rejected.increment();
+            throw new CircuitOpenException(upstream);
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Circuit for {} closed", upstream);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    private synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN) {
+            log.warn("Circuit for {} reopened: trial call failed", upstream);
+            open();
+        } else if (++consecutiveFailures >= failureThreshold && state == State.CLOSED) {
+            log.warn("Circuit for {} opened after {} consecutive failures", upstream, consecutiveFailures);
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+        consecutiveFailures = 0;
+    }
+
+    private static boolean isFailure(RuntimeException e) {
+        return !(e instanceof HttpClientErrorException clientError)
+                || clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
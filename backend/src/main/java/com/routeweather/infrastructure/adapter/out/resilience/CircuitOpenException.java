@@ -0,0 +1,15 @@
+package com.routeweather.infrastructure.adapter.out.resilience;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown instead of calling an upstream whose circuit is open.
+ *
+ * A RestClientException, so adapters handle it like any other failed upstream call.
+ */
+public class CircuitOpenException extends RestClientException {
+
+    public CircuitOpenException(String upstream) {
+        super("Circuit open for " + upstream + ", call not attempted");
+    }
+}
@@ -0,0 +1,152 @@
+package com.routeweather.infrastructure.adapter.out.resilience;
+
+import com.routeweather.infrastructure.scheduling.ContextPropagatingExecutorService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hedges slow calls to one upstream: once a call has taken longer than the recent p95
+ * latency, an identical second call is started and whichever succeeds first wins.
+ *
+ * Only for idempotent calls (every upstream here is a GET). At most one hedge is sent per
+ * call, so in steady state about 5% extra requests buy a much shorter tail. Whichever
+ * attempt loses is cancelled, and attempts run with the caller's RequestContext. The p95 comes
+ * from the latencies of the last {@value #WINDOW} successful calls; until
+ * {@value #MIN_SAMPLES} have been seen, and never sooner than {@code minDelay}, calls are
+ * not hedged.
+ *
+ * Publishes upstream.hedge.sent and upstream.hedge.won, tagged upstream=&lt;name&gt;.
+ */
+public class HedgedCalls implements AutoCloseable {
+
+    private static final int WINDOW = 128;
+    private static final int MIN_SAMPLES = 20;
+
+    private final long minDelayNanos;
+    private final ExecutorService executor =
+            new ContextPropagatingExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    private final Counter sent;
+    private final Counter won;
+
+    private final long[] latencies = new long[WINDOW];
+    private int samples;
+    private int next;
+    private volatile long hedgeDelayNanos = -1;
+
+    public HedgedCalls(String upstream, Duration minDelay, MeterRegistry meterRegistry) {
+        this.minDelayNanos = minDelay.toNanos();
+        this.sent = Counter.builder("upstream.hedge.sent").tag("upstream", upstream).register(meterRegistry);
+        this.won = Counter.builder("upstream.hedge.won").tag("upstream", upstream).register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call}, adding a hedged duplicate if it is slower than usual.
+     * If both attempts fail, the later failure is rethrown.
+     *
+     * @throws IllegalStateException if interrupted while waiting
+     */
+    public <T> T call(Supplier<T> call) {
+        return call(call, () -> true);
+    }
+
+    /**
+     * Like {@link #call(Supplier)}, but a hedge is only sent if {@code hedgeAllowed} grants
+     * it at the moment it is due. Callers pass a check that charges the hedge as an extra
+     * upstream request (a rate-limit token, a call budget), so hedges never bypass them;
+     * when it says no, the call simply keeps waiting for its first attempt.
+     */
+    public <T> T call(Supplier<T> call, BooleanSupplier hedgeAllowed) {
+        long delay = hedgeDelayNanos;
+        if (delay < 0) {
+            return timed(call);
+        }
+
+        CompletionService<T> attempts = new ExecutorCompletionService<>(executor);
+        Future<T> primary = attempts.submit(() -> timed(call));
+        Future<T> hedge = null;
+        try {
+            Future<T> done = attempts.poll(delay, TimeUnit.NANOSECONDS);
+            if (done == null && hedgeAllowed.getAsBoolean()) {
+                // slower than p95: race a second attempt
+                sent.increment();
+                hedge = attempts.submit(() -> timed(call));
+            }
+            ExecutionException failure = null;
+            for (int pending = hedge == null ? 1 : 2; pending > 0; pending--) {
+                if (done == null) {
+                    done = attempts.take();
+                }
+                try {
+                    T result = done.get();
+                    if (done == hedge) {
+                        won.increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    failure = e;
+                    done = null;
+                }
+            }
+            throw unwrap(failure);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for upstream call", e);
+        } finally {
+            // The losing attempt is abandoned: interrupt it rather than let it run to the end
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /** Current hedge delay, or -1 while there are too few samples to hedge. */
+    long hedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> T timed(Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        record(System.nanoTime() - start);
+        return result;
+    }
+
+    private synchronized void record(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        next = (next + 1) % WINDOW;
+        samples = Math.min(samples + 1, WINDOW);
+        if (samples >= MIN_SAMPLES) {
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            long p95 = sorted[(int) Math.ceil(samples * 0.95) - 1];
+            hedgeDelayNanos = Math.max(minDelayNanos, p95);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+}
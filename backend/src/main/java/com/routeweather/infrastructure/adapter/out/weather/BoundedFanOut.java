@@ -0,0 +1,126 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import com.routeweather.infrastructure.scheduling.ContextPropagatingExecutorService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Runs one blocking call per item on virtual threads and returns the results in input order.
+ *
+ * Two limits bound the number of calls in flight:
+ *  - per invocation of {@link #map}, so a single report cannot monopolise the upstream
+ *  - globally across all invocations, shared by every concurrent report
+ *
+ * Each call gets its own timeout, measured from the moment it acquires both permits
+ * (time spent queueing for a permit does not count). A call that times out is interrupted
+ * and its slot is filled with the fallback value for that item.
+ *
+ * Calls run with the caller's RequestContext, so their upstream time still counts towards
+ * the request that made them.
+ */
+class BoundedFanOut implements AutoCloseable {
+
+    private final int maxInFlightPerRequest;
+    private final Semaphore globalPermits;
+    private final Duration callTimeout;
+    private final ExecutorService executor =
+            new ContextPropagatingExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+
+    BoundedFanOut(int maxInFlightPerRequest, int maxInFlightGlobal, Duration callTimeout) {
+        if (maxInFlightPerRequest < 1 || maxInFlightGlobal < 1) {
+            throw new IllegalArgumentException("In-flight limits must be at least 1");
+        }
+        this.maxInFlightPerRequest = maxInFlightPerRequest;
+        this.globalPermits = new Semaphore(maxInFlightGlobal, true);
+        this.callTimeout = callTimeout;
+    }
+
+    /**
+     * Applies {@code call} to every item concurrently.
+     *
+     * @param call     the blocking call; exceptions it throws are rethrown to the caller
+     * @param fallback produces the result for an item whose call timed out
+     * @return one result per item, in the same order as {@code items}
+     */
+    <T, R> List<R> map(List<T> items, Function<T, R> call, Function<T, R> fallback) {
+        return map(items, call, fallback, (item, result) -> {});
+    }
+
+    /**
+     * Like {@link #map(List, Function, Function)}, additionally handing each result to
+     * {@code onResult} as soon as it is available. Every onResult call happens before this
+     * method returns.
+     */
+    <T, R> List<R> map(List<T> items, Function<T, R> call, Function<T, R> fallback, BiConsumer<T, R> onResult) {
+        Semaphore requestPermits = new Semaphore(maxInFlightPerRequest);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> {
+                R result = callWithPermits(item, call, fallback, requestPermits);
+                onResult.accept(item, result);
+                return result;
+            }));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for concurrent calls", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw rethrow(e.getCause());
+        }
+        return results;
+    }
+
+    private <T, R> R callWithPermits(T item, Function<T, R> call, Function<T, R> fallback, Semaphore requestPermits)
+            throws InterruptedException, ExecutionException {
+        requestPermits.acquire();
+        try {
+            globalPermits.acquire();
+            try {
+                Future<R> inner = executor.submit(() -> call.apply(item));
+                try {
+                    return inner.get(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    inner.cancel(true);
+                    return fallback.apply(item);
+                }
+            } finally {
+                globalPermits.release();
+            }
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof ExecutionException nested) {
+            return rethrow(nested.getCause());
+        }
+        if (cause instanceof RuntimeException runtime) return runtime;
+        if (cause instanceof Error error) throw error;
+        return new IllegalStateException(cause);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,181 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.ForecastStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches one day of hourly forecast per grid cell.
+ *
+ * Coordinates are quantized to square cells of {@code cellDegrees} (close to the weather model's
+ * own grid spacing, so every point in a cell would get the same model output anyway). All
+ * waypoints, requests and departure times that land in the same cell on the same day are
+ * answered from a single upstream fetch, which is always made at the cell centre.
+ *
+ * Entries are bounded by total estimated heap size. An entry is fresh until the next model
+ * run becomes available (see ModelRunSchedule), since the forecast cannot change before
+ * then; after that it is no longer served normally, but is kept as the last good forecast
+ * for the cell until {@code staleMaxAge}, to be served while Open-Meteo is failing.
+ *
+ * Each entry remembers whether it has been read since it was fetched: entries that were read
+ * are the ones worth refreshing before the next request. A refresh pass claims them as soon
+ * as a model run comes out (see claimForRefresh); until the pass has stored its replacement
+ * or given up on it, a claimed entry is still served, marked STALE, so requests do not all
+ * fetch the same cells at that moment.
+ * Lookups are counted as 'forecast.cells.lookups' (tagged result=fresh|refreshing|expired|absent).
+ */
+class ForecastCellCache {
+
+    /** Cache key: a grid cell on a given (location-local) day. */
+    record CellDay(int latIndex, int lonIndex, LocalDate date) {}
+
+    /** A cached forecast: FRESH, or STALE while a refresh pass is replacing it. */
+    record Lookup(HourlySeries series, ForecastStatus status) {}
+
+    private static final class Entry {
+        final HourlySeries series;
+        final Instant validUntil;
+        volatile boolean read;
+        volatile boolean refreshing;
+
+        Entry(HourlySeries series, Instant validUntil) {
+            this.series = series;
+            this.validUntil = validUntil;
+        }
+    }
+
+    private final double cellDegrees;
+    private final ModelRunSchedule schedule;
+    private final Clock clock;
+    private final Cache<CellDay, Entry> cache;
+    private final Counter fresh;
+    private final Counter refreshing;
+    private final Counter expired;
+    private final Counter absent;
+
+    ForecastCellCache(double cellDegrees, long maxBytes, ModelRunSchedule schedule, Duration staleMaxAge,
+                      MeterRegistry meterRegistry) {
+        this(cellDegrees, maxBytes, schedule, staleMaxAge, meterRegistry, Clock.systemUTC());
+    }
+
+    ForecastCellCache(double cellDegrees, long maxBytes, ModelRunSchedule schedule, Duration staleMaxAge,
+                      MeterRegistry meterRegistry, Clock clock) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive, got: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.schedule = schedule;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<CellDay, Entry>weigher((key, entry) -> entry.series.estimatedBytes())
+                .expireAfterWrite(staleMaxAge)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "forecast.cells");
+        this.fresh = meterRegistry.counter("forecast.cells.lookups", "result", "fresh");
+        this.refreshing = meterRegistry.counter("forecast.cells.lookups", "result", "refreshing");
+        this.expired = meterRegistry.counter("forecast.cells.lookups", "result", "expired");
+        this.absent = meterRegistry.counter("forecast.cells.lookups", "result", "absent");
+    }
+
+    CellDay keyFor(Coordinates coordinates, LocalDate date) {
+        return new CellDay(
+                (int) Math.floor(coordinates.latitude() / cellDegrees),
+                (int) Math.floor(coordinates.longitude() / cellDegrees),
+                date);
+    }
+
+    /** The point at which a cell's forecast is fetched. */
+    Coordinates centreOf(CellDay cell) {
+        double latitude = Math.min(90, (cell.latIndex() + 0.5) * cellDegrees);
+        double longitude = Math.min(180, (cell.lonIndex() + 0.5) * cellDegrees);
+        return new Coordinates(latitude, longitude);
+    }
+
+    /**
+     * The cell's forecast, FRESH if no newer model run has become available since it was
+     * fetched, or STALE if one has and a refresh pass is replacing it; else null.
+     */
+    Lookup get(CellDay key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            absent.increment();
+            return null;
+        }
+        entry.read = true;
+        if (clock.instant().isBefore(entry.validUntil)) {
+            fresh.increment();
+            return new Lookup(entry.series, ForecastStatus.FRESH);
+        }
+        if (entry.refreshing) {
+            refreshing.increment();
+            return new Lookup(entry.series, ForecastStatus.STALE);
+        }
+        expired.increment();
+        return null;
+    }
+
+    /** The last good forecast for the cell, however old (up to staleMaxAge), or null. */
+    HourlySeries getLastGood(CellDay key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.series;
+    }
+
+    void put(CellDay key, HourlySeries series) {
+        cache.put(key, new Entry(series, schedule.nextUpdateAfter(clock.instant())));
+    }
+
+    /**
+     * Claims up to {@code max} cells for a refresh pass: those whose forecast is superseded by
+     * the model update at {@code update} (or earlier) and that were read since they were
+     * fetched, skipping days that are already over. Cells nobody has asked for since the last
+     * fetch are left to expire. Claimed cells are served as STALE until put() replaces them
+     * or release() hands them back.
+     */
+    List<CellDay> claimForRefresh(Instant update, int max) {
+        // Cell days are location-local, so allow a day either side of UTC
+        LocalDate oldestWanted = LocalDate.now(clock).minusDays(1);
+        List<CellDay> claimed = new ArrayList<>();
+        for (Map.Entry<CellDay, Entry> cached : cache.asMap().entrySet()) {
+            if (claimed.size() == max) {
+                break;
+            }
+            Entry entry = cached.getValue();
+            if (entry.read && !entry.refreshing && !entry.validUntil.isAfter(update)
+                    && !cached.getKey().date().isBefore(oldestWanted)) {
+                entry.refreshing = true;
+                claimed.add(cached.getKey());
+            }
+        }
+        return claimed;
+    }
+
+    /** Ends the claims on cells a refresh pass could not fetch: they expire as usual. */
+    void release(Collection<CellDay> keys) {
+        for (CellDay key : keys) {
+            Entry entry = cache.getIfPresent(key);
+            if (entry != null) {
+                entry.refreshing = false;
+            }
+        }
+    }
+
+    /** When the first model run after {@code time} becomes available, i.e. when cached forecasts go out of date. */
+    Instant nextUpdateAfter(Instant time) {
+        return schedule.nextUpdateAfter(time);
+    }
+}
@@ -0,0 +1,51 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Consecutive hourly Open-Meteo values for one location, held as primitive arrays.
+ *
+ * Index 0 is {@code firstHour}; index i is {@code firstHour + i hours}. Times are local to the
+ * location (the API is queried with timezone=auto). Weather codes are raw WMO codes (0–99).
+ */
+record HourlySeries(
+        LocalDateTime firstHour,
+        float[] temperature,
+        float[] precipitation,
+        short[] windSpeed,
+        byte[] weatherCode
+) {
+
+    /** Rough heap footprint, used to bound the forecast cache by memory. */
+    int estimatedBytes() {
+        return 64 + size() * (Float.BYTES + Float.BYTES + Short.BYTES + Byte.BYTES);
+    }
+
+    int size() {
+        return temperature.length;
+    }
+
+    /**
+     * @return the index of the hour containing {@code time}, or -1 if it falls outside the series
+     */
+    int indexOf(LocalDateTime time) {
+        long index = ChronoUnit.HOURS.between(firstHour, time.truncatedTo(ChronoUnit.HOURS));
+        return index >= 0 && index < size() ? (int) index : -1;
+    }
+
+    /**
+     * @return the values from {@code from} (inclusive) to {@code to} (exclusive) as a new series
+     */
+    HourlySeries slice(int from, int to) {
+        float[] t = new float[to - from];
+        float[] p = new float[to - from];
+        short[] w = new short[to - from];
+        byte[] c = new byte[to - from];
+        System.arraycopy(temperature, from, t, 0, t.length);
+        System.arraycopy(precipitation, from, p, 0, p.length);
+        System.arraycopy(windSpeed, from, w, 0, w.length);
+        System.arraycopy(weatherCode, from, c, 0, c.length);
+        return new HourlySeries(firstHour.plusHours(from), t, p, w, c);
+    }
+}
@@ -0,0 +1,54 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * When new forecast model output becomes available.
+ *
+ * Open-Meteo's forecasts only change when a new run of the underlying weather models is
+ * published. The models run at fixed hours (UTC) and their output reaches the API some
+ * time later; this class approximates that as "run hour + availability delay". A forecast
+ * fetched at time t cannot change before {@link #nextUpdateAfter(Instant)}.
+ */
+class ModelRunSchedule {
+
+    private final int[] runHours;
+    private final Duration availabilityDelay;
+
+    /**
+     * @param runHoursUtc       hours of the day (UTC) at which the models start a run
+     * @param availabilityDelay time from the start of a run until its output is served
+     */
+    ModelRunSchedule(List<Integer> runHoursUtc, Duration availabilityDelay) {
+        if (runHoursUtc.isEmpty()) {
+            throw new IllegalArgumentException("At least one model run hour is required");
+        }
+        this.runHours = runHoursUtc.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        if (runHours[0] < 0 || runHours[runHours.length - 1] > 23) {
+            throw new IllegalArgumentException("Model run hours must be between 0 and 23, got: " + runHoursUtc);
+        }
+        if (availabilityDelay.isNegative()) {
+            throw new IllegalArgumentException("Availability delay must not be negative, got: " + availabilityDelay);
+        }
+        this.availabilityDelay = availabilityDelay;
+    }
+
+    /** The first time strictly after {@code time} at which a new model run becomes available. */
+    Instant nextUpdateAfter(Instant time) {
+        // The delay may push a run's availability into the following day(s), so start early enough
+        LocalDate day = time.minus(availabilityDelay).atOffset(ZoneOffset.UTC).toLocalDate().minusDays(1);
+        while (true) {
+            for (int hour : runHours) {
+                Instant available = day.atTime(hour, 0).toInstant(ZoneOffset.UTC).plus(availabilityDelay);
+                if (available.isAfter(time)) {
+                    return available;
+                }
+            }
+            day = day.plusDays(1);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming parser for Open-Meteo forecast responses.
+ *
+ * Reads the response token by token straight into HourlySeries primitive arrays, without
+ * building a JsonNode tree. Only the first timestamp of the "time" array is materialized:
+ * the hours are consecutive, so every other index is derived arithmetically and the remaining
+ * time strings are skipped without being decoded.
+ *
+ * Handles both shapes Open-Meteo returns: a single object for one location, or an array of
+ * objects (in request order) for several.
+ */
+final class OpenMeteoResponseParser {
+
+    /** The fast double parser decodes numbers from the token buffer without an intermediate String. */
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+
+    private OpenMeteoResponseParser() {}
+
+    /**
+     * @throws IllegalStateException if the response reports an error or has no hourly data
+     * @throws IOException           if the body is not valid JSON
+     */
+    static List<HourlySeries> parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_OBJECT) {
+                return List.of(parseLocation(parser));
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Unexpected Open-Meteo response start: " + first);
+            }
+            List<HourlySeries> locations = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                locations.add(parseLocation(parser));
+            }
+            return locations;
+        }
+    }
+
+    /** Parses one location object; the parser is positioned on its START_OBJECT. */
+    private static HourlySeries parseLocation(JsonParser parser) throws IOException {
+        boolean error = false;
+        String reason = "unknown";
+        HourlySeries series = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "error" -> error = value == JsonToken.VALUE_TRUE;
+                case "reason" -> reason = parser.getText();
+                case "hourly" -> series = parseHourly(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (error) {
+            throw new IllegalStateException("Open-Meteo error: " + reason);
+        }
+        if (series == null) {
+            throw new IllegalStateException("Open-Meteo response has no hourly data");
+        }
+        return series;
+    }
+
+    /** Parses the "hourly" object; the parser is positioned on its START_OBJECT. */
+    private static HourlySeries parseHourly(JsonParser parser) throws IOException {
+        LocalDateTime firstHour = null;
+        int hours = 0;
+        float[] temperature = new float[0];
+        float[] precipitation = new float[0];
+        short[] windSpeed = new short[0];
+        byte[] weatherCode = new byte[0];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken(); // START_ARRAY
+            switch (field) {
+                case "time" -> {
+                    while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                        if (hours == 0) {
+                            firstHour = LocalDateTime.parse(parser.getText());
+                        }
+                        hours++; // later timestamps are skipped undecoded
+                    }
+                }
+                case "temperature_2m" -> temperature = readFloats(parser, hours);
+                case "precipitation" -> precipitation = readFloats(parser, hours);
+                case "windspeed_10m" -> {
+                    float[] values = readFloats(parser, hours);
+                    windSpeed = new short[values.length];
+                    for (int i = 0; i < values.length; i++) windSpeed[i] = (short) values[i];
+                }
+                case "weathercode" -> {
+                    float[] values = readFloats(parser, hours);
+                    weatherCode = new byte[values.length];
+                    for (int i = 0; i < values.length; i++) weatherCode[i] = (byte) values[i];
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (firstHour == null) {
+            throw new IllegalStateException("Open-Meteo response has no hourly data");
+        }
+        return new HourlySeries(firstHour,
+                fit(temperature, hours),
+                fit(precipitation, hours),
+                windSpeed.length == hours ? windSpeed : Arrays.copyOf(windSpeed, hours),
+                weatherCode.length == hours ? weatherCode : Arrays.copyOf(weatherCode, hours));
+    }
+
+    /**
+     * Reads a numeric array (nulls become 0); the parser is positioned on its START_ARRAY.
+     * Open-Meteo sends "time" first, so {@code expected} is normally the exact length and the
+     * array is filled without resizing.
+     */
+    private static float[] readFloats(JsonParser parser, int expected) throws IOException {
+        float[] values = new float[Math.max(expected, 32)];
+        int n = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (n == values.length) {
+                values = Arrays.copyOf(values, n * 2);
+            }
+            values[n++] = token == JsonToken.VALUE_NULL ? 0f : parser.getFloatValue();
+        }
+        return fit(values, n);
+    }
+
+    private static float[] fit(float[] values, int length) {
+        return values.length == length ? values : Arrays.copyOf(values, length);
+    }
+}
@@ -1,23 +1,50 @@
 package com.routeweather.infrastructure.adapter.out.weather;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.routeweather.application.port.out.WeatherForecastPort;
 import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.ForecastStatus;
 import com.routeweather.domain.model.TimedWaypoint;
 import com.routeweather.domain.model.WeatherCondition;
 import com.routeweather.domain.model.WeatherPoint;
+import com.routeweather.infrastructure.adapter.out.resilience.CircuitBreaker;
+import com.routeweather.infrastructure.adapter.out.resilience.CircuitOpenException;
+import com.routeweather.infrastructure.adapter.out.resilience.HedgedCalls;
+import com.routeweather.infrastructure.adapter.out.weather.ForecastCellCache.CellDay;
+import com.routeweather.infrastructure.observability.UpstreamCallTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * Outbound adapter: fetches hourly weather forecasts from Open-Meteo.
@@ -26,6 +53,31 @@ import java.util.List;
  * Each waypoint receives a forecast for the hour matching its estimated arrival time,
  * so travellers see the weather they will actually encounter at each point.
  *
+ * Forecasts are fetched and cached per grid cell and day (see ForecastCellCache): Open-Meteo
+ * returns a whole day of hourly values per call, so every later waypoint, request or departure
+ * time falling in the same cell and day is answered from memory. A cached forecast stays
+ * valid until the next model run is published (see ModelRunSchedule). When each run comes
+ * out, a background pass claims the cells that were read since their last fetch and
+ * re-fetches them; requests meanwhile get the claimed cells from memory, marked STALE and
+ * counted as stale, until their replacement is stored, instead of all fetching them at once.
+ * Refresh passes are published as 'forecast.cells.refresh' (tagged outcome=refreshed|failed).
+ *
+ * When batching is enabled, uncached cells are sent in multi-location requests
+ * (comma-separated latitude/longitude lists) of at most {@code batchSize} cells, each
+ * grouping cells that need the same dates, so one far-off day does not widen every
+ * cell's download. Open-Meteo answers with one result per location, in request order.
+ * Batches run concurrently; the cells of a batch that fails are fetched one request each.
+ *
+ * Per-cell requests run concurrently on virtual threads, bounded per report and
+ * globally (see BoundedFanOut). getForecast returns results in waypoint order;
+ * streamForecast reports each waypoint as soon as its cell is available.
+ *
+ * Every upstream call goes through a circuit breaker, so a failing Open-Meteo is skipped
+ * rather than waited out, and is hedged once it runs past the recent p95 latency. A cell
+ * that cannot be fetched is answered from its last good forecast, marked STALE, or else
+ * marked UNAVAILABLE. STALE forecasts are only ever served this way or during a refresh
+ * pass, and are counted as 'forecast.cells.stale.served'.
+ *
  * API docs: https://open-meteo.com/en/docs
  * WMO weather interpretation codes: https://open-meteo.com/en/docs#weathervariables
  */
@@ -34,90 +86,418 @@ public class OpenMeteoWeatherAdapter implements WeatherForecastPort {
 
     private static final Logger log = LoggerFactory.getLogger(OpenMeteoWeatherAdapter.class);
 
+    private static final String HOURLY_VARIABLES = "temperature_2m,precipitation,windspeed_10m,weathercode";
+
+    private record Cell(int latIndex, int lonIndex) {}
+
+    /** One upstream fetch: a grid cell over a range of days. */
+    private record CellFetch(int latIndex, int lonIndex, LocalDate startDate, LocalDate endDate) {}
+
     private final String baseUrl;
+    private final boolean batchEnabled;
+    private final int batchSize;
     private final RestTemplate restTemplate;
+    private final BoundedFanOut fanOut;
+    private final ForecastCellCache cellCache;
+    private final CircuitBreaker circuitBreaker;
+    private final HedgedCalls hedgedCalls;
+    private final UpstreamCallTimer callTimer;
+    private final int refreshMaxCells;
+    private final Counter refreshed;
+    private final Counter refreshFailed;
+    private final Counter staleServed;
+    private final Clock clock;
+    private final ScheduledExecutorService refresher;
 
+    @Autowired
     public OpenMeteoWeatherAdapter(
             @Value("${external.openmeteo.base-url}") String baseUrl,
-            RestTemplate restTemplate) {
+            @Value("${external.openmeteo.batch-enabled:true}") boolean batchEnabled,
+            @Value("${external.openmeteo.batch-size:50}") int batchSize,
+            @Value("${external.openmeteo.concurrency.max-in-flight-per-request:4}") int maxInFlightPerRequest,
+            @Value("${external.openmeteo.concurrency.max-in-flight-global:32}") int maxInFlightGlobal,
+            @Value("${external.openmeteo.concurrency.call-timeout:5s}") Duration callTimeout,
+            @Value("${external.openmeteo.cache.cell-degrees:0.1}") double cellDegrees,
+            @Value("${external.openmeteo.cache.max-memory:32MB}") DataSize cacheMaxMemory,
+            @Value("${external.openmeteo.cache.stale-max-age:24h}") Duration cacheStaleMaxAge,
+            @Value("${external.openmeteo.model-runs.hours-utc:0,6,12,18}") List<Integer> modelRunHours,
+            @Value("${external.openmeteo.model-runs.availability-delay:4h}") Duration modelRunDelay,
+            @Value("${external.openmeteo.refresh.enabled:true}") boolean refreshEnabled,
+            @Value("${external.openmeteo.refresh.max-cells:500}") int refreshMaxCells,
+            @Value("${external.openmeteo.resilience.failure-threshold:5}") int failureThreshold,
+            @Value("${external.openmeteo.resilience.open-duration:30s}") Duration openDuration,
+            @Value("${external.openmeteo.resilience.hedge-min-delay:200ms}") Duration hedgeMinDelay,
+            @Qualifier("openMeteoRestTemplate") RestTemplate restTemplate,
+            MeterRegistry meterRegistry) {
+        this(baseUrl, batchEnabled, batchSize, maxInFlightPerRequest, maxInFlightGlobal, callTimeout, cellDegrees,
+                cacheMaxMemory, cacheStaleMaxAge, modelRunHours, modelRunDelay, refreshEnabled, refreshMaxCells,
+                failureThreshold, openDuration, hedgeMinDelay, restTemplate, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    OpenMeteoWeatherAdapter(
+            String baseUrl,
+            boolean batchEnabled,
+            int batchSize,
+            int maxInFlightPerRequest,
+            int maxInFlightGlobal,
+            Duration callTimeout,
+            double cellDegrees,
+            DataSize cacheMaxMemory,
+            Duration cacheStaleMaxAge,
+            List<Integer> modelRunHours,
+            Duration modelRunDelay,
+            boolean refreshEnabled,
+            int refreshMaxCells,
+            int failureThreshold,
+            Duration openDuration,
+            Duration hedgeMinDelay,
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
+            Clock clock) {
         this.baseUrl = baseUrl;
+        this.batchEnabled = batchEnabled;
+        this.batchSize = Math.max(1, batchSize);
         this.restTemplate = restTemplate;
+        this.fanOut = new BoundedFanOut(maxInFlightPerRequest, maxInFlightGlobal, callTimeout);
+        this.cellCache = new ForecastCellCache(cellDegrees, cacheMaxMemory.toBytes(),
+                new ModelRunSchedule(modelRunHours, modelRunDelay), cacheStaleMaxAge, meterRegistry, clock);
+        this.circuitBreaker = new CircuitBreaker("openmeteo", failureThreshold, openDuration, meterRegistry);
+        this.hedgedCalls = new HedgedCalls("openmeteo", hedgeMinDelay, meterRegistry);
+        this.callTimer = new UpstreamCallTimer("openmeteo", meterRegistry);
+        this.clock = clock;
+        this.refreshMaxCells = refreshMaxCells;
+        this.refreshed = meterRegistry.counter("forecast.cells.refresh", "outcome", "refreshed");
+        this.refreshFailed = meterRegistry.counter("forecast.cells.refresh", "outcome", "failed");
+        this.staleServed = meterRegistry.counter("forecast.cells.stale.served");
+        if (refreshEnabled) {
+            refresher = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("openmeteo-refresh").factory());
+            scheduleRefresh(cellCache.nextUpdateAfter(clock.instant()));
+        } else {
+            refresher = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        fanOut.close();
+        hedgedCalls.close();
     }
 
     @Override
     public List<WeatherPoint> getForecast(List<TimedWaypoint> waypoints) {
-        return waypoints.stream()
-                .map(this::fetchForecastForPoint)
-                .toList();
+        WeatherPoint[] weatherPoints = new WeatherPoint[waypoints.size()];
+        streamForecast(waypoints, (index, weatherPoint) -> weatherPoints[index] = weatherPoint);
+        return List.of(weatherPoints);
     }
 
-    private WeatherPoint fetchForecastForPoint(TimedWaypoint waypoint) {
-        Coordinates coords = waypoint.coordinates();
-        LocalDateTime arrivalDateTime = waypoint.estimatedArrival();
-        LocalDate date = arrivalDateTime.toLocalDate();
-        String dateStr = date.toString(); // YYYY-MM-DD
+    /**
+     * Cached waypoints are reported immediately; the rest as soon as their cell has been fetched.
+     */
+    @Override
+    public void streamForecast(List<TimedWaypoint> waypoints, ForecastListener listener) {
+        Map<CellDay, List<Integer>> pending = new ConcurrentHashMap<>();
+        Map<Cell, CellFetch> missing = new LinkedHashMap<>();
 
-        String url = UriComponentsBuilder
-                .fromHttpUrl(baseUrl + "/forecast")
-                .queryParam("latitude", coords.latitude())
-                .queryParam("longitude", coords.longitude())
-                .queryParam("hourly", "temperature_2m,precipitation,windspeed_10m,weathercode")
-                .queryParam("start_date", dateStr)
-                .queryParam("end_date", dateStr)
-                .queryParam("timezone", "auto")
-                .build()
-                .toUriString();
+        for (int i = 0; i < waypoints.size(); i++) {
+            TimedWaypoint waypoint = waypoints.get(i);
+            CellDay key = cellCache.keyFor(waypoint.coordinates(), waypoint.estimatedArrival().toLocalDate());
+            ForecastCellCache.Lookup cached = pending.containsKey(key) ? null : cellCache.get(key);
+            if (cached != null) {
+                if (cached.status() == ForecastStatus.STALE) {
+                    staleServed.increment();
+                }
+                listener.onWeatherPoint(i, toWeatherPoint(cached.series(), waypoint, cached.status()));
+            } else {
+                pending.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+                missing.merge(new Cell(key.latIndex(), key.lonIndex()),
+                        new CellFetch(key.latIndex(), key.lonIndex(), key.date(), key.date()),
+                        (a, b) -> new CellFetch(a.latIndex(), a.lonIndex(),
+                                min(a.startDate(), b.startDate()), max(a.endDate(), b.endDate())));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        log.debug("Forecast cells: {} waypoints, {} cells to fetch", waypoints.size(), missing.size());
+        fetchCells(List.copyOf(missing.values()), fetched -> fetched.forEach((key, series) -> {
+            cellCache.put(key, series);
+            List<Integer> indices = pending.remove(key);
+            if (indices != null) {
+                indices.forEach(i -> listener.onWeatherPoint(i, toWeatherPoint(series, waypoints.get(i), ForecastStatus.FRESH)));
+            }
+        }));
+
+        // Whatever is still pending belongs to cells that could not be fetched
+        pending.forEach((key, indices) -> {
+            HourlySeries lastGood = cellCache.getLastGood(key);
+            if (lastGood != null) {
+                staleServed.increment(indices.size());
+            }
+            indices.forEach(i -> listener.onWeatherPoint(i, lastGood == null
+                    ? WeatherPoint.unavailable(waypoints.get(i).coordinates(), waypoints.get(i).estimatedArrival())
+                    : toWeatherPoint(lastGood, waypoints.get(i), ForecastStatus.STALE)));
+        });
+    }
 
+    /** Starts the refresh pass for the model update at {@code update} as soon as the update is out. */
+    private void scheduleRefresh(Instant update) {
+        long delayMillis = Math.max(0, Duration.between(clock.instant(), update).toMillis());
+        try {
+            refresher.schedule(() -> {
+                try {
+                    refresh(update);
+                } catch (RuntimeException e) {
+                    log.warn("Forecast refresh failed: {}", e.getMessage());
+                }
+                scheduleRefresh(cellCache.nextUpdateAfter(update));
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Forecast refresher shut down");
+        }
+    }
+
+    /**
+     * One refresh pass for the model update at {@code update}, run once it is out: claims up
+     * to refreshMaxCells cells it supersedes that were read since their last fetch, then
+     * re-fetches them like any other uncached cells. Claimed cells are served from memory as
+     * STALE meanwhile; those that cannot be fetched are released to expire as usual.
+     * Returns the number of cells refreshed.
+     */
+    int refresh(Instant update) {
+        List<CellDay> due = cellCache.claimForRefresh(update, refreshMaxCells);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Map<CellDay, HourlySeries> fetched = new ConcurrentHashMap<>();
         try {
-            JsonNode response = restTemplate.getForObject(url, JsonNode.class);
+            fetchForRefresh(due, fetched);
+        } finally {
+            cellCache.release(due.stream().filter(key -> !fetched.containsKey(key)).toList());
+        }
+        int done = (int) due.stream().filter(fetched::containsKey).count();
+        refreshed.increment(done);
+        refreshFailed.increment(due.size() - done);
+        log.debug("Refreshed {} of {} forecast cells for the model update at {}", done, due.size(), update);
+        return done;
+    }
+
+    private void fetchForRefresh(List<CellDay> due, Map<CellDay, HourlySeries> fetched) {
+        Map<Cell, CellFetch> fetches = new LinkedHashMap<>();
+        for (CellDay key : due) {
+            fetches.merge(new Cell(key.latIndex(), key.lonIndex()),
+                    new CellFetch(key.latIndex(), key.lonIndex(), key.date(), key.date()),
+                    (a, b) -> new CellFetch(a.latIndex(), a.lonIndex(),
+                            min(a.startDate(), b.startDate()), max(a.endDate(), b.endDate())));
+        }
+        fetchCells(List.copyOf(fetches.values()), results -> results.forEach((key, series) -> {
+            cellCache.put(key, series);
+            fetched.put(key, series);
+        }));
+    }
 
-            if (response == null || response.path("error").asBoolean(false)) {
-                String reason = response != null ? response.path("reason").asText("unknown") : "null response";
-                log.warn("Open-Meteo error for ({},{}): {}", coords.latitude(), coords.longitude(), reason);
-                return stubWeatherPoint(coords, arrivalDateTime);
+    /**
+     * Fetches the given cells, handing each batch of results to {@code onFetched} as soon as it
+     * arrives. Every onFetched call happens before this method returns.
+     */
+    private void fetchCells(List<CellFetch> fetches, Consumer<Map<CellDay, HourlySeries>> onFetched) {
+        if (circuitBreaker.isOpen()) {
+            log.debug("Open-Meteo circuit open, not fetching {} cells", fetches.size());
+            return;
+        }
+        if (batchEnabled && fetches.size() > 1) {
+            List<CellFetch> unbatched = new CopyOnWriteArrayList<>();
+            fanOut.map(batches(fetches), batch -> {
+                try {
+                    return fetchCellsBatch(batch);
+                } catch (RestClientException | IllegalStateException e) {
+                    log.warn("Open-Meteo batch request for {} cells failed, falling back to per-cell requests: {}",
+                            batch.size(), e.getMessage());
+                    unbatched.addAll(batch);
+                    return Map.<CellDay, HourlySeries>of();
+                }
+            }, this::timedOutBatch, (batch, fetched) -> onFetched.accept(fetched));
+            if (unbatched.isEmpty() || circuitBreaker.isOpen()) {
+                return;
             }
+            fetches = List.copyOf(unbatched);
+        }
+        if (fetches.size() == 1) {
+            onFetched.accept(fetchCell(fetches.get(0)));
+            return;
+        }
+        fanOut.map(fetches, this::fetchCell, this::timedOutCell, (fetch, fetched) -> onFetched.accept(fetched));
+    }
 
-            JsonNode hourly = response.path("hourly");
-            int hourIndex = findHourIndex(hourly.path("time"), arrivalDateTime);
+    /** Groups cells needing the same dates, in batches of at most batchSize. */
+    private List<List<CellFetch>> batches(List<CellFetch> fetches) {
+        Map<List<LocalDate>, List<CellFetch>> byDates = new LinkedHashMap<>();
+        for (CellFetch fetch : fetches) {
+            byDates.computeIfAbsent(List.of(fetch.startDate(), fetch.endDate()), dates -> new ArrayList<>()).add(fetch);
+        }
+        List<List<CellFetch>> batches = new ArrayList<>();
+        for (List<CellFetch> group : byDates.values()) {
+            for (int from = 0; from < group.size(); from += batchSize) {
+                batches.add(group.subList(from, Math.min(group.size(), from + batchSize)));
+            }
+        }
+        return batches;
+    }
 
-            double temperature = hourly.path("temperature_2m").get(hourIndex).asDouble();
-            double precipitation = hourly.path("precipitation").get(hourIndex).asDouble();
-            int windSpeed = hourly.path("windspeed_10m").get(hourIndex).asInt();
-            int weatherCode = hourly.path("weathercode").get(hourIndex).asInt();
+    /**
+     * Fetches all cells in one multi-location request spanning the earliest to the latest
+     * date needed by any of them.
+     *
+     * @throws IllegalStateException if Open-Meteo reports an error or the response does not
+     *                               contain exactly one result per cell
+     */
+    private Map<CellDay, HourlySeries> fetchCellsBatch(List<CellFetch> fetches) {
+        StringJoiner latitudes = new StringJoiner(",");
+        StringJoiner longitudes = new StringJoiner(",");
+        LocalDate startDate = fetches.get(0).startDate();
+        LocalDate endDate = fetches.get(0).endDate();
+        for (CellFetch fetch : fetches) {
+            Coordinates centre = centreOf(fetch);
+            latitudes.add(String.valueOf(centre.latitude()));
+            longitudes.add(String.valueOf(centre.longitude()));
+            startDate = min(startDate, fetch.startDate());
+            endDate = max(endDate, fetch.endDate());
+        }
 
-            WeatherCondition condition = mapWeatherCode(weatherCode);
+        List<HourlySeries> locations = fetchSeries(
+                forecastUrl(latitudes.toString(), longitudes.toString(), startDate, endDate));
 
-            log.debug("Forecast ({},{}) at {}: {}°C, {}", coords.latitude(), coords.longitude(), arrivalDateTime, temperature, condition);
-            return new WeatherPoint(coords, arrivalDateTime, temperature, precipitation, windSpeed, condition);
+        // Several locations come back as a JSON array, one element per location in request order
+        if (locations.size() != fetches.size()) {
+            throw new IllegalStateException("Expected " + fetches.size() + " locations in Open-Meteo response, got "
+                    + locations.size());
+        }
 
-        } catch (RestClientException e) {
-            log.warn("Failed to fetch forecast for ({},{}): {}", coords.latitude(), coords.longitude(), e.getMessage());
-            return stubWeatherPoint(coords, arrivalDateTime);
+        Map<CellDay, HourlySeries> result = new HashMap<>();
+        for (int i = 0; i < fetches.size(); i++) {
+            splitByDay(fetches.get(i), locations.get(i), result);
         }
+        log.debug("Open-Meteo batch: {} cells, {} to {}", fetches.size(), startDate, endDate);
+        return result;
     }
 
     /**
-     * Finds the index in the hourly time array that best matches the target datetime.
+     * Fetches a single cell. Failures are logged and yield no entries, so the affected
+     * waypoints fall back to the cell's last good forecast.
+     */
+    private Map<CellDay, HourlySeries> fetchCell(CellFetch fetch) {
+        Coordinates centre = centreOf(fetch);
+        String url = forecastUrl(String.valueOf(centre.latitude()), String.valueOf(centre.longitude()),
+                fetch.startDate(), fetch.endDate());
+
+        try {
+            List<HourlySeries> locations = fetchSeries(url);
+            Map<CellDay, HourlySeries> result = new HashMap<>();
+            splitByDay(fetch, locations.get(0), result);
+            return result;
+
+        } catch (RestClientException | IllegalStateException e) {
+            log.warn("Failed to fetch forecast for ({},{}): {}", centre.latitude(), centre.longitude(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private Map<CellDay, HourlySeries> timedOutBatch(List<CellFetch> batch) {
+        log.warn("Open-Meteo batch request for {} cells timed out", batch.size());
+        return Map.of();
+    }
+
+    private Map<CellDay, HourlySeries> timedOutCell(CellFetch fetch) {
+        Coordinates centre = centreOf(fetch);
+        log.warn("Forecast for ({},{}) timed out", centre.latitude(), centre.longitude());
+        return Map.of();
+    }
+
+    private String forecastUrl(String latitudes, String longitudes, LocalDate startDate, LocalDate endDate) {
+        return UriComponentsBuilder
+                .fromHttpUrl(baseUrl + "/forecast")
+                .queryParam("latitude", latitudes)
+                .queryParam("longitude", longitudes)
+                .queryParam("hourly", HOURLY_VARIABLES)
+                .queryParam("start_date", startDate.toString()) // YYYY-MM-DD
+                .queryParam("end_date", endDate.toString())
+                .queryParam("timezone", "auto")
+                .build()
+                .toUriString();
+    }
+
+    /**
+     * Calls Open-Meteo through the circuit breaker, hedged and timed, and parses the body as it
+     * streams in (see OpenMeteoResponseParser). A hedge is charged to the call budget too.
      *
-     * Open-Meteo returns time strings in "YYYY-MM-DDTHH:mm" format. We match on the
-     * hour; if no exact match is found, the first index (midnight) is used as a fallback.
+     * @throws IllegalStateException if Open-Meteo reports an error
+     * @throws CircuitOpenException  if the circuit is open
      */
-    private int findHourIndex(JsonNode timeArray, LocalDateTime target) {
-        String targetHourStr = target.toLocalDate() + "T" + String.format("%02d:00", target.getHour());
-        for (int i = 0; i < timeArray.size(); i++) {
-            if (targetHourStr.equals(timeArray.get(i).asText())) {
-                return i;
+    private List<HourlySeries> fetchSeries(String url) {
+        BooleanSupplier budgetAllowsHedge = callTimer.extraCalls();
+        return callTimer.time(() -> circuitBreaker.call(() -> hedgedCalls.call(() -> restTemplate.execute(
+                url, HttpMethod.GET, null, response -> OpenMeteoResponseParser.parse(response.getBody())),
+                budgetAllowsHedge)));
+    }
+
+    /** Cuts a multi-day series into one cache entry per day. */
+    private void splitByDay(CellFetch fetch, HourlySeries series, Map<CellDay, HourlySeries> into) {
+        int from = 0;
+        while (from < series.size()) {
+            LocalDate date = series.firstHour().plusHours(from).toLocalDate();
+            int to = from;
+            while (to < series.size() && series.firstHour().plusHours(to).toLocalDate().equals(date)) {
+                to++;
             }
+            into.put(new CellDay(fetch.latIndex(), fetch.lonIndex(), date), series.slice(from, to));
+            from = to;
         }
-        log.warn("Could not find exact hour {} in Open-Meteo response, using index 0", targetHourStr);
-        return 0;
+    }
+
+    /**
+     * Reads the hour matching the waypoint's arrival time out of its cell's series.
+     */
+    private WeatherPoint toWeatherPoint(HourlySeries series, TimedWaypoint waypoint, ForecastStatus status) {
+        Coordinates coords = waypoint.coordinates();
+        LocalDateTime arrivalDateTime = waypoint.estimatedArrival();
+
+        int hourIndex = series.indexOf(arrivalDateTime);
+        if (hourIndex < 0) {
+            log.warn("Could not find hour {} in Open-Meteo response, using index 0", arrivalDateTime);
+            hourIndex = 0;
+        }
+
+        double temperature = series.temperature()[hourIndex];
+        double precipitation = series.precipitation()[hourIndex];
+        int windSpeed = series.windSpeed()[hourIndex];
+        WeatherCondition condition = mapWeatherCode(series.weatherCode()[hourIndex]);
+
+        log.debug("Forecast ({},{}) at {}: {}°C, {}", coords.latitude(), coords.longitude(), arrivalDateTime, temperature, condition);
+        return new WeatherPoint(coords, arrivalDateTime, temperature, precipitation, windSpeed, condition, status);
+    }
+
+    private Coordinates centreOf(CellFetch fetch) {
+        return cellCache.centreOf(new CellDay(fetch.latIndex(), fetch.lonIndex(), fetch.startDate()));
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
     }
 
     /**
      * Maps WMO weather interpretation codes to our domain WeatherCondition.
      * Full code table: https://open-meteo.com/en/docs#weathervariables
      */
-    private WeatherCondition mapWeatherCode(int code) {
+    static WeatherCondition mapWeatherCode(int code) {
         if (code == 0)                         return WeatherCondition.CLEAR;
         if (code <= 2)                         return WeatherCondition.PARTLY_CLOUDY;
         if (code == 3)                         return WeatherCondition.CLOUDY;
@@ -132,8 +512,4 @@ public class OpenMeteoWeatherAdapter implements WeatherForecastPort {
         if (code >= 95)                        return WeatherCondition.STORMY;        // thunderstorm
         return WeatherCondition.CLOUDY;
     }
-
-    private WeatherPoint stubWeatherPoint(Coordinates coords, LocalDateTime arrivalDateTime) {
-        return new WeatherPoint(coords, arrivalDateTime, 20.0, 0.0, 15, WeatherCondition.CLEAR);
-    }
 }
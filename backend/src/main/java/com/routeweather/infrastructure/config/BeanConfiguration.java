@@ -1,13 +1,44 @@
 package com.routeweather.infrastructure.config;
 
-import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.SuggestPlacesUseCase;
+import com.routeweather.application.port.out.PlaceDirectoryPort;
 import com.routeweather.application.port.out.RouteCalculatorPort;
 import com.routeweather.application.port.out.WeatherForecastPort;
+import com.routeweather.application.service.CoalescingRouteWeatherService;
+import com.routeweather.application.service.DepartureWindowService;
+import com.routeweather.application.service.PlaceSuggestionService;
+import com.routeweather.application.service.PopularRouteTracker;
 import com.routeweather.application.service.RouteWeatherService;
+import com.routeweather.application.service.WaypointSampler;
+import com.routeweather.infrastructure.adapter.out.maps.CachingGeocoder;
+import com.routeweather.infrastructure.adapter.out.maps.CachingRouteCalculator;
+import com.routeweather.infrastructure.adapter.out.maps.GazetteerGeocoder;
+import com.routeweather.infrastructure.adapter.out.maps.GazetteerImporter;
+import com.routeweather.infrastructure.adapter.out.maps.GazetteerIndex;
+import com.routeweather.infrastructure.adapter.out.maps.NominatimOsrmAdapter;
+import com.routeweather.infrastructure.adapter.out.maps.PlaceSuggestionIndex;
+import com.routeweather.infrastructure.adapter.out.maps.PlaceSuggestionRecorder;
+import com.routeweather.infrastructure.adapter.out.weather.OpenMeteoWeatherAdapter;
+import com.routeweather.infrastructure.observability.StageMetrics;
+import com.routeweather.infrastructure.observability.TimedRouteCalculator;
+import com.routeweather.infrastructure.observability.TimedWeatherForecast;
+import com.routeweather.infrastructure.scheduling.ContextPropagatingExecutorService;
+import com.routeweather.infrastructure.scheduling.PopularRouteWarmer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Central wiring configuration.
  *
@@ -18,15 +49,229 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class BeanConfiguration {
 
+    @Bean(destroyMethod = "close")
+    public UpstreamHttpClients upstreamHttpClients(MeterRegistry meterRegistry) {
+        return new UpstreamHttpClients(meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate openMeteoRestTemplate(
+            UpstreamHttpClients upstreamHttpClients,
+            @Value("${external.openmeteo.http.max-connections:32}") int maxConnections,
+            @Value("${external.openmeteo.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${external.openmeteo.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${external.openmeteo.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${external.openmeteo.http.idle-timeout:30s}") Duration idleTimeout) {
+        return upstreamHttpClients.create("openmeteo", new UpstreamHttpClients.Settings(
+                maxConnections, connectTimeout, readTimeout, poolAcquireTimeout, idleTimeout));
+    }
+
+    @Bean
+    public RestTemplate nominatimRestTemplate(
+            UpstreamHttpClients upstreamHttpClients,
+            @Value("${external.nominatim.http.max-connections:4}") int maxConnections,
+            @Value("${external.nominatim.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${external.nominatim.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${external.nominatim.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${external.nominatim.http.idle-timeout:30s}") Duration idleTimeout) {
+        return upstreamHttpClients.create("nominatim", new UpstreamHttpClients.Settings(
+                maxConnections, connectTimeout, readTimeout, poolAcquireTimeout, idleTimeout));
+    }
+
+    @Bean
+    public RestTemplate osrmRestTemplate(
+            UpstreamHttpClients upstreamHttpClients,
+            @Value("${external.osrm.http.max-connections:8}") int maxConnections,
+            @Value("${external.osrm.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${external.osrm.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${external.osrm.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${external.osrm.http.idle-timeout:30s}") Duration idleTimeout) {
+        return upstreamHttpClients.create("osrm", new UpstreamHttpClients.Settings(
+                maxConnections, connectTimeout, readTimeout, poolAcquireTimeout, idleTimeout));
+    }
+
+    @Bean
+    public StageMetrics stageMetrics(MeterRegistry meterRegistry) {
+        return new StageMetrics(meterRegistry);
+    }
+
+    /** Nominatim/OSRM behind a route cache that shares entries between nearby endpoints. */
+    @Bean
+    public CachingRouteCalculator cachingRouteCalculator(
+            NominatimOsrmAdapter nominatimOsrmAdapter,
+            @Value("${external.osrm.cache.snap-degrees:0.001}") double routeSnapDegrees,
+            @Value("${external.osrm.cache.max-entries:2000}") int routeMaxEntries,
+            @Value("${external.osrm.cache.ttl:24h}") Duration routeTtl,
+            MeterRegistry meterRegistry) {
+        return new CachingRouteCalculator(
+                nominatimOsrmAdapter,
+                routeSnapDegrees,
+                routeMaxEntries,
+                routeTtl,
+                meterRegistry);
+    }
+
+    /**
+     * The route cache behind a geocoding cache. Closing it writes the geocoding cache to its
+     * file.
+     */
+    @Bean(destroyMethod = "close")
+    public CachingGeocoder cachingGeocoder(
+            CachingRouteCalculator cachingRouteCalculator,
+            @Value("${external.nominatim.cache.max-entries:10000}") int maxEntries,
+            @Value("${external.nominatim.cache.ttl:30d}") Duration ttl,
+            @Value("${external.nominatim.cache.negative-ttl:10m}") Duration negativeTtl,
+            @Value("${external.nominatim.cache.file:}") String cacheFile,
+            @Value("${external.nominatim.cache.persist-interval:5m}") Duration persistInterval,
+            MeterRegistry meterRegistry) {
+        return new CachingGeocoder(
+                cachingRouteCalculator,
+                maxEntries,
+                ttl,
+                negativeTtl,
+                cacheFile.isBlank() ? null : Path.of(cacheFile),
+                persistInterval,
+                meterRegistry);
+    }
+
+    /**
+     * The memory-mapped place index, first (re)imported if a GeoNames dump is configured and
+     * newer. Empty when no index is configured or none has been built yet.
+     */
+    @Bean
+    public GazetteerIndex gazetteerIndex(
+            @Value("${external.gazetteer.index:}") String index,
+            @Value("${external.gazetteer.dump:}") String dump,
+            @Value("${external.gazetteer.min-population:0}") long minPopulation,
+            @Value("${external.gazetteer.preferred-countries:}") Set<String> preferredCountries) throws IOException {
+        if (index.isBlank()) {
+            return GazetteerIndex.empty();
+        }
+        Path indexFile = Path.of(index);
+        if (!dump.isBlank() && GazetteerImporter.isStale(Path.of(dump), indexFile)) {
+            GazetteerImporter.importDump(Path.of(dump), indexFile, minPopulation, preferredCountries);
+        }
+        return Files.exists(indexFile) ? GazetteerIndex.open(indexFile) : GazetteerIndex.empty();
+    }
+
+    /** Places for autocomplete: a seed list and every gazetteer place geocoded, then the gazetteer. */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PlaceSuggestionIndex placeSuggestionIndex(
+            GazetteerIndex gazetteerIndex,
+            @Value("${route-weather.suggest.seed-file:}") String seedFile,
+            @Value("${route-weather.suggest.max-entries:50000}") int maxEntries,
+            @Value("${route-weather.suggest.max-scan:2000}") int maxScan) {
+        return new PlaceSuggestionIndex(
+                gazetteerIndex, seedFile.isBlank() ? null : Path.of(seedFile), maxEntries, maxScan);
     }
 
+    /**
+     * The RouteCalculatorPort seen by the application: the local gazetteer (when it has
+     * places) in front of the caches, recording geocoded gazetteer places for autocomplete,
+     * timed as the geocode and route stages. Without a gazetteer neither decorator is
+     * installed, so autocomplete only ever suggests the seed file's places.
+     */
     @Bean
-    public GetRouteWeatherUseCase getRouteWeatherUseCase(
+    @Primary
+    public RouteCalculatorPort routeCalculatorPort(
+            CachingGeocoder cachingGeocoder,
+            GazetteerIndex gazetteerIndex,
+            PlaceSuggestionIndex placeSuggestionIndex,
+            StageMetrics stageMetrics,
+            MeterRegistry meterRegistry) {
+        RouteCalculatorPort calculator = cachingGeocoder;
+        if (gazetteerIndex.size() > 0) {
+            calculator = new GazetteerGeocoder(gazetteerIndex, calculator, meterRegistry);
+            calculator = new PlaceSuggestionRecorder(calculator, gazetteerIndex, placeSuggestionIndex);
+        }
+        return new TimedRouteCalculator(calculator, stageMetrics);
+    }
+
+    /** The WeatherForecastPort seen by the application: Open-Meteo, timed as the forecast stage. */
+    @Bean
+    @Primary
+    public WeatherForecastPort weatherForecastPort(OpenMeteoWeatherAdapter openMeteoWeatherAdapter, StageMetrics stageMetrics) {
+        return new TimedWeatherForecast(openMeteoWeatherAdapter, stageMetrics);
+    }
+
+    /**
+     * Runs the stages of the route-weather pipeline. Stages spend nearly all their time
+     * blocked on upstream HTTP calls, so one virtual thread per stage is the cheapest fit.
+     * Each stage keeps the RequestContext (priority, deadline) of the request it serves.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService routeWeatherExecutor() {
+        return new ContextPropagatingExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Samples weather waypoints on the same grid the forecast cache uses, so two waypoints
+     * never ask for the same cached cell and hour.
+     */
+    @Bean
+    public WaypointSampler waypointSampler(
+            @Value("${external.openmeteo.cache.cell-degrees:0.1}") double cellDegrees,
+            @Value("${route-weather.sampling.km-per-waypoint:25}") double kmPerWaypoint,
+            @Value("${route-weather.sampling.max-waypoints:24}") int maxWaypoints) {
+        return new WaypointSampler(cellDegrees, kmPerWaypoint, maxWaypoints);
+    }
+
+    @Bean
+    public RouteWeatherService routeWeatherService(
             RouteCalculatorPort routeCalculatorPort,
-            WeatherForecastPort weatherForecastPort) {
-        return new RouteWeatherService(routeCalculatorPort, weatherForecastPort);
+            WeatherForecastPort weatherForecastPort,
+            WaypointSampler waypointSampler,
+            ExecutorService routeWeatherExecutor,
+            @Value("${route-weather.batch.max-parallelism:8}") int batchParallelism) {
+        return new RouteWeatherService(
+                routeCalculatorPort, weatherForecastPort, waypointSampler, routeWeatherExecutor, batchParallelism);
+    }
+
+    @Bean
+    public DepartureWindowService departureWindowService(
+            RouteCalculatorPort routeCalculatorPort,
+            WeatherForecastPort weatherForecastPort,
+            WaypointSampler waypointSampler,
+            ExecutorService routeWeatherExecutor) {
+        return new DepartureWindowService(routeCalculatorPort, weatherForecastPort, waypointSampler, routeWeatherExecutor);
+    }
+
+    @Bean
+    public SuggestPlacesUseCase suggestPlacesUseCase(
+            PlaceDirectoryPort placeDirectoryPort,
+            @Value("${route-weather.suggest.min-prefix-length:2}") int minPrefixLength,
+            @Value("${route-weather.suggest.max-limit:20}") int maxLimit) {
+        return new PlaceSuggestionService(placeDirectoryPort, minPrefixLength, maxLimit);
+    }
+
+    /**
+     * The non-streaming use case counts route popularity, then goes through request
+     * coalescing; the streaming one (StreamRouteWeatherUseCase) is served by
+     * RouteWeatherService directly.
+     */
+    @Bean
+    @Primary
+    public PopularRouteTracker getRouteWeatherUseCase(
+            RouteWeatherService routeWeatherService,
+            @Value("${route-weather.coalescing.reuse-window:0s}") Duration reuseWindow,
+            @Value("${route-weather.warming.sketch-width:4096}") int sketchWidth,
+            @Value("${route-weather.warming.tracked-routes:256}") int trackedRoutes) {
+        return new PopularRouteTracker(
+                new CoalescingRouteWeatherService(routeWeatherService, reuseWindow), sketchWidth, trackedRoutes);
+    }
+
+    /** Refreshes the most requested routes in the background, within an upstream call budget. */
+    @Bean(destroyMethod = "close")
+    public PopularRouteWarmer popularRouteWarmer(
+            PopularRouteTracker getRouteWeatherUseCase,
+            RouteWeatherService routeWeatherService,
+            @Value("${route-weather.warming.top-routes:30}") int topRoutes,
+            @Value("${route-weather.warming.days-ahead:3}") int daysAhead,
+            @Value("${route-weather.warming.call-budget:200}") int callBudget,
+            @Value("${route-weather.warming.query-deadline:60s}") Duration queryDeadline,
+            @Value("${route-weather.warming.interval:15m}") Duration interval,
+            MeterRegistry meterRegistry) {
+        return new PopularRouteWarmer(getRouteWeatherUseCase, routeWeatherService,
+                topRoutes, daysAhead, callBudget, queryDeadline, interval, meterRegistry);
     }
 }
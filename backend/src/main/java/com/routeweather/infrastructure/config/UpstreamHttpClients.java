@@ -0,0 +1,92 @@
+package com.routeweather.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Builds one pooled Apache HttpClient per upstream API, each behind its own RestTemplate.
+ *
+ * Every client keeps its connections alive between calls, so the TCP and TLS handshake is
+ * paid once per connection rather than once per call, and a slow upstream can only exhaust
+ * its own pool. All waits are bounded: connecting, reading, and waiting for a free pooled
+ * connection. Responses are requested gzip/deflate-compressed and decompressed transparently.
+ *
+ * Pool statistics are published per upstream as httpcomponents.httpclient.pool.* meters,
+ * tagged httpclient=&lt;upstream&gt;.
+ */
+public class UpstreamHttpClients implements AutoCloseable {
+
+    /**
+     * @param maxConnections     pooled connections to the upstream (all calls go to one host)
+     * @param connectTimeout     TCP connect, including the TLS handshake
+     * @param readTimeout        longest wait for the response to start or for the next bytes of it
+     * @param poolAcquireTimeout longest wait for a free connection when all are in use
+     * @param idleTimeout        idle connections are closed after this long
+     */
+    public record Settings(
+            int maxConnections,
+            Duration connectTimeout,
+            Duration readTimeout,
+            Duration poolAcquireTimeout,
+            Duration idleTimeout) {}
+
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+
+    public UpstreamHttpClients(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param upstream short name of the upstream API, used as the metrics tag
+     */
+    public RestTemplate create(String upstream, Settings settings) {
+        if (settings.maxConnections() < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 1, got: " + settings.maxConnections());
+        }
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(settings.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(settings.readTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        // Content compression (Accept-Encoding plus transparent decoding) is on by default
+        CloseableHttpClient client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(settings.poolAcquireTimeout()))
+                        .setResponseTimeout(Timeout.of(settings.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(settings.idleTimeout()))
+                .build();
+        clients.add(client);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, upstream).bindTo(meterRegistry);
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(client));
+    }
+
+    @Override
+    public void close() {
+        clients.forEach(client -> client.close(CloseMode.GRACEFUL));
+    }
+}
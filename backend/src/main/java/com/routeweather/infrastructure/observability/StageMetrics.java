@@ -0,0 +1,54 @@
+package com.routeweather.infrastructure.observability;
+
+import com.routeweather.infrastructure.scheduling.RequestContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times the stages of serving a request (geocode, route, forecast, map, serialize).
+ *
+ * Each stage is published as the 'route.weather.stage' timer, tagged stage=&lt;name&gt;, with a
+ * percentile histogram, and added to the current request's StageTimings if it has one.
+ */
+public class StageMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String stage, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void time(String stage, Runnable call) {
+        time(stage, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public void record(String stage, long nanos) {
+        timers.computeIfAbsent(stage, name -> Timer.builder("route.weather.stage")
+                        .tag("stage", name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        StageTimings timings = RequestContext.current().timings();
+        if (timings != null) {
+            timings.record(stage, nanos);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.routeweather.infrastructure.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Time one request has spent in each stage so far, for its Server-Timing response header.
+ *
+ * Stages and upstream calls are recorded from whichever thread runs them (see
+ * RequestContext). Time is summed per stage, so stages that run in parallel (both
+ * geocodes, concurrent forecast calls) can add up to more than the request's total.
+ */
+public final class StageTimings {
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> nanosByStage = new LinkedHashMap<>();
+    private long responseWriteStartNanos;
+
+    public synchronized void record(String stage, long nanos) {
+        nanosByStage.merge(stage, nanos, Long::sum);
+    }
+
+    /** Marks the start of response serialization, which the header itself cannot include. */
+    public synchronized void markResponseWrite() {
+        responseWriteStartNanos = System.nanoTime();
+    }
+
+    /** Nanoseconds since markResponseWrite, or -1 if the response body was never written. */
+    public synchronized long nanosSinceResponseWrite() {
+        return responseWriteStartNanos == 0 ? -1 : System.nanoTime() - responseWriteStartNanos;
+    }
+
+    /** e.g. {@code geocode;dur=12.4, route;dur=80.1, total;dur=95.0}, durations in milliseconds. */
+    public synchronized String toHeaderValue() {
+        StringJoiner header = new StringJoiner(", ");
+        nanosByStage.forEach((stage, nanos) -> header.add(entry(stage, nanos)));
+        header.add(entry("total", System.nanoTime() - startNanos));
+        return header.toString();
+    }
+
+    private static String entry(String stage, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.1f", stage, nanos / 1e6);
+    }
+}
@@ -0,0 +1,30 @@
+package com.routeweather.infrastructure.observability;
+
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.RouteDetails;
+
+/**
+ * Decorator recording the geocode and route stages as the application sees them, cache
+ * hits included. The upstream calls behind them are timed by the adapter itself.
+ */
+public class TimedRouteCalculator implements RouteCalculatorPort {
+
+    private final RouteCalculatorPort delegate;
+    private final StageMetrics stageMetrics;
+
+    public TimedRouteCalculator(RouteCalculatorPort delegate, StageMetrics stageMetrics) {
+        this.delegate = delegate;
+        this.stageMetrics = stageMetrics;
+    }
+
+    @Override
+    public Coordinates geocode(String placeName) {
+        return stageMetrics.time("geocode", () -> delegate.geocode(placeName));
+    }
+
+    @Override
+    public RouteDetails calculateRoute(Coordinates origin, Coordinates destination) {
+        return stageMetrics.time("route", () -> delegate.calculateRoute(origin, destination));
+    }
+}
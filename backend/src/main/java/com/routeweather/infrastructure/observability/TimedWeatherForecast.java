@@ -0,0 +1,32 @@
+package com.routeweather.infrastructure.observability;
+
+import com.routeweather.application.port.out.WeatherForecastPort;
+import com.routeweather.domain.model.TimedWaypoint;
+import com.routeweather.domain.model.WeatherPoint;
+
+import java.util.List;
+
+/**
+ * Decorator recording the forecast stage as the application sees it, cache hits
+ * included. A streamed forecast counts until its last waypoint has been reported.
+ */
+public class TimedWeatherForecast implements WeatherForecastPort {
+
+    private final WeatherForecastPort delegate;
+    private final StageMetrics stageMetrics;
+
+    public TimedWeatherForecast(WeatherForecastPort delegate, StageMetrics stageMetrics) {
+        this.delegate = delegate;
+        this.stageMetrics = stageMetrics;
+    }
+
+    @Override
+    public List<WeatherPoint> getForecast(List<TimedWaypoint> waypoints) {
+        return stageMetrics.time("forecast", () -> delegate.getForecast(waypoints));
+    }
+
+    @Override
+    public void streamForecast(List<TimedWaypoint> waypoints, ForecastListener listener) {
+        stageMetrics.time("forecast", () -> delegate.streamForecast(waypoints, listener));
+    }
+}
@@ -0,0 +1,92 @@
+package com.routeweather.infrastructure.observability;
+
+import com.routeweather.infrastructure.adapter.out.resilience.CircuitOpenException;
+import com.routeweather.infrastructure.scheduling.CallBudget;
+import com.routeweather.infrastructure.scheduling.RequestContext;
+import com.routeweather.infrastructure.scheduling.SchedulerRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Times the calls an adapter makes to one upstream API, including time queued in its
+ * scheduler and any hedged attempt.
+ *
+ * Published as the 'upstream.call' timer with a percentile histogram, tagged
+ * upstream=&lt;name&gt; and outcome (success, client_error, server_error, io_error,
+ * circuit_open, rejected or error), and added to the current request's StageTimings under
+ * the upstream's name.
+ *
+ * Every upstream call passes through here, so this is also where the current context's
+ * CallBudget (if any) is charged: once it is spent, calls are rejected without reaching the
+ * upstream, with a SchedulerRejectedException recorded as outcome 'rejected'. A hedged
+ * attempt is charged as one more call through extraCalls().
+ */
+public class UpstreamCallTimer {
+
+    private final String upstream;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public UpstreamCallTimer(String upstream, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            CallBudget budget = RequestContext.current().budget();
+            if (budget != null && !budget.tryAcquire()) {
+                throw new SchedulerRejectedException(upstream + ": call budget exhausted");
+            }
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            record(outcome, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * A check that charges one extra request within a call (a hedged attempt) to the current
+     * context's CallBudget, false once it is spent. Taken on the calling thread, since the
+     * request itself may be sent from a thread without the context.
+     */
+    public BooleanSupplier extraCalls() {
+        CallBudget budget = RequestContext.current().budget();
+        return () -> budget == null || budget.tryAcquire();
+    }
+
+    private void record(String outcome, long nanos) {
+        timers.computeIfAbsent(outcome, name -> Timer.builder("upstream.call")
+                        .tag("upstream", upstream)
+                        .tag("outcome", name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        StageTimings timings = RequestContext.current().timings();
+        if (timings != null) {
+            timings.record(upstream, nanos);
+        }
+    }
+
+    static String outcome(RuntimeException e) {
+        if (e instanceof CircuitOpenException) return "circuit_open";
+        if (e instanceof SchedulerRejectedException) return "rejected";
+        if (e instanceof HttpClientErrorException) return "client_error";
+        if (e instanceof HttpServerErrorException) return "server_error";
+        if (e instanceof ResourceAccessException) return "io_error";
+        return "error";
+    }
+}
@@ -0,0 +1,37 @@
+package com.routeweather.infrastructure.scheduling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed number of upstream calls that background work may spend, shared by every thread
+ * working under the RequestContext that carries it. Charged by UpstreamCallTimer.
+ */
+public final class CallBudget {
+
+    private final AtomicInteger remaining;
+
+    public CallBudget(int calls) {
+        this.remaining = new AtomicInteger(calls);
+    }
+
+    /** Takes one call from the budget; false (and nothing taken) once it is spent. */
+    public boolean tryAcquire() {
+        while (true) {
+            int left = remaining.get();
+            if (left <= 0) {
+                return false;
+            }
+            if (remaining.compareAndSet(left, left - 1)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isExhausted() {
+        return remaining.get() <= 0;
+    }
+
+    public int remaining() {
+        return Math.max(0, remaining.get());
+    }
+}
@@ -0,0 +1,14 @@
+package com.routeweather.infrastructure.scheduling;
+
+/**
+ * Who an upstream call is for, highest priority first.
+ *
+ * INTERACTIVE: a user is waiting on the result
+ * BATCH:       part of a batch request; the caller expects it to take a while
+ * WARMUP:      speculative cache warming; runs only when nothing else is waiting
+ */
+public enum CallPriority {
+    INTERACTIVE,
+    BATCH,
+    WARMUP
+}
@@ -0,0 +1,151 @@
+package com.routeweather.infrastructure.scheduling;
+
+import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.service.PopularRouteTracker;
+import com.routeweather.application.service.PopularRouteTracker.PopularRoute;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the route and forecast caches warm for the most requested routes.
+ *
+ * Every {@code interval} it asks the route-weather use case for the top routes of the
+ * PopularRouteTracker on each of the next {@code daysAhead} days, at their usual departure
+ * hour, so the routes, geocodes and forecast cells they need are already cached when users
+ * ask. Departures that have already passed are skipped.
+ *
+ * The calls run at WARMUP priority, so the upstream schedulers start them only when no user
+ * request is waiting, and share one CallBudget per pass: once {@code callBudget} upstream
+ * calls have been made, the pass stops. Cache hits cost nothing, so a pass over routes that
+ * are still warm is nearly free. Popularity counts are halved after each pass, so the top
+ * routes follow current demand.
+ *
+ * Published as 'route.warmer.queries' (tagged outcome=warmed|failed) and
+ * 'route.warmer.budget.exhausted'.
+ */
+public class PopularRouteWarmer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularRouteWarmer.class);
+
+    private final PopularRouteTracker tracker;
+    private final GetRouteWeatherUseCase routeWeather;
+    private final int topRoutes;
+    private final int daysAhead;
+    private final int callBudget;
+    private final Duration queryDeadline;
+    private final Clock clock;
+    private final Counter warmed;
+    private final Counter failed;
+    private final Counter budgetExhausted;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param routeWeather  the use case to warm through; pass the undecorated service, so
+     *                      warming neither counts as demand nor waits behind coalesced calls
+     * @param queryDeadline how long one warming query may take
+     * @param interval      time between passes; zero disables warming
+     */
+    public PopularRouteWarmer(
+            PopularRouteTracker tracker,
+            GetRouteWeatherUseCase routeWeather,
+            int topRoutes,
+            int daysAhead,
+            int callBudget,
+            Duration queryDeadline,
+            Duration interval,
+            MeterRegistry meterRegistry) {
+        this(tracker, routeWeather, topRoutes, daysAhead, callBudget, queryDeadline, interval, meterRegistry,
+                Clock.systemDefaultZone());
+    }
+
+    PopularRouteWarmer(
+            PopularRouteTracker tracker,
+            GetRouteWeatherUseCase routeWeather,
+            int topRoutes,
+            int daysAhead,
+            int callBudget,
+            Duration queryDeadline,
+            Duration interval,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.tracker = tracker;
+        this.routeWeather = routeWeather;
+        this.topRoutes = topRoutes;
+        this.daysAhead = daysAhead;
+        this.callBudget = callBudget;
+        this.queryDeadline = queryDeadline;
+        this.clock = clock;
+        this.warmed = meterRegistry.counter("route.warmer.queries", "outcome", "warmed");
+        this.failed = meterRegistry.counter("route.warmer.queries", "outcome", "failed");
+        this.budgetExhausted = meterRegistry.counter("route.warmer.budget.exhausted");
+        if (interval.isZero()) {
+            scheduler = null;
+        } else {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("popular-route-warmer").factory());
+            scheduler.scheduleWithFixedDelay(this::warmSafely,
+                    interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** One warming pass. Returns the number of queries answered. */
+    int warm() {
+        CallBudget budget = new CallBudget(callBudget);
+        LocalDateTime now = LocalDateTime.now(clock);
+        int answered = 0;
+        int attempted = 0;
+        routes:
+        for (PopularRoute route : tracker.topRoutes(topRoutes)) {
+            for (int day = 0; day < daysAhead; day++) {
+                LocalDate date = now.toLocalDate().plusDays(day);
+                if (LocalDateTime.of(date, route.departureHour()).isBefore(now)) {
+                    continue;
+                }
+                if (budget.isExhausted()) {
+                    budgetExhausted.increment();
+                    break routes;
+                }
+                attempted++;
+                RequestContext context = new RequestContext(
+                        CallPriority.WARMUP, clock.instant().plus(queryDeadline), null, budget);
+                try (RequestContext.Scope ignored = RequestContext.open(context)) {
+                    routeWeather.getWeatherForRoute(route.on(date));
+                    warmed.increment();
+                    answered++;
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.debug("Could not warm {} -> {} on {}: {}", route.origin(), route.destination(), date, e.getMessage());
+                }
+            }
+        }
+        tracker.decay();
+        log.debug("Warmed {} of {} popular route queries using {} of {} upstream calls",
+                answered, attempted, callBudget - budget.remaining(), callBudget);
+        return answered;
+    }
+
+    private void warmSafely() {
+        try {
+            warm();
+        } catch (RuntimeException e) {
+            log.warn("Popular route warming failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.routeweather.infrastructure.scheduling;
+
+import com.routeweather.infrastructure.observability.StageTimings;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Priority and deadline of the request the current thread is working for.
+ *
+ * Set by the inbound adapter when a request starts and read by UpstreamScheduler when an
+ * outbound call is made. It is held in a thread-local, so work handed to another thread
+ * keeps it only through ContextPropagatingExecutorService.
+ *
+ * deadline: when the caller stops waiting, or null for no deadline
+ * timings:  where the request's stage timings are collected, or null when nobody reports them
+ * budget:   upstream calls the work may still make, or null for no limit
+ */
+public record RequestContext(CallPriority priority, Instant deadline, StageTimings timings, CallBudget budget) {
+
+    /** Used when no request has set a context: interactive, no deadline, no timings, no budget. */
+    public static final RequestContext DEFAULT = new RequestContext(CallPriority.INTERACTIVE, null, null);
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    /** A context without a call budget. */
+    public RequestContext(CallPriority priority, Instant deadline, StageTimings timings) {
+        this(priority, deadline, timings, null);
+    }
+
+    /** Restores the previous context when closed. */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static RequestContext current() {
+        RequestContext context = CURRENT.get();
+        return context == null ? DEFAULT : context;
+    }
+
+    /**
+     * Makes a context with the given priority and a deadline {@code timeout} from now current
+     * until the returned scope is closed. Stage timings and call budget stay the current context's.
+     */
+    public static Scope open(CallPriority priority, Duration timeout) {
+        RequestContext current = current();
+        return open(new RequestContext(priority, Instant.now().plus(timeout), current.timings(), current.budget()));
+    }
+
+    public static Scope open(RequestContext context) {
+        RequestContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /** Time left until the deadline (negative once passed), or null for no deadline. */
+    public Duration remaining() {
+        return deadline == null ? null : Duration.between(Instant.now(), deadline);
+    }
+}
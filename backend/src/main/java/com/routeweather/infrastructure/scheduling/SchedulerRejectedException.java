@@ -0,0 +1,16 @@
+package com.routeweather.infrastructure.scheduling;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown instead of queueing an upstream call that could not start before the request's
+ * deadline, or when the deadline passes while the call is still queued.
+ *
+ * A RestClientException, so adapters handle it like any other failed upstream call.
+ */
+public class SchedulerRejectedException extends RestClientException {
+
+    public SchedulerRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,277 @@
+package com.routeweather.infrastructure.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Paces the calls to one upstream API to a fixed rate.
+ *
+ *  - Token bucket: at most {@code permitsPerSecond} calls start per second on average, with
+ *    bursts of up to {@code burst}
+ *  - Queue: waiting calls start in priority order (see CallPriority), first come first served
+ *    within a priority
+ *  - Deduplication: a call whose key matches one already queued or running does not queue
+ *    again; it waits for that call's result, and raises the queued call to its own priority
+ *    if that is higher
+ *  - Deadlines: if the call could not start before the current RequestContext's deadline at
+ *    the present queue depth, it is rejected at once instead of queueing. A caller whose
+ *    deadline passes while waiting gets SchedulerRejectedException, and a queued call whose
+ *    callers have all given up is dropped without spending a token
+ *
+ * Publishes upstream.scheduler.queue.depth, upstream.scheduler.wait (time from queueing to
+ * start, tagged by priority), upstream.scheduler.rejected and upstream.scheduler.deduplicated,
+ * all tagged upstream=&lt;name&gt;.
+ */
+public class UpstreamScheduler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamScheduler.class);
+
+    /** One queued or running call, shared by every caller with the same key. */
+    private static final class Pending implements Comparable<Pending> {
+        final Object key;
+        final Supplier<?> call;
+        CallPriority priority;    // guarded by the scheduler; only changed while out of the queue
+        final long sequence;
+        final long enqueuedAtNanos = System.nanoTime();
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        Instant latestDeadline;   // guarded by the scheduler; null once any caller has no deadline
+
+        Pending(Object key, Supplier<?> call, RequestContext context, long sequence) {
+            this.key = key;
+            this.call = call;
+            this.priority = context.priority();
+            this.sequence = sequence;
+            this.latestDeadline = context.deadline();
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final String upstream;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final PriorityBlockingQueue<Pending> queue = new PriorityBlockingQueue<>();
+    private final Map<Object, Pending> byKey = new HashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+    private final Map<CallPriority, Timer> waitTimers = new EnumMap<>(CallPriority.class);
+    private final Counter rejected;
+    private final Counter deduplicated;
+
+    private long sequence;
+    private double tokens;
+    private boolean tokenHeld;   // the dispatcher has taken a token and is waiting for a call
+    private long refilledAtNanos = System.nanoTime();
+
+    public UpstreamScheduler(String upstream, double permitsPerSecond, int burst, MeterRegistry meterRegistry) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.upstream = upstream;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        for (CallPriority priority : CallPriority.values()) {
+            waitTimers.put(priority, Timer.builder("upstream.scheduler.wait")
+                    .tag("upstream", upstream)
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.rejected = Counter.builder("upstream.scheduler.rejected").tag("upstream", upstream).register(meterRegistry);
+        this.deduplicated = Counter.builder("upstream.scheduler.deduplicated").tag("upstream", upstream).register(meterRegistry);
+        Gauge.builder("upstream.scheduler.queue.depth", queue, PriorityBlockingQueue::size)
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        this.dispatcher = Thread.ofVirtual().name(upstream + "-scheduler").start(this::dispatch);
+    }
+
+    /**
+     * Runs {@code call} once the rate limit and the queue allow, with the priority and
+     * deadline of the current RequestContext.
+     *
+     * @param key identifies the call for deduplication; callers sharing a key must expect the
+     *            same result type
+     * @throws SchedulerRejectedException if the call cannot start, or has not finished, before
+     *                                    the deadline
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(Object key, Supplier<T> call) {
+        RequestContext context = RequestContext.current();
+        Duration remaining = context.remaining();
+        Pending pending;
+        synchronized (this) {
+            pending = byKey.get(key);
+            if (pending != null) {
+                deduplicated.increment();
+                pending.latestDeadline = later(pending.latestDeadline, context.deadline());
+                raise(pending, context.priority());
+            } else {
+                Duration predicted = predictedWait(context.priority());
+                if (remaining != null && predicted.compareTo(remaining) > 0) {
+                    rejected.increment();
+                    throw new SchedulerRejectedException(String.format(
+                            "%s call would wait ~%d ms, %d ms left before the request deadline",
+                            upstream, predicted.toMillis(), Math.max(0, remaining.toMillis())));
+                }
+                pending = new Pending(key, call, context, sequence++);
+                byKey.put(key, pending);
+                queue.add(pending);
+            }
+        }
+
+        try {
+            return (T) (remaining == null
+                    ? pending.result.get()
+                    : pending.result.get(Math.max(0, remaining.toNanos()), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            rejected.increment();
+            throw new SchedulerRejectedException(upstream + " call did not finish before the request deadline");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + upstream, e);
+        }
+    }
+
+    /**
+     * Takes a token for one extra request made by a call that is already running, such as a
+     * hedged attempt, without queueing. Returns false, taking nothing, unless a token is free
+     * and no call is waiting for one.
+     */
+    public synchronized boolean tryAcquireExtra() {
+        refill();
+        if (tokens >= 1 && queue.isEmpty()) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        dispatcher.interrupt();
+        executor.close();
+        synchronized (this) {
+            SchedulerRejectedException closed = new SchedulerRejectedException(upstream + " scheduler is shut down");
+            byKey.values().forEach(pending -> pending.result.completeExceptionally(closed));
+            byKey.clear();
+            queue.clear();
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                awaitToken();
+                Pending next = takeLive();
+                synchronized (this) {
+                    tokenHeld = false;
+                }
+                waitTimers.get(next.priority).record(System.nanoTime() - next.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+                executor.execute(() -> run(next));
+            }
+        } catch (InterruptedException e) {
+            log.debug("{} scheduler stopped", upstream);
+        }
+    }
+
+    private void run(Pending pending) {
+        try {
+            pending.result.complete(pending.call.get());
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                byKey.remove(pending.key, pending);
+            }
+        }
+    }
+
+    /**
+     * Moves a queued call up to {@code priority} if that is higher than its own. The queue
+     * orders by priority on insertion, so the call is taken out and put back. A call the
+     * dispatcher has already taken is left alone. Caller holds the scheduler's lock.
+     */
+    private void raise(Pending pending, CallPriority priority) {
+        if (priority.compareTo(pending.priority) < 0 && queue.remove(pending)) {
+            pending.priority = priority;
+            queue.add(pending);
+        }
+    }
+
+    /** Takes the next call that some caller is still waiting for. */
+    private Pending takeLive() throws InterruptedException {
+        while (true) {
+            Pending next = queue.take();
+            synchronized (this) {
+                if (next.latestDeadline == null || Instant.now().isBefore(next.latestDeadline)) {
+                    return next;
+                }
+                byKey.remove(next.key, next);
+            }
+            next.result.completeExceptionally(
+                    new SchedulerRejectedException(upstream + " call expired in the queue"));
+        }
+    }
+
+    /** Blocks until a token is available, then takes it. */
+    private void awaitToken() throws InterruptedException {
+        while (true) {
+            long sleepNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    tokenHeld = true;
+                    return;
+                }
+                sleepNanos = (long) ((1 - tokens) / permitsPerSecond * 1e9);
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(sleepNanos, 1_000_000));
+        }
+    }
+
+    /** Estimated time before a new call of this priority would start. */
+    private Duration predictedWait(CallPriority priority) {
+        refill();
+        long ahead = queue.stream().filter(p -> p.priority.compareTo(priority) <= 0).count();
+        double missing = ahead + 1 - tokens - (tokenHeld ? 1 : 0);
+        return missing <= 0 ? Duration.ZERO : Duration.ofNanos((long) (missing / permitsPerSecond * 1e9));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAtNanos) / 1e9 * permitsPerSecond);
+        refilledAtNanos = now;
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return a == null || b == null ? null : (a.isAfter(b) ? a : b);
+    }
+}
@@ -0,0 +1,109 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.domain.exception.RouteNotFoundException;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.Polyline;
+import com.routeweather.domain.model.Route;
+import com.routeweather.domain.model.RouteGeometry;
+import com.routeweather.domain.model.RouteWeatherReport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingRouteWeatherServiceTest {
+
+    private static final RouteWeatherQuery QUERY =
+            new RouteWeatherQuery("Madrid", "Barcelona", LocalDate.of(2026, 3, 1), LocalTime.of(9, 0));
+
+    @Test
+    void concurrentIdenticalQueriesShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        GetRouteWeatherUseCase slow = query -> {
+            computations.incrementAndGet();
+            await(release);
+            return report();
+        };
+        CoalescingRouteWeatherService service = new CoalescingRouteWeatherService(slow, Duration.ZERO);
+
+        List<Future<RouteWeatherReport>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> service.getWeatherForRoute(QUERY)));
+            }
+            Thread.sleep(100); // let every caller join the in-flight computation
+            release.countDown();
+        }
+
+        RouteWeatherReport first = results.get(0).get();
+        for (Future<RouteWeatherReport> result : results) {
+            assertThat(result.get()).isSameAs(first);
+        }
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void failuresAreSharedButNeverReused() {
+        AtomicInteger computations = new AtomicInteger();
+        GetRouteWeatherUseCase failing = query -> {
+            computations.incrementAndGet();
+            throw new RouteNotFoundException("Place not found: Madrid");
+        };
+        CoalescingRouteWeatherService service = new CoalescingRouteWeatherService(failing, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> service.getWeatherForRoute(QUERY)).isInstanceOf(RouteNotFoundException.class);
+        assertThatThrownBy(() -> service.getWeatherForRoute(QUERY)).isInstanceOf(RouteNotFoundException.class);
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void completedResultIsReusedOnlyWithinTheWindow() {
+        AtomicInteger computations = new AtomicInteger();
+        AtomicLong now = new AtomicLong();
+        GetRouteWeatherUseCase counting = query -> {
+            computations.incrementAndGet();
+            return report();
+        };
+        CoalescingRouteWeatherService service =
+                new CoalescingRouteWeatherService(counting, Duration.ofSeconds(10), now::get);
+
+        RouteWeatherReport first = service.getWeatherForRoute(QUERY);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(service.getWeatherForRoute(QUERY)).isSameAs(first);
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(service.getWeatherForRoute(QUERY)).isNotSameAs(first);
+        assertThat(computations).hasValue(2);
+    }
+
+    private static RouteWeatherReport report() {
+        Coordinates madrid = new Coordinates(40.4168, -3.7038);
+        Coordinates barcelona = new Coordinates(41.3851, 2.1734);
+        Route route = new Route("Madrid", "Barcelona", madrid, barcelona, QUERY.travelDate(), QUERY.departureTime());
+        return new RouteWeatherReport(route, List.of(), RouteGeometry.of(Polyline.of(List.of(madrid, barcelona))));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
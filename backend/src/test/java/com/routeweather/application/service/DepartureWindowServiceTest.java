@@ -0,0 +1,183 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.in.DepartureWindowQuery;
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.application.port.out.WeatherForecastPort;
+import com.routeweather.domain.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DepartureWindowServiceTest {
+
+    @Mock private RouteCalculatorPort routeCalculatorPort;
+    @Mock private WeatherForecastPort weatherForecastPort;
+
+    private final Coordinates madrid    = new Coordinates(40.4168, -3.7038);
+    private final Coordinates barcelona = new Coordinates(41.3851, 2.1734);
+
+    @Test
+    void rankDepartures_routesOnceForecastsOnceAndRanksDriestFirst() {
+        DepartureWindowService service = newService();
+        DepartureWindowQuery query = new DepartureWindowQuery("Madrid", "Barcelona", LocalDate.of(2026, 3, 1),
+                LocalTime.of(8, 0), LocalTime.of(10, 0), Duration.ofHours(1));
+
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(madrid);
+        when(routeCalculatorPort.geocode("Barcelona")).thenReturn(barcelona);
+        when(routeCalculatorPort.calculateRoute(madrid, barcelona)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(madrid, barcelona))), null, 3600.0));
+        // Rain everywhere at 09:00, dry otherwise
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> {
+            List<TimedWaypoint> waypoints = invocation.getArgument(0);
+            return waypoints.stream().map(w -> w.estimatedArrival().getHour() == 9
+                    ? new WeatherPoint(w.coordinates(), w.estimatedArrival(), 10.0, 3.0, 20, WeatherCondition.RAINY)
+                    : new WeatherPoint(w.coordinates(), w.estimatedArrival(), 10.0, 0.0, 20, WeatherCondition.CLEAR))
+                    .toList();
+        });
+
+        List<DepartureOption> options = service.rankDepartures(query);
+
+        // 08:00 arrives in the rain and 09:00 leaves in it; only 10:00 stays dry
+        assertThat(options).extracting(o -> o.departure().toLocalTime())
+                .containsExactly(LocalTime.of(10, 0), LocalTime.of(8, 0), LocalTime.of(9, 0));
+        assertThat(options.get(0).score()).isZero();
+        assertThat(options.get(0).arrival()).isEqualTo(LocalDateTime.of(2026, 3, 1, 11, 0));
+        assertThat(options.get(1).worstCondition()).isEqualTo(WeatherCondition.RAINY);
+        assertThat(options.get(1).totalPrecipitationMm()).isEqualTo(3.0);
+
+        verify(routeCalculatorPort, times(1)).calculateRoute(madrid, barcelona);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TimedWaypoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(weatherForecastPort, times(1)).getForecast(captor.capture());
+        // Three departures × two waypoints, all in distinct (cell, hour) pairs
+        assertThat(captor.getValue()).hasSize(6);
+    }
+
+    @Test
+    void rankDepartures_geocodesBothPlacesInParallelAndUsesChosenCoordinates() {
+        DepartureWindowService service = newService();
+        CountDownLatch bothGeocoding = new CountDownLatch(2);
+        when(routeCalculatorPort.geocode("Madrid")).thenAnswer(invocation -> {
+            bothGeocoding.countDown();
+            // Only completes once the other geocode is running too
+            assertThat(bothGeocoding.await(5, TimeUnit.SECONDS)).isTrue();
+            return madrid;
+        });
+        when(routeCalculatorPort.geocode("Barcelona")).thenAnswer(invocation -> {
+            bothGeocoding.countDown();
+            assertThat(bothGeocoding.await(5, TimeUnit.SECONDS)).isTrue();
+            return barcelona;
+        });
+        when(routeCalculatorPort.calculateRoute(madrid, barcelona)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(madrid, barcelona))), null, 3600.0));
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> clearWeatherFor(invocation.getArgument(0)));
+
+        assertThat(service.rankDepartures(window(LocalTime.of(8, 0), LocalTime.of(8, 0)))).hasSize(1);
+
+        Coordinates valenciaEs = new Coordinates(39.46975, -0.37739);
+        when(routeCalculatorPort.calculateRoute(valenciaEs, barcelona)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(valenciaEs, barcelona))), null, 3600.0));
+        DepartureWindowQuery picked = new DepartureWindowQuery("Valencia", "Barcelona", LocalDate.of(2026, 3, 1),
+                LocalTime.of(8, 0), LocalTime.of(8, 0), Duration.ofHours(1), valenciaEs, barcelona);
+
+        assertThat(service.rankDepartures(picked)).hasSize(1);
+        verify(routeCalculatorPort, never()).geocode("Valencia");
+        verify(routeCalculatorPort, times(1)).geocode("Barcelona");
+    }
+
+    @Test
+    void rankDepartures_scoresTheStraightLineWhenOnlyAFallbackRouteIsAvailable() {
+        DepartureWindowService service = newService();
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(madrid);
+        when(routeCalculatorPort.geocode("Barcelona")).thenReturn(barcelona);
+        when(routeCalculatorPort.calculateRoute(madrid, barcelona)).thenReturn(RouteDetails.fallback(madrid, barcelona));
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> clearWeatherFor(invocation.getArgument(0)));
+
+        List<DepartureOption> options = service.rankDepartures(window(LocalTime.of(8, 0), LocalTime.of(9, 0)));
+
+        // The fallback has no travel time: both ends are forecast at the departure hour
+        assertThat(options).extracting(DepartureOption::departure).containsExactly(
+                LocalDateTime.of(2026, 3, 1, 8, 0), LocalDateTime.of(2026, 3, 1, 9, 0));
+        assertThat(options).allSatisfy(option -> {
+            assertThat(option.arrival()).isEqualTo(option.departure());
+            assertThat(option.unavailableWaypoints()).isZero();
+        });
+    }
+
+    @Test
+    void rankDepartures_ranksOptionsWithUnavailableWaypointsLast() {
+        DepartureWindowService service = newService();
+        stubRoute();
+        // No forecast for 08:00, dry at 09:00, heavy rain at 10:00
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> {
+            List<TimedWaypoint> waypoints = invocation.getArgument(0);
+            return waypoints.stream().map(w -> switch (w.estimatedArrival().getHour()) {
+                case 8 -> WeatherPoint.unavailable(w.coordinates(), w.estimatedArrival());
+                case 9 -> new WeatherPoint(w.coordinates(), w.estimatedArrival(), 10.0, 0.0, 20, WeatherCondition.CLEAR);
+                default -> new WeatherPoint(w.coordinates(), w.estimatedArrival(), 10.0, 8.0, 20, WeatherCondition.HEAVY_RAIN);
+            }).toList();
+        });
+
+        List<DepartureOption> options = service.rankDepartures(window(LocalTime.of(8, 0), LocalTime.of(9, 0)));
+
+        // 08:00 scores 0 on its one dry waypoint, yet ranks below 09:00, fully forecast and arriving in rain
+        assertThat(options).extracting(o -> o.departure().toLocalTime())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(8, 0));
+        assertThat(options.get(0).score()).isPositive();
+        assertThat(options.get(1).score()).isZero();
+        assertThat(options.get(1).unavailableWaypoints()).isEqualTo(1);
+    }
+
+    @Test
+    void rankDepartures_keepsEqualScoresInDepartureOrder() {
+        DepartureWindowService service = newService();
+        stubRoute();
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> clearWeatherFor(invocation.getArgument(0)));
+
+        List<DepartureOption> options = service.rankDepartures(window(LocalTime.of(8, 0), LocalTime.of(10, 0)));
+
+        assertThat(options).extracting(DepartureOption::score).containsOnly(0.0);
+        assertThat(options).extracting(o -> o.departure().toLocalTime())
+                .containsExactly(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(10, 0));
+    }
+
+    /** One waypoint per 1000 km: each candidate is sampled at origin and destination only. */
+    private DepartureWindowService newService() {
+        return new DepartureWindowService(routeCalculatorPort, weatherForecastPort, new WaypointSampler(0.1, 1000, 24));
+    }
+
+    private void stubRoute() {
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(madrid);
+        when(routeCalculatorPort.geocode("Barcelona")).thenReturn(barcelona);
+        when(routeCalculatorPort.calculateRoute(madrid, barcelona)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(madrid, barcelona))), null, 3600.0));
+    }
+
+    private static DepartureWindowQuery window(LocalTime earliest, LocalTime latest) {
+        return new DepartureWindowQuery("Madrid", "Barcelona", LocalDate.of(2026, 3, 1), earliest, latest, Duration.ofHours(1));
+    }
+
+    private static List<WeatherPoint> clearWeatherFor(List<TimedWaypoint> waypoints) {
+        return waypoints.stream()
+                .map(w -> new WeatherPoint(w.coordinates(), w.estimatedArrival(), 10.0, 0.0, 20, WeatherCondition.CLEAR))
+                .toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.routeweather.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    void top_keepsMostFrequentKeysAmongManyRareOnes() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(1024, 4);
+        for (int round = 0; round < 50; round++) {
+            hitters.add("madrid-barcelona");
+            hitters.add("madrid-barcelona");
+            hitters.add("madrid-valencia");
+            for (int i = 0; i < 20; i++) {
+                hitters.add("rare-" + round + "-" + i);
+            }
+            if (round % 2 == 0) {
+                hitters.add("bilbao-zaragoza");
+            }
+        }
+
+        assertThat(hitters.top(3)).containsExactly("madrid-barcelona", "madrid-valencia", "bilbao-zaragoza");
+        assertThat(hitters.estimate("madrid-barcelona")).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void decay_halvesCountsAndForgetsKeysThatFadeOut() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(1024, 4);
+        IntStream.range(0, 8).forEach(i -> hitters.add("popular"));
+        hitters.add("once");
+
+        hitters.decay();
+
+        assertThat(hitters.estimate("popular")).isEqualTo(4);
+        assertThat(hitters.top(10)).containsExactly("popular");
+    }
+}
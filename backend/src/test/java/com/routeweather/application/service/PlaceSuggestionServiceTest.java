@@ -0,0 +1,40 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.out.PlaceDirectoryPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.PlaceSuggestion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlaceSuggestionServiceTest {
+
+    @Mock private PlaceDirectoryPort placeDirectoryPort;
+
+    @Test
+    void suggest_trimsPrefixAndCapsLimit() {
+        List<PlaceSuggestion> places = List.of(new PlaceSuggestion("Madrid", new Coordinates(40.4168, -3.7038)));
+        when(placeDirectoryPort.findByPrefix("mad", 20)).thenReturn(places);
+
+        PlaceSuggestionService service = new PlaceSuggestionService(placeDirectoryPort, 2, 20);
+
+        assertThat(service.suggest("  mad ", 500)).isEqualTo(places);
+    }
+
+    @Test
+    void suggest_ignoresPrefixesShorterThanMinimum() {
+        PlaceSuggestionService service = new PlaceSuggestionService(placeDirectoryPort, 2, 20);
+
+        assertThat(service.suggest(" m ", 8)).isEmpty();
+        assertThat(service.suggest(null, 8)).isEmpty();
+        verifyNoInteractions(placeDirectoryPort);
+    }
+}
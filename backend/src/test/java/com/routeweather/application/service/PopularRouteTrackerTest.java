@@ -0,0 +1,53 @@
+package com.routeweather.application.service;
+
+import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.service.PopularRouteTracker.PopularRoute;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PopularRouteTrackerTest {
+
+    @Mock private GetRouteWeatherUseCase delegate;
+
+    @Test
+    void topRoutes_countsTripsAcrossDatesSpellingsAndBatches() {
+        PopularRouteTracker tracker = new PopularRouteTracker(delegate, 256, 8);
+        RouteWeatherQuery monday = new RouteWeatherQuery("Madrid", "Barcelona", LocalDate.of(2026, 3, 2), LocalTime.of(8, 15));
+        RouteWeatherQuery tuesday = new RouteWeatherQuery(" madrid ", "BARCELONA", LocalDate.of(2026, 3, 3), LocalTime.of(8, 45));
+        RouteWeatherQuery other = new RouteWeatherQuery("Bilbao", "Zaragoza", LocalDate.of(2026, 3, 2), LocalTime.of(17, 0));
+
+        tracker.getWeatherForRoute(monday);
+        tracker.getWeatherForRoute(other);
+        tracker.getWeatherForRoutes(List.of(tuesday));
+
+        PopularRoute madridBarcelona = new PopularRoute("madrid", "barcelona", LocalTime.of(8, 0));
+        assertThat(tracker.topRoutes(2)).containsExactly(
+                madridBarcelona, new PopularRoute("bilbao", "zaragoza", LocalTime.of(17, 0)));
+        assertThat(madridBarcelona.on(LocalDate.of(2026, 3, 4)))
+                .isEqualTo(new RouteWeatherQuery("madrid", "barcelona", LocalDate.of(2026, 3, 4), LocalTime.of(8, 0)));
+        verify(delegate).getWeatherForRoute(monday);
+        verify(delegate).getWeatherForRoutes(List.of(tuesday));
+    }
+
+    @Test
+    void topRoutes_countsSpellingsWithAndWithoutDiacriticsAsOneRoute() {
+        PopularRouteTracker tracker = new PopularRouteTracker(delegate, 256, 8);
+        LocalDate date = LocalDate.of(2026, 3, 2);
+
+        tracker.getWeatherForRoute(new RouteWeatherQuery("São Paulo", "Santos", date, LocalTime.of(9, 0)));
+        tracker.getWeatherForRoute(new RouteWeatherQuery("Sao  Paulo", "Santos", date, LocalTime.of(9, 30)));
+
+        assertThat(tracker.topRoutes(2)).containsExactly(new PopularRoute("sao paulo", "santos", LocalTime.of(9, 0)));
+    }
+}
@@ -1,8 +1,11 @@
 package com.routeweather.application.service;
 
+import com.routeweather.application.port.in.RouteWeatherListener;
 import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.port.in.RouteWeatherResult;
 import com.routeweather.application.port.out.RouteCalculatorPort;
 import com.routeweather.application.port.out.WeatherForecastPort;
+import com.routeweather.domain.exception.RouteNotFoundException;
 import com.routeweather.domain.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,10 +17,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,7 +43,10 @@ class RouteWeatherServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new RouteWeatherService(routeCalculatorPort, weatherForecastPort);
+        // One waypoint per 1000 km: the test routes are sampled at origin and destination only
+        service = new RouteWeatherService(routeCalculatorPort, weatherForecastPort, new WaypointSampler(0.1, 1000, 24));
+        // The streaming port method is a default built on getForecast, which each test stubs
+        lenient().doCallRealMethod().when(weatherForecastPort).streamForecast(any(), any());
     }
 
     @Test
@@ -43,10 +59,9 @@ class RouteWeatherServiceTest {
 
         RouteWeatherQuery query = new RouteWeatherQuery("Madrid", "Barcelona", travelDate, departure);
 
-        List<Coordinates> geometry         = List.of(madrid, midpoint, barcelona);
-        List<Coordinates> weatherWaypoints = List.of(madrid, barcelona);
-        double totalDurationSeconds        = 3600.0; // 1 hour
-        RouteDetails routeDetails = new RouteDetails(geometry, weatherWaypoints, totalDurationSeconds);
+        RouteGeometry geometry      = RouteGeometry.of(Polyline.of(List.of(madrid, midpoint, barcelona)));
+        double totalDurationSeconds = 3600.0; // 1 hour
+        RouteDetails routeDetails = new RouteDetails(geometry, null, totalDurationSeconds);
 
         WeatherPoint madridWeather    = new WeatherPoint(madrid,    LocalDateTime.of(2026, 3, 1,  8, 0), 12.0, 0.0, 10, WeatherCondition.CLEAR);
         WeatherPoint barcelonaWeather = new WeatherPoint(barcelona, LocalDateTime.of(2026, 3, 1,  9, 0), 14.0, 0.0,  8, WeatherCondition.PARTLY_CLOUDY);
@@ -54,15 +69,18 @@ class RouteWeatherServiceTest {
         when(routeCalculatorPort.geocode("Madrid")).thenReturn(madrid);
         when(routeCalculatorPort.geocode("Barcelona")).thenReturn(barcelona);
         when(routeCalculatorPort.calculateRoute(madrid, barcelona)).thenReturn(routeDetails);
-        when(weatherForecastPort.getForecast(any())).thenReturn(List.of(madridWeather, barcelonaWeather));
+        when(weatherForecastPort.getForecast(List.of(new TimedWaypoint(madrid, LocalDateTime.of(2026, 3, 1, 8, 0)))))
+                .thenReturn(List.of(madridWeather));
+        when(weatherForecastPort.getForecast(List.of(new TimedWaypoint(barcelona, LocalDateTime.of(2026, 3, 1, 9, 0)))))
+                .thenReturn(List.of(barcelonaWeather));
 
         RouteWeatherReport report = service.getWeatherForRoute(query);
 
         assertThat(report.getRoute().getOriginName()).isEqualTo("Madrid");
         assertThat(report.getWeatherPoints()).hasSize(2);
         assertThat(report.getWeatherPoints().get(0).condition()).isEqualTo(WeatherCondition.CLEAR);
-        assertThat(report.getRouteGeometry()).hasSize(3);
-        assertThat(report.getRouteGeometry().get(1)).isEqualTo(midpoint);
+        assertThat(report.getRouteGeometry().full().size()).isEqualTo(3);
+        assertThat(report.getRouteGeometry().full().get(1)).isEqualTo(midpoint);
     }
 
     @Test
@@ -76,8 +94,8 @@ class RouteWeatherServiceTest {
 
         double totalDurationSeconds = 7200.0; // 2 hours
         RouteDetails routeDetails = new RouteDetails(
-                List.of(origin, destination),
-                List.of(origin, destination),
+                RouteGeometry.of(Polyline.of(List.of(origin, destination))),
+                null,
                 totalDurationSeconds);
 
         when(routeCalculatorPort.geocode("Madrid")).thenReturn(origin);
@@ -86,16 +104,15 @@ class RouteWeatherServiceTest {
 
         @SuppressWarnings("unchecked")
         ArgumentCaptor<List<TimedWaypoint>> captor = ArgumentCaptor.forClass(List.class);
-        when(weatherForecastPort.getForecast(captor.capture())).thenReturn(
-                List.of(
-                        new WeatherPoint(origin,      LocalDateTime.of(2026, 3, 1,  9, 0), 10.0, 0.0, 5, WeatherCondition.CLEAR),
-                        new WeatherPoint(destination, LocalDateTime.of(2026, 3, 1, 11, 0), 15.0, 0.0, 5, WeatherCondition.CLEAR)
-                )
-        );
+        when(weatherForecastPort.getForecast(captor.capture())).thenAnswer(invocation -> clearWeatherFor(invocation.getArgument(0)));
 
         service.getWeatherForRoute(query);
 
-        List<TimedWaypoint> timedWaypoints = captor.getValue();
+        // Origin (speculative) and remaining waypoints are forecast in separate calls
+        List<TimedWaypoint> timedWaypoints = captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(TimedWaypoint::estimatedArrival))
+                .toList();
         assertThat(timedWaypoints).hasSize(2);
 
         // Origin gets the departure time exactly
@@ -106,4 +123,179 @@ class RouteWeatherServiceTest {
         assertThat(timedWaypoints.get(1).estimatedArrival())
                 .isEqualTo(LocalDateTime.of(2026, 3, 1, 11, 0));
     }
+
+    @Test
+    void getWeatherForRoute_forecastsOriginWhileRouteIsStillBeingCalculated() {
+        Coordinates origin      = new Coordinates(40.4168, -3.7038);
+        Coordinates destination = new Coordinates(41.3851, 2.1734);
+        RouteWeatherQuery query = new RouteWeatherQuery("Madrid", "Barcelona", LocalDate.of(2026, 3, 1), LocalTime.of(9, 0));
+        CountDownLatch originForecastRequested = new CountDownLatch(1);
+
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(origin);
+        when(routeCalculatorPort.geocode("Barcelona")).thenReturn(destination);
+        when(routeCalculatorPort.calculateRoute(origin, destination)).thenAnswer(invocation -> {
+            // Routing only completes once the speculative origin forecast has been issued
+            assertThat(originForecastRequested.await(5, TimeUnit.SECONDS)).isTrue();
+            return new RouteDetails(RouteGeometry.of(Polyline.of(List.of(origin, destination))), null, 3600.0);
+        });
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> {
+            List<TimedWaypoint> waypoints = invocation.getArgument(0);
+            if (waypoints.get(0).coordinates().equals(origin)) {
+                originForecastRequested.countDown();
+            }
+            return clearWeatherFor(waypoints);
+        });
+
+        RouteWeatherReport report = service.getWeatherForRoute(query);
+
+        assertThat(report.getWeatherPoints()).extracting(WeatherPoint::coordinates).containsExactly(origin, destination);
+    }
+
+    @Test
+    void streamWeatherForRoute_announcesRouteBeforeAnyWeatherPoint() {
+        // Along a parallel, so the midpoint lies exactly halfway (~85 km from either end)
+        Coordinates origin      = new Coordinates(40.0, -3.0);
+        Coordinates midpoint    = new Coordinates(40.0, -2.0);
+        Coordinates destination = new Coordinates(40.0, -1.0);
+        service = new RouteWeatherService(routeCalculatorPort, weatherForecastPort, new WaypointSampler(0.1, 100, 24));
+        RouteWeatherQuery query = new RouteWeatherQuery("Madrid", "Barcelona", LocalDate.of(2026, 3, 1), LocalTime.of(9, 0));
+
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(origin);
+        when(routeCalculatorPort.geocode("Barcelona")).thenReturn(destination);
+        when(routeCalculatorPort.calculateRoute(origin, destination)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(origin, midpoint, destination))), null, 7200.0));
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> clearWeatherFor(invocation.getArgument(0)));
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        RouteWeatherReport report = service.streamWeatherForRoute(query, new RouteWeatherListener() {
+            @Override
+            public void onRoute(Route route, RouteGeometry geometry, int waypointCount) {
+                events.add("route:" + waypointCount);
+            }
+
+            @Override
+            public void onWeatherPoint(int index, WeatherPoint weatherPoint) {
+                events.add("point:" + index);
+            }
+        });
+
+        assertThat(events).hasSize(4);
+        assertThat(events.get(0)).isEqualTo("route:3");
+        assertThat(events.subList(1, 4)).containsExactlyInAnyOrder("point:0", "point:1", "point:2");
+        assertThat(report.getWeatherPoints()).extracting(WeatherPoint::coordinates).containsExactly(origin, midpoint, destination);
+    }
+
+    @Test
+    void getWeatherForRoute_usesTheChosenCoordinatesInsteadOfGeocodingTheName() {
+        Coordinates valenciaEs = new Coordinates(39.46975, -0.37739);
+        Coordinates madrid     = new Coordinates(40.4168, -3.7038);
+        LocalDateTime departure = LocalDateTime.of(2026, 3, 1, 8, 0);
+        RouteWeatherQuery query = new RouteWeatherQuery(
+                "Valencia", "Madrid", departure.toLocalDate(), departure.toLocalTime(), valenciaEs, null);
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(madrid);
+        when(routeCalculatorPort.calculateRoute(valenciaEs, madrid)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(valenciaEs, madrid))), null, 3600.0));
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> clearWeatherFor(invocation.getArgument(0)));
+
+        RouteWeatherReport report = service.getWeatherForRoute(query);
+
+        assertThat(report.getRoute().getOriginCoordinates()).isEqualTo(valenciaEs);
+        verify(routeCalculatorPort, never()).geocode("Valencia");
+
+        List<RouteWeatherResult> results = service.getWeatherForRoutes(List.of(query));
+
+        assertThat(results.get(0).report().getRoute().getOriginCoordinates()).isEqualTo(valenciaEs);
+        verify(routeCalculatorPort, never()).geocode("Valencia");
+    }
+
+    @Test
+    void getWeatherForRoute_propagatesGeocodingFailure() {
+        RouteWeatherQuery query = new RouteWeatherQuery("Nowhere", "Barcelona", LocalDate.of(2026, 3, 1), LocalTime.of(9, 0));
+        when(routeCalculatorPort.geocode("Nowhere")).thenThrow(new RouteNotFoundException("Place not found: Nowhere"));
+        lenient().when(routeCalculatorPort.geocode("Barcelona")).thenReturn(new Coordinates(41.3851, 2.1734));
+
+        assertThatThrownBy(() -> service.getWeatherForRoute(query))
+                .isInstanceOf(RouteNotFoundException.class)
+                .hasMessageContaining("Nowhere");
+    }
+
+    @Test
+    void getWeatherForRoutes_deduplicatesAcrossRoutesAndReportsFailuresPerItem() {
+        Coordinates madrid    = new Coordinates(40.4168, -3.7038);
+        Coordinates barcelona = new Coordinates(41.3851, 2.1734);
+        Coordinates valencia  = new Coordinates(39.4699, -0.3763);
+        LocalDate travelDate  = LocalDate.of(2026, 3, 1);
+        RouteWeatherQuery toBarcelona      = new RouteWeatherQuery("Madrid", "Barcelona", travelDate, LocalTime.of(8, 0));
+        RouteWeatherQuery toBarcelonaAgain = new RouteWeatherQuery(" madrid ", "Barcelona", travelDate, LocalTime.of(8, 0));
+        RouteWeatherQuery toValencia       = new RouteWeatherQuery("Madrid", "Valencia", travelDate, LocalTime.of(8, 0));
+        RouteWeatherQuery toNowhere        = new RouteWeatherQuery("Madrid", "Nowhere", travelDate, LocalTime.of(8, 0));
+
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(madrid);
+        when(routeCalculatorPort.geocode("Barcelona")).thenReturn(barcelona);
+        when(routeCalculatorPort.geocode("Valencia")).thenReturn(valencia);
+        when(routeCalculatorPort.geocode("Nowhere")).thenThrow(new RouteNotFoundException("Place not found: Nowhere"));
+        when(routeCalculatorPort.calculateRoute(madrid, barcelona)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(madrid, barcelona))), null, 3600.0));
+        when(routeCalculatorPort.calculateRoute(madrid, valencia)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(madrid, valencia))), null, 3600.0));
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> clearWeatherFor(invocation.getArgument(0)));
+
+        List<RouteWeatherResult> results = service.getWeatherForRoutes(
+                List.of(toBarcelona, toBarcelonaAgain, toValencia, toNowhere));
+
+        assertThat(results).extracting(RouteWeatherResult::query)
+                .containsExactly(toBarcelona, toBarcelonaAgain, toValencia, toNowhere);
+        assertThat(results).extracting(RouteWeatherResult::isSuccess).containsExactly(true, true, true, false);
+        assertThat(results.get(3).error()).isInstanceOf(RouteNotFoundException.class);
+        assertThat(results.get(2).report().getWeatherPoints()).extracting(WeatherPoint::coordinates)
+                .containsExactly(madrid, valencia);
+
+        // Madrid is geocoded once whatever its spelling, the shared pair routed once, and the
+        // shared Madrid 08:00 waypoint forecast once, in a single call for the whole batch
+        verify(routeCalculatorPort, times(1)).geocode("Madrid");
+        verify(routeCalculatorPort, never()).geocode(" madrid ");
+        verify(routeCalculatorPort, times(1)).calculateRoute(madrid, barcelona);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TimedWaypoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(weatherForecastPort, times(1)).getForecast(captor.capture());
+        assertThat(captor.getValue()).extracting(TimedWaypoint::coordinates).containsExactly(madrid, barcelona, valencia);
+    }
+
+    @Test
+    void getWeatherForRoutes_failsOnlyTheRoutesWhoseForecastFails() {
+        Coordinates madrid    = new Coordinates(40.4168, -3.7038);
+        Coordinates barcelona = new Coordinates(41.3851, 2.1734);
+        Coordinates valencia  = new Coordinates(39.4699, -0.3763);
+        LocalDate travelDate  = LocalDate.of(2026, 3, 1);
+        RouteWeatherQuery toBarcelona = new RouteWeatherQuery("Madrid", "Barcelona", travelDate, LocalTime.of(8, 0));
+        RouteWeatherQuery toValencia  = new RouteWeatherQuery("Madrid", "Valencia", travelDate, LocalTime.of(8, 0));
+
+        when(routeCalculatorPort.geocode("Madrid")).thenReturn(madrid);
+        when(routeCalculatorPort.geocode("Barcelona")).thenReturn(barcelona);
+        when(routeCalculatorPort.geocode("Valencia")).thenReturn(valencia);
+        when(routeCalculatorPort.calculateRoute(madrid, barcelona)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(madrid, barcelona))), null, 3600.0));
+        when(routeCalculatorPort.calculateRoute(madrid, valencia)).thenReturn(
+                new RouteDetails(RouteGeometry.of(Polyline.of(List.of(madrid, valencia))), null, 3600.0));
+        when(weatherForecastPort.getForecast(any())).thenAnswer(invocation -> {
+            List<TimedWaypoint> waypoints = invocation.getArgument(0);
+            if (waypoints.stream().anyMatch(w -> w.coordinates().equals(valencia))) {
+                throw new IllegalStateException("forecast failed near Valencia");
+            }
+            return clearWeatherFor(waypoints);
+        });
+
+        List<RouteWeatherResult> results = service.getWeatherForRoutes(List.of(toBarcelona, toValencia));
+
+        assertThat(results).extracting(RouteWeatherResult::isSuccess).containsExactly(true, false);
+        assertThat(results.get(1).error()).hasMessage("forecast failed near Valencia");
+        assertThat(results.get(0).report().getWeatherPoints()).extracting(WeatherPoint::coordinates)
+                .containsExactly(madrid, barcelona);
+    }
+
+    private static List<WeatherPoint> clearWeatherFor(List<TimedWaypoint> waypoints) {
+        return waypoints.stream()
+                .map(w -> new WeatherPoint(w.coordinates(), w.estimatedArrival(), 10.0, 0.0, 5, WeatherCondition.CLEAR))
+                .toList();
+    }
 }
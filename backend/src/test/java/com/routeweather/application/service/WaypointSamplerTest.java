@@ -0,0 +1,65 @@
+package com.routeweather.application.service;
+
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.Polyline;
+import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.RouteGeometry;
+import com.routeweather.domain.model.TimedWaypoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WaypointSamplerTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Test
+    void sample_spacesWaypointsByDistanceNotByPolylineIndex() {
+        // 50 points crowded into the first 2 km, then a single 100 km straight stretch
+        double[] lats = new double[51];
+        double[] lons = new double[51];
+        for (int i = 0; i < 50; i++) {
+            lats[i] = 40.0;
+            lons[i] = i * 0.0005;
+        }
+        lats[50] = 40.0;
+        lons[50] = 1.2;
+        RouteDetails details = new RouteDetails(RouteGeometry.of(Polyline.of(lats, lons)), null, 3600.0);
+
+        List<TimedWaypoint> waypoints = new WaypointSampler(0.1, 25, 24).sample(details, DEPARTURE);
+
+        assertThat(waypoints).hasSize(6); // ~102 km / 25 km + origin
+        for (int i = 1; i < waypoints.size(); i++) {
+            double gap = waypoints.get(i).coordinates().longitude() - waypoints.get(i - 1).coordinates().longitude();
+            assertThat(gap).isCloseTo(0.24, within(1e-4));
+        }
+    }
+
+    @Test
+    void sample_takesArrivalTimesFromCumulativeDurations() {
+        Polyline geometry = Polyline.of(List.of(
+                new Coordinates(40.0, -3.0), new Coordinates(40.0, -2.0), new Coordinates(40.0, -1.0)));
+        // Slow first half (50 min), fast second half (10 min)
+        RouteDetails details = new RouteDetails(RouteGeometry.of(geometry), new double[] {0, 3000, 3600}, 3600.0);
+
+        List<TimedWaypoint> waypoints = new WaypointSampler(0.1, 100, 24).sample(details, DEPARTURE);
+
+        assertThat(waypoints).extracting(TimedWaypoint::estimatedArrival).containsExactly(
+                DEPARTURE, DEPARTURE.plusMinutes(50), DEPARTURE.plusMinutes(60));
+    }
+
+    @Test
+    void sample_keepsOneWaypointPerForecastCellAndHour() {
+        // ~5 km inside one 0.1° cell, driven in 10 minutes
+        Polyline geometry = Polyline.of(List.of(new Coordinates(40.01, -3.09), new Coordinates(40.05, -3.05)));
+        RouteDetails details = new RouteDetails(RouteGeometry.of(geometry), null, 600.0);
+
+        List<TimedWaypoint> waypoints = new WaypointSampler(0.1, 1, 24).sample(details, DEPARTURE);
+
+        assertThat(waypoints).containsExactly(new TimedWaypoint(new Coordinates(40.01, -3.09), DEPARTURE));
+    }
+}
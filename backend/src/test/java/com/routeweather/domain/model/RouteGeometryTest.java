@@ -0,0 +1,48 @@
+package com.routeweather.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteGeometryTest {
+
+    @Test
+    void of_dropsCollinearPointsButKeepsEndpoints() {
+        double[] lats = new double[101];
+        double[] lons = new double[101];
+        for (int i = 0; i <= 100; i++) {
+            lats[i] = 40.0 + i * 0.01;
+            lons[i] = -3.0 + i * 0.01;
+        }
+
+        RouteGeometry geometry = RouteGeometry.of(Polyline.of(lats, lons));
+
+        Polyline simplified = geometry.atZoom(14);
+        assertThat(simplified.size()).isEqualTo(2);
+        assertThat(simplified.get(0)).isEqualTo(new Coordinates(40.0, -3.0));
+        assertThat(simplified.get(1)).isEqualTo(new Coordinates(41.0, -2.0));
+        assertThat(geometry.atZoom(18).size()).isEqualTo(101);
+    }
+
+    @Test
+    void atZoom_keepsMoreDetailAtHigherZoomAndCoarserLevelsAreSubsets() {
+        // A zig-zag whose amplitude (~0.002°) is visible at zoom 14 but not at zoom 5
+        double[] lats = new double[200];
+        double[] lons = new double[200];
+        for (int i = 0; i < 200; i++) {
+            lats[i] = 40.0 + i * 0.005 + (i % 2 == 0 ? 0.002 : -0.002);
+            lons[i] = -3.0 + i * 0.005;
+        }
+
+        RouteGeometry geometry = RouteGeometry.of(Polyline.of(lats, lons));
+
+        Polyline coarse = geometry.atZoom(5);
+        Polyline fine = geometry.atZoom(14);
+        assertThat(coarse.size()).isLessThan(fine.size());
+        assertThat(fine.size()).isEqualTo(200);
+        int j = 0;
+        for (int i = 0; i < coarse.size(); i++) {
+            while (fine.latitude(j) != coarse.latitude(i) || fine.longitude(j) != coarse.longitude(i)) j++;
+        }
+    }
+}
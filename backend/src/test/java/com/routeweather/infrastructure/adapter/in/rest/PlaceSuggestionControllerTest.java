@@ -0,0 +1,45 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.routeweather.application.port.in.SuggestPlacesUseCase;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.PlaceSuggestion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PlaceSuggestionController.class)
+@Import(RouteWeatherControllerTest.Metrics.class)
+class PlaceSuggestionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SuggestPlacesUseCase suggestPlacesUseCase;
+
+    @Test
+    void suggest_returnsNamesWithCoordinates() throws Exception {
+        when(suggestPlacesUseCase.suggest("zar", 8)).thenReturn(List.of(
+                new PlaceSuggestion("Zaragoza", new Coordinates(41.6488, -0.8891)),
+                new PlaceSuggestion("Zarautz", new Coordinates(43.2843, -2.1699))));
+
+        mockMvc.perform(get("/api/places/suggest").param("q", "zar"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=60, private"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Zaragoza"))
+                .andExpect(jsonPath("$[0].latitude").value(41.6488))
+                .andExpect(jsonPath("$[1].longitude").value(-2.1699));
+    }
+}
@@ -0,0 +1,30 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.routeweather.domain.model.Polyline;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PolylineJsonSerializerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(new PolylineJsonSerializer()));
+
+    @Test
+    void serialize_writesLatitudeLongitudeObjects() throws Exception {
+        Polyline polyline = Polyline.of(new double[] {40.4168, 41.3851}, new double[] {-3.7038, 2.1734});
+
+        assertThat(mapper.writeValueAsString(polyline)).isEqualTo(
+                "[{\"latitude\":40.4168,\"longitude\":-3.7038},{\"latitude\":41.3851,\"longitude\":2.1734}]");
+    }
+
+    @Test
+    void of_rejectsOutOfRangeValuesWithTheirIndex() {
+        assertThatThrownBy(() -> Polyline.of(new double[] {40.0, 91.0}, new double[] {-3.0, 2.0}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at index 1");
+    }
+}
@@ -0,0 +1,215 @@
+package com.routeweather.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.routeweather.application.port.in.FindBestDepartureUseCase;
+import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.port.in.RouteWeatherResult;
+import com.routeweather.application.port.in.StreamRouteWeatherUseCase;
+import com.routeweather.domain.exception.RouteNotFoundException;
+import com.routeweather.domain.exception.UpstreamUnavailableException;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.Polyline;
+import com.routeweather.domain.model.Route;
+import com.routeweather.domain.model.RouteGeometry;
+import com.routeweather.domain.model.RouteWeatherReport;
+import com.routeweather.infrastructure.observability.StageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RouteWeatherController.class)
+@Import(RouteWeatherControllerTest.Metrics.class)
+class RouteWeatherControllerTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        StageMetrics stageMetrics() {
+            return new StageMetrics(new SimpleMeterRegistry());
+        }
+    }
+
+    // Reference example from the Encoded Polyline Algorithm Format documentation
+    private static final Polyline GEOMETRY = Polyline.of(
+            new double[] {38.5, 40.7, 43.252},
+            new double[] {-120.2, -120.95, -126.453});
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StageMetrics stageMetrics;
+
+    @MockBean
+    private GetRouteWeatherUseCase getRouteWeatherUseCase;
+
+    @MockBean
+    private StreamRouteWeatherUseCase streamRouteWeatherUseCase;
+
+    @MockBean
+    private FindBestDepartureUseCase findBestDepartureUseCase;
+
+    @MockBean(name = "routeWeatherExecutor")
+    private Executor routeWeatherExecutor;
+
+    @BeforeEach
+    void setUp() {
+        Route route = new Route("A", "B", GEOMETRY.get(0), new Coordinates(43.252, -126.453),
+                LocalDate.of(2026, 3, 1), LocalTime.of(9, 0));
+        when(getRouteWeatherUseCase.getWeatherForRoute(any()))
+                .thenReturn(new RouteWeatherReport(route, List.of(), RouteGeometry.of(GEOMETRY)));
+    }
+
+    @Test
+    void getRouteWeather_defaultsToJsonObjects() throws Exception {
+        mockMvc.perform(request().accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.routeGeometry[2].latitude").value(43.252))
+                .andExpect(jsonPath("$.travelDate").value("2026-03-01"));
+    }
+
+    @Test
+    void getRouteWeather_writesEncodedPolylineWhenRequested() throws Exception {
+        mockMvc.perform(request().accept(RouteWeatherMediaTypes.POLYLINE_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(RouteWeatherMediaTypes.POLYLINE_JSON))
+                .andExpect(jsonPath("$.routeGeometry").value("_p~iF~ps|U_ulLnnqC_mqNvxq`@"))
+                .andExpect(jsonPath("$.travelDate").value("2026-03-01"));
+    }
+
+    @Test
+    void getRouteWeather_writesCborWithPackedGeometryWhenRequested() throws Exception {
+        byte[] body = mockMvc.perform(request().accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = new ObjectMapper(new CBORFactory()).readTree(body);
+        ByteBuffer geometry = ByteBuffer.wrap(response.get("routeGeometry").binaryValue()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(geometry.remaining()).isEqualTo(3 * 8);
+        assertThat(geometry.getFloat(0)).isEqualTo(38.5f);
+        assertThat(geometry.getFloat(20)).isEqualTo(-126.453f);
+        assertThat(response.get("travelDate").asText()).isEqualTo("2026-03-01");
+    }
+
+    @Test
+    void getRouteWeather_reportsStageTimingsInServerTimingHeader() throws Exception {
+        Route route = new Route("A", "B", GEOMETRY.get(0), new Coordinates(43.252, -126.453),
+                LocalDate.of(2026, 3, 1), LocalTime.of(9, 0));
+        when(getRouteWeatherUseCase.getWeatherForRoute(any())).thenAnswer(invocation -> {
+            stageMetrics.record("geocode", 3_000_000);
+            stageMetrics.record("geocode", 2_000_000);
+            return new RouteWeatherReport(route, List.of(), RouteGeometry.of(GEOMETRY));
+        });
+
+        String serverTiming = mockMvc.perform(request())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertThat(serverTiming).startsWith("geocode;dur=5.0, map;dur=").contains(", total;dur=");
+    }
+
+    @Test
+    void getRouteWeather_answers503WithRetryAfterWhenAnUpstreamIsUnavailable() throws Exception {
+        when(getRouteWeatherUseCase.getWeatherForRoute(any())).thenThrow(new UpstreamUnavailableException(
+                "Geocoding failed for 'A': nominatim call would wait ~4000 ms", new RuntimeException("rejected")));
+
+        mockMvc.perform(request())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.title").value("Route service temporarily unavailable"));
+    }
+
+    @Test
+    void getRouteWeather_passesChosenSuggestionCoordinatesToTheQuery() throws Exception {
+        mockMvc.perform(post("/api/routes/weather")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"origin":"Valencia","destination":"B","travelDate":"%s","departureTime":"09:00",
+                                 "originCoordinates":{"latitude":39.46975,"longitude":-0.37739}}
+                                """.formatted(LocalDate.now().plusDays(1))))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<RouteWeatherQuery> query = ArgumentCaptor.forClass(RouteWeatherQuery.class);
+        verify(getRouteWeatherUseCase).getWeatherForRoute(query.capture());
+        assertThat(query.getValue().originCoordinates()).isEqualTo(new Coordinates(39.46975, -0.37739));
+        assertThat(query.getValue().destinationCoordinates()).isNull();
+    }
+
+    @Test
+    void getRouteWeather_rejectsChosenCoordinatesOutOfRange() throws Exception {
+        mockMvc.perform(post("/api/routes/weather")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"origin":"A","destination":"B","travelDate":"%s","departureTime":"09:00",
+                                 "destinationCoordinates":{"latitude":91,"longitude":0}}
+                                """.formatted(LocalDate.now().plusDays(1))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getRouteWeatherBatch_returnsReportOrProblemPerRoute() throws Exception {
+        Route route = new Route("A", "B", GEOMETRY.get(0), new Coordinates(43.252, -126.453),
+                LocalDate.of(2026, 3, 1), LocalTime.of(9, 0));
+        when(getRouteWeatherUseCase.getWeatherForRoutes(any())).thenAnswer(invocation -> {
+            List<RouteWeatherQuery> queries = invocation.getArgument(0);
+            return List.of(
+                    RouteWeatherResult.success(queries.get(0), new RouteWeatherReport(route, List.of(), RouteGeometry.of(GEOMETRY))),
+                    RouteWeatherResult.failure(queries.get(1), new RouteNotFoundException("Place not found: C")));
+        });
+
+        mockMvc.perform(post("/api/routes/weather/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"routes":[
+                                  {"origin":"A","destination":"B","travelDate":"%1$s","departureTime":"09:00"},
+                                  {"origin":"A","destination":"C","travelDate":"%1$s","departureTime":"09:00"}
+                                ]}
+                                """.formatted(LocalDate.now().plusDays(1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].report.routeGeometry[2].latitude").value(43.252))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].error.status").value(404))
+                .andExpect(jsonPath("$.results[1].error.detail").value("Place not found: C"));
+    }
+
+    private static MockHttpServletRequestBuilder request() {
+        return post("/api/routes/weather")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"origin":"A","destination":"B","travelDate":"%s","departureTime":"09:00"}
+                        """.formatted(LocalDate.now().plusDays(1)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.exception.RouteNotFoundException;
+import com.routeweather.domain.exception.UpstreamUnavailableException;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.infrastructure.scheduling.UpstreamScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingGeocoderTest {
+
+    @Mock private RouteCalculatorPort delegate;
+
+    @TempDir Path tempDir;
+
+    @Test
+    void geocode_sharesEntryAcrossCaseWhitespaceAndDiacritics() {
+        Coordinates zaragoza = new Coordinates(41.6488, -0.8891);
+        when(delegate.geocode(anyString())).thenReturn(zaragoza);
+
+        try (CachingGeocoder geocoder = newGeocoder(null)) {
+            assertThat(geocoder.geocode("Zaragoza")).isEqualTo(zaragoza);
+            assertThat(geocoder.geocode("  ZARAGOZA ")).isEqualTo(zaragoza);
+            assertThat(geocoder.geocode("Zarágoza")).isEqualTo(zaragoza);
+        }
+
+        verify(delegate, times(1)).geocode(anyString());
+    }
+
+    @Test
+    void geocode_cachesNotFoundButNotUpstreamFailures() {
+        when(delegate.geocode("Atlantis")).thenThrow(new RouteNotFoundException("Place not found: Atlantis"));
+        when(delegate.geocode("Madrid")).thenThrow(new UpstreamUnavailableException("Geocoding failed", new RuntimeException("timeout")));
+
+        try (CachingGeocoder geocoder = newGeocoder(null)) {
+            for (int i = 0; i < 2; i++) {
+                assertThatThrownBy(() -> geocoder.geocode("Atlantis")).hasMessage("Place not found: Atlantis");
+                assertThatThrownBy(() -> geocoder.geocode("Madrid")).hasMessage("Geocoding failed");
+            }
+        }
+
+        verify(delegate, times(1)).geocode("Atlantis");
+        verify(delegate, times(2)).geocode("Madrid");
+    }
+
+    @Test
+    void geocode_concurrentMissesForOnePlaceMakeOneUpstreamCall() throws Exception {
+        Coordinates zaragoza = new Coordinates(41.6488, -0.8891);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        try (UpstreamScheduler scheduler = new UpstreamScheduler("nominatim", 100, 10, meterRegistry);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Stands in for NominatimOsrmAdapter, which schedules lookups by normalized name
+            when(delegate.geocode(anyString())).thenAnswer(invocation -> scheduler.call(
+                    PlaceNames.normalize(invocation.getArgument(0)), () -> {
+                        upstreamCalls.incrementAndGet();
+                        awaitQuietly(release);
+                        return zaragoza;
+                    }));
+            try (CachingGeocoder geocoder = newGeocoder(null)) {
+                List<Future<Coordinates>> results = new ArrayList<>();
+                for (int i = 0; i < callers; i++) {
+                    String spelling = i % 2 == 0 ? "Zaragoza" : " ZARAGOZA ";
+                    results.add(executor.submit(() -> geocoder.geocode(spelling)));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                while (meterRegistry.get("upstream.scheduler.deduplicated").counter().count() < callers - 1) {
+                    assertThat(System.nanoTime()).isLessThan(deadline);
+                    Thread.sleep(5);
+                }
+                release.countDown();
+
+                for (Future<Coordinates> result : results) {
+                    assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo(zaragoza);
+                }
+                assertThat(geocoder.geocode("zaragoza")).isEqualTo(zaragoza);
+            }
+        }
+
+        assertThat(upstreamCalls).hasValue(1);
+        verify(delegate, times(callers)).geocode(anyString());
+    }
+
+    @Test
+    void close_persistsEntriesSoTheNextInstanceStartsWarm() {
+        Path file = tempDir.resolve("geocode-cache.bin");
+        Coordinates valencia = new Coordinates(39.4699, -0.3763);
+        when(delegate.geocode("Valencia")).thenReturn(valencia);
+
+        try (CachingGeocoder geocoder = newGeocoder(file)) {
+            geocoder.geocode("Valencia");
+        }
+
+        RouteCalculatorPort coldDelegate = mock(RouteCalculatorPort.class);
+        try (CachingGeocoder restarted = new CachingGeocoder(coldDelegate, 100, Duration.ofDays(1), Duration.ofMinutes(1),
+                file, Duration.ofMinutes(5), new SimpleMeterRegistry())) {
+            assertThat(restarted.geocode("valencia")).isEqualTo(valencia);
+        }
+        verifyNoInteractions(coldDelegate);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CachingGeocoder newGeocoder(Path file) {
+        return new CachingGeocoder(delegate, 100, Duration.ofDays(1), Duration.ofMinutes(1),
+                file, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+}
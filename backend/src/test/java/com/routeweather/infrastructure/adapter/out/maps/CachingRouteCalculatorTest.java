@@ -0,0 +1,67 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.Polyline;
+import com.routeweather.domain.model.RouteDetails;
+import com.routeweather.domain.model.RouteGeometry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingRouteCalculatorTest {
+
+    private static final Coordinates MADRID = new Coordinates(40.4168, -3.7038);
+    private static final Coordinates BARCELONA = new Coordinates(41.3851, 2.1734);
+
+    @Mock private RouteCalculatorPort delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void calculateRoute_sharesOneEntryBetweenEndpointsWithinTheSnapTolerance() {
+        RouteDetails details = new RouteDetails(RouteGeometry.of(Polyline.of(List.of(MADRID, BARCELONA))), null, 21600.0);
+        when(delegate.calculateRoute(any(), any())).thenReturn(details);
+        CachingRouteCalculator calculator = newCalculator();
+
+        assertThat(calculator.calculateRoute(MADRID, BARCELONA)).isSameAs(details);
+        assertThat(calculator.calculateRoute(new Coordinates(40.4172, -3.7041), BARCELONA)).isSameAs(details);
+
+        verify(delegate, times(1)).calculateRoute(any(), any());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "osrm.routes").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "osrm.routes").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void calculateRoute_asksAgainAfterAFallbackResult() {
+        RouteDetails details = new RouteDetails(RouteGeometry.of(Polyline.of(List.of(MADRID, BARCELONA))), null, 21600.0);
+        when(delegate.calculateRoute(MADRID, BARCELONA))
+                .thenReturn(RouteDetails.fallback(MADRID, BARCELONA))
+                .thenReturn(details);
+        CachingRouteCalculator calculator = newCalculator();
+
+        assertThat(calculator.calculateRoute(MADRID, BARCELONA).fallback()).isTrue();
+        assertThat(calculator.calculateRoute(MADRID, BARCELONA)).isSameAs(details);
+        assertThat(calculator.calculateRoute(MADRID, BARCELONA)).isSameAs(details);
+
+        verify(delegate, times(2)).calculateRoute(MADRID, BARCELONA);
+    }
+
+    private CachingRouteCalculator newCalculator() {
+        return new CachingRouteCalculator(delegate, 0.001, 100, Duration.ofHours(24), meterRegistry);
+    }
+}
@@ -0,0 +1,126 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.model.Coordinates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GazetteerIndexTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void lookup_findsNamesAsciiNamesAndAlternatesAfterNormalization() throws IOException {
+        GazetteerIndex index = importRows(
+                row("Zaragoza", "Zaragoza", "Saragossa,Saragosse", 41.65606, -0.87734, 674317),
+                row("A Coruña", "A Coruna", "La Coruna,La Coruña", 43.37135, -8.396, 246056));
+
+        assertThat(index.lookup("zaragoza")).map(GazetteerIndex.Place::coordinates)
+                .contains(new Coordinates(41.65606, -0.87734));
+        assertThat(index.lookup("saragossa")).map(GazetteerIndex.Place::name).contains("Zaragoza");
+        assertThat(index.lookup(PlaceNames.normalize("  A CORUÑA "))).map(GazetteerIndex.Place::name).contains("A Coruña");
+        assertThat(index.lookup("la coruna")).map(GazetteerIndex.Place::population).contains(246056L);
+        assertThat(index.lookup("zaragoz")).isEmpty();
+        assertThat(index.lookup("atlantis")).isEmpty();
+    }
+
+    @Test
+    void lookup_sharedNameGoesToThePreferredCountryOverALargerPlaceAbroad() throws IOException {
+        GazetteerIndex index = importRows(
+                row("VE", "Valencia", "Valencia", "", 10.16202, -68.00765, 1385083),
+                row("ES", "Valencia", "Valencia", "València", 39.46975, -0.37739, 814208),
+                row("MX", "León de los Aldama", "Leon de los Aldama", "León", 21.12908, -101.67374, 1114626),
+                row("ES", "León", "Leon", "", 42.60003, -5.57032, 122051));
+
+        assertThat(index.lookup("valencia")).map(GazetteerIndex.Place::countryCode).contains("ES");
+        assertThat(index.lookup("valencia")).map(GazetteerIndex.Place::coordinates)
+                .contains(new Coordinates(39.46975, -0.37739));
+        assertThat(index.lookup("leon")).map(GazetteerIndex.Place::countryCode).contains("ES");
+        assertThat(index.lookup("leon de los aldama")).map(GazetteerIndex.Place::countryCode).contains("MX");
+    }
+
+    @Test
+    void lookup_leavesNamesSharedByPlacesOfEqualStandingToTheDelegate() throws IOException {
+        GazetteerIndex index = importRows(
+                row("FR", "Paris", "Paris", "", 48.85341, 2.3488, 2138551),
+                row("US", "Paris", "Paris", "", 33.66094, -95.55551, 24782),
+                row("GB", "London", "London", "Londres", 51.50853, -0.12574, 8961989),
+                row("AR", "Londres", "Londres", "", -27.71893, -67.13197, 2221));
+
+        assertThat(index.lookup("paris")).isEmpty();
+        // An alternate name never takes a key from a place that has it as its own name
+        assertThat(index.lookup("londres")).map(GazetteerIndex.Place::countryCode).contains("AR");
+        assertThat(index.findByPrefix("paris", 5, 10)).extracting(GazetteerIndex.Place::countryCode)
+                .containsExactly("FR");
+    }
+
+    @Test
+    void importDump_skipsNonPopulatedPlacesAndSmallTowns() throws IOException {
+        Path dump = tempDir.resolve("dump.txt");
+        Files.write(dump, List.of(
+                row("Teruel", "Teruel", "", 40.3456, -1.10646, 35890),
+                row("Tiny", "Tiny", "", 40.0, -1.0, 20),
+                row("Moncayo", "Moncayo", "", 41.78, -1.84, 0).replace("\tP\t", "\tT\t")));
+        Path file = tempDir.resolve("gazetteer.idx");
+
+        assertThat(GazetteerImporter.importDump(dump, file, 500, Set.of("ES"))).isEqualTo(1);
+        GazetteerIndex index = GazetteerIndex.open(file);
+        assertThat(index.lookup("teruel")).isPresent();
+        assertThat(index.lookup("tiny")).isEmpty();
+        assertThat(index.lookup("moncayo")).isEmpty();
+    }
+
+    @Test
+    void open_rejectsFilesThatAreNotAnIndex() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("garbage.idx"), "not an index at all");
+
+        assertThatThrownBy(() -> GazetteerIndex.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void geocoder_answersFromIndexAndFallsBackToDelegateOnMiss() throws IOException {
+        GazetteerIndex index = importRows(row("Huesca", "Huesca", "Osca", 42.13615, -0.4087, 52059));
+        RouteCalculatorPort delegate = mock(RouteCalculatorPort.class);
+        Coordinates ainsa = new Coordinates(42.4186, 0.1392);
+        when(delegate.geocode("Aínsa")).thenReturn(ainsa);
+        GazetteerGeocoder geocoder = new GazetteerGeocoder(index, delegate, new SimpleMeterRegistry());
+
+        assertThat(geocoder.geocode("OSCA")).isEqualTo(new Coordinates(42.13615, -0.4087));
+        verifyNoInteractions(delegate);
+        assertThat(geocoder.geocode("Aínsa")).isEqualTo(ainsa);
+        verify(delegate).geocode("Aínsa");
+    }
+
+    private GazetteerIndex importRows(String... rows) throws IOException {
+        Path dump = Files.write(tempDir.resolve("dump.txt"), List.of(rows));
+        Path file = tempDir.resolve("gazetteer.idx");
+        GazetteerImporter.importDump(dump, file, 0, Set.of("ES"));
+        return GazetteerIndex.open(file);
+    }
+
+    /** One GeoNames line (19 tab-separated columns) for a populated place in Spain. */
+    static String row(String name, String asciiName, String alternates, double lat, double lon, long population) {
+        return row("ES", name, asciiName, alternates, lat, lon, population);
+    }
+
+    static String row(String country, String name, String asciiName, String alternates, double lat, double lon,
+                      long population) {
+        String geonameId = Integer.toString(Math.abs((name + lat + lon).hashCode()));
+        return String.join("\t", geonameId, name, asciiName, alternates, Double.toString(lat), Double.toString(lon),
+                "P", "PPLA", country, "", "", "", "", "", Long.toString(population), "", "", "", "2024-01-01");
+    }
+}
@@ -0,0 +1,98 @@
+package com.routeweather.infrastructure.adapter.out.maps;
+
+import com.routeweather.application.port.out.RouteCalculatorPort;
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.PlaceSuggestion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlaceSuggestionIndexTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void findByPrefix_matchesNormalizedPrefixShortestFirst() {
+        PlaceSuggestionIndex index = new PlaceSuggestionIndex(GazetteerIndex.empty(), null, 100, 100);
+        index.add("San Sebastián de los Reyes", new Coordinates(40.5474, -3.6261));
+        index.add("San  Sebastián", new Coordinates(43.3183, -1.9812));
+        index.add("Santander", new Coordinates(43.4623, -3.8099));
+        index.add("Zaragoza", new Coordinates(41.6488, -0.8891));
+
+        assertThat(names(index.findByPrefix("SAN SEBAS", 10)))
+                .containsExactly("San Sebastián", "San Sebastián de los Reyes");
+        assertThat(names(index.findByPrefix("san", 2))).containsExactly("Santander", "San Sebastián");
+        assertThat(index.findByPrefix("zara", 10))
+                .containsExactly(new PlaceSuggestion("Zaragoza", new Coordinates(41.6488, -0.8891)));
+        assertThat(index.findByPrefix("bilbao", 10)).isEmpty();
+    }
+
+    @Test
+    void add_keepsFirstSpellingAndStopsAtCapacity() {
+        PlaceSuggestionIndex index = new PlaceSuggestionIndex(GazetteerIndex.empty(), null, 2, 100);
+        index.add("Teruel", new Coordinates(40.3456, -1.1065));
+        index.add("TERUEL", new Coordinates(0, 0));
+        index.add("Huesca", new Coordinates(42.1362, -0.4087));
+        index.add("Soria", new Coordinates(41.7636, -2.4649));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findByPrefix("ter", 5))
+                .containsExactly(new PlaceSuggestion("Teruel", new Coordinates(40.3456, -1.1065)));
+        assertThat(index.findByPrefix("soria", 5)).isEmpty();
+    }
+
+    @Test
+    void findByPrefix_fillsFromSeedThenGazetteerByPopulationWithoutDuplicates() throws IOException {
+        Path dump = Files.write(tempDir.resolve("dump.txt"), List.of(
+                GazetteerIndexTest.row("Valladolid", "Valladolid", "", 41.65518, -4.72372, 309714),
+                GazetteerIndexTest.row("Valencia", "Valencia", "València", 39.46975, -0.37739, 814208),
+                GazetteerIndexTest.row("Valdepeñas", "Valdepenas", "", 38.76211, -3.38483, 30869)));
+        GazetteerImporter.importDump(dump, tempDir.resolve("gazetteer.idx"), 0, Set.of("ES"));
+        GazetteerIndex gazetteer = GazetteerIndex.open(tempDir.resolve("gazetteer.idx"));
+        Path seed = Files.write(tempDir.resolve("seed.txt"), List.of(
+                "# name;latitude;longitude",
+                "Valladolid;41.6523;-4.7245",
+                "not a seed line"));
+
+        PlaceSuggestionIndex index = new PlaceSuggestionIndex(gazetteer, seed, 100, 100);
+
+        assertThat(names(index.findByPrefix("val", 10))).containsExactly("Valladolid", "Valencia", "Valdepeñas");
+        assertThat(index.findByPrefix("valladolid", 10)).singleElement()
+                .extracting(PlaceSuggestion::coordinates).isEqualTo(new Coordinates(41.6523, -4.7245));
+    }
+
+    @Test
+    void recorder_addsOnlyGazetteerPlacesUnderTheirOwnName() throws IOException {
+        Path dump = Files.write(tempDir.resolve("dump.txt"), List.of(
+                GazetteerIndexTest.row("Teruel", "Teruel", "", 40.3456, -1.10646, 35890)));
+        GazetteerImporter.importDump(dump, tempDir.resolve("gazetteer.idx"), 0, Set.of("ES"));
+        GazetteerIndex gazetteer = GazetteerIndex.open(tempDir.resolve("gazetteer.idx"));
+        PlaceSuggestionIndex index = new PlaceSuggestionIndex(GazetteerIndex.empty(), null, 100, 100);
+        RouteCalculatorPort delegate = mock(RouteCalculatorPort.class);
+        when(delegate.geocode("  TERUEL ")).thenReturn(new Coordinates(40.34, -1.10));
+        when(delegate.geocode("Calle de San Juan 12, Teruel")).thenReturn(new Coordinates(40.3441, -1.1069));
+        when(delegate.geocode("Teurel")).thenReturn(new Coordinates(40.34, -1.10));
+        PlaceSuggestionRecorder recorder = new PlaceSuggestionRecorder(delegate, gazetteer, index);
+
+        assertThat(recorder.geocode("  TERUEL ")).isEqualTo(new Coordinates(40.34, -1.10));
+        recorder.geocode("Calle de San Juan 12, Teruel");
+        recorder.geocode("Teurel");
+
+        assertThat(index.findByPrefix("te", 10))
+                .containsExactly(new PlaceSuggestion("Teruel", new Coordinates(40.3456, -1.10646)));
+        assertThat(index.findByPrefix("calle", 10)).isEmpty();
+    }
+
+    private static List<String> names(List<PlaceSuggestion> suggestions) {
+        return suggestions.stream().map(PlaceSuggestion::name).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.routeweather.infrastructure.adapter.out.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CircuitBreaker breaker =
+            new CircuitBreaker("test", 2, Duration.ofSeconds(30), now::get, new SimpleMeterRegistry());
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesAfterSuccessfulTrial() {
+        failOnce();
+        failOnce();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> breaker.call(calls::incrementAndGet)).isInstanceOf(CircuitOpenException.class);
+        assertThat(calls).hasValue(0);
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.call(calls::incrementAndGet)).isEqualTo(1);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenTrialCallFails() {
+        failOnce();
+        failOnce();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        failOnce();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> breaker.call(() -> {
+                throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null);
+            })).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void failOnce() {
+        assertThatThrownBy(() -> breaker.call(() -> {
+            throw new ResourceAccessException("connection refused");
+        })).isInstanceOf(ResourceAccessException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.routeweather.infrastructure.adapter.out.resilience;
+
+import com.routeweather.infrastructure.scheduling.CallPriority;
+import com.routeweather.infrastructure.scheduling.RequestContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgedCallsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HedgedCalls hedgedCalls = new HedgedCalls("test", Duration.ofMillis(20), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        hedgedCalls.close();
+    }
+
+    @Test
+    void hedgesACallSlowerThanRecentLatenciesAndTakesTheFasterAnswer() {
+        assertThat(hedgedCalls.hedgeDelayNanos()).isNegative();
+        for (int i = 0; i < 20; i++) {
+            hedgedCalls.call(() -> "warm-up");
+        }
+        assertThat(hedgedCalls.hedgeDelayNanos()).isEqualTo(Duration.ofMillis(20).toNanos());
+
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
+        String answer = hedgedCalls.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(Duration.ofSeconds(2));   // the stuck primary
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertThat(answer).isEqualTo("hedge");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("upstream.hedge.sent").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("upstream.hedge.won").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void cancelsTheLosingAttemptAndRunsAttemptsInTheCallersContext() throws Exception {
+        warmUp();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        List<CallPriority> priorities = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String answer;
+        try (RequestContext.Scope ignored = RequestContext.open(CallPriority.WARMUP, Duration.ofSeconds(5))) {
+            answer = hedgedCalls.call(() -> {
+                priorities.add(RequestContext.current().priority());
+                if (attempts.incrementAndGet() == 1) {
+                    try {
+                        Thread.sleep(Duration.ofSeconds(2));
+                    } catch (InterruptedException e) {
+                        primaryInterrupted.countDown();
+                    }
+                    return "primary";
+                }
+                return "hedge";
+            });
+        }
+
+        assertThat(answer).isEqualTo("hedge");
+        assertThat(primaryInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(priorities).containsOnly(CallPriority.WARMUP).hasSize(2);
+    }
+
+    @Test
+    void waitsForTheFirstAttemptWhenTheHedgeIsNotAllowed() {
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String answer = hedgedCalls.call(() -> {
+            attempts.incrementAndGet();
+            sleep(Duration.ofMillis(100));
+            return "primary";
+        }, () -> false);
+
+        assertThat(answer).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+        assertThat(meterRegistry.get("upstream.hedge.sent").counter().count()).isZero();
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 20; i++) {
+            hedgedCalls.call(() -> "warm-up");
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedFanOutTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedFanOut fanOut;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (fanOut != null) {
+            fanOut.close();
+        }
+    }
+
+    @Test
+    void map_runsAtMostThePerRequestLimitAtOnceAndKeepsInputOrder() throws Exception {
+        fanOut = new BoundedFanOut(2, 10, Duration.ofSeconds(5));
+
+        CompletableFuture<List<String>> results = CompletableFuture.supplyAsync(
+                () -> fanOut.map(List.of(1, 2, 3, 4, 5, 6), blockingCall(), item -> "fallback"));
+        awaitCondition(() -> inFlight.get() == 2);
+        Thread.sleep(50); // room for a third call to start if the limit leaked
+        assertThat(maxInFlight).hasValue(2);
+        release.countDown();
+
+        assertThat(results.get(2, TimeUnit.SECONDS)).containsExactly("1", "2", "3", "4", "5", "6");
+        assertThat(maxInFlight).hasValue(2);
+    }
+
+    @Test
+    void map_sharesTheGlobalLimitAcrossConcurrentRequests() throws Exception {
+        fanOut = new BoundedFanOut(3, 4, Duration.ofSeconds(5));
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(
+                () -> fanOut.map(List.of(1, 2, 3, 4), blockingCall(), item -> "fallback"));
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(
+                () -> fanOut.map(List.of(5, 6, 7, 8), blockingCall(), item -> "fallback"));
+        awaitCondition(() -> inFlight.get() == 4);
+        Thread.sleep(50);
+        assertThat(maxInFlight).hasValue(4);
+        release.countDown();
+
+        assertThat(first.get(2, TimeUnit.SECONDS)).containsExactly("1", "2", "3", "4");
+        assertThat(second.get(2, TimeUnit.SECONDS)).containsExactly("5", "6", "7", "8");
+        assertThat(maxInFlight).hasValue(4);
+    }
+
+    @Test
+    void map_interruptsACallThatTimesOutAndUsesItsFallback() throws Exception {
+        fanOut = new BoundedFanOut(2, 2, Duration.ofMillis(100));
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        List<String> results = fanOut.map(List.of(1, 2, 3), item -> {
+            if (item == 2) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+            return Integer.toString(item);
+        }, item -> "fallback " + item);
+
+        assertThat(results).containsExactly("1", "fallback 2", "3");
+        awaitCondition(interrupted::get);
+    }
+
+    /** A call that stays in flight until {@link #release} opens, recording peak concurrency. */
+    private Function<Integer, String> blockingCall() {
+        return item -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return Integer.toString(item);
+        };
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelRunScheduleTest {
+
+    private final ModelRunSchedule schedule = new ModelRunSchedule(List.of(18, 0, 6, 12), Duration.ofHours(4));
+
+    @Test
+    void nextUpdateAfter_isTheNextRunHourPlusTheAvailabilityDelay() {
+        assertThat(schedule.nextUpdateAfter(Instant.parse("2026-03-01T07:00:00Z")))
+                .isEqualTo(Instant.parse("2026-03-01T10:00:00Z"));
+        assertThat(schedule.nextUpdateAfter(Instant.parse("2026-03-01T10:00:00Z")))
+                .isEqualTo(Instant.parse("2026-03-01T16:00:00Z"));
+    }
+
+    @Test
+    void nextUpdateAfter_carriesLateRunsIntoTheNextDay() {
+        assertThat(schedule.nextUpdateAfter(Instant.parse("2026-03-01T23:30:00Z")))
+                .isEqualTo(Instant.parse("2026-03-02T04:00:00Z"));
+        assertThat(new ModelRunSchedule(List.of(12), Duration.ofHours(30))
+                .nextUpdateAfter(Instant.parse("2026-03-01T08:00:00Z")))
+                .isEqualTo(Instant.parse("2026-03-01T18:00:00Z"));
+    }
+
+    @Test
+    void rejectsHoursOutsideTheDay() {
+        assertThatThrownBy(() -> new ModelRunSchedule(List.of(0, 24), Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
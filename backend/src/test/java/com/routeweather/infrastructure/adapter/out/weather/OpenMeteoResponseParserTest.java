@@ -0,0 +1,50 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenMeteoResponseParserTest {
+
+    @Test
+    void parse_readsHourlyArraysAndSkipsUnknownFields() throws IOException {
+        String json = """
+                {"latitude":40.4,"elevation":650.0,"hourly_units":{"time":"iso8601"},
+                 "hourly":{"time":["2026-03-01T00:00","2026-03-01T01:00","2026-03-01T02:00"],
+                           "temperature_2m":[4.5,3.9,null],
+                           "precipitation":[0.0,1.2,0.4],
+                           "windspeed_10m":[11.7,14.2,9.0],
+                           "weathercode":[0,61,3],
+                           "relativehumidity_2m":[80,82,85]}}
+                """;
+
+        List<HourlySeries> series = parse(json);
+
+        assertThat(series).hasSize(1);
+        HourlySeries day = series.get(0);
+        assertThat(day.firstHour()).isEqualTo(LocalDateTime.of(2026, 3, 1, 0, 0));
+        assertThat(day.size()).isEqualTo(3);
+        assertThat(day.temperature()).containsExactly(4.5f, 3.9f, 0f);
+        assertThat(day.precipitation()).containsExactly(0f, 1.2f, 0.4f);
+        assertThat(day.windSpeed()).containsExactly((short) 11, (short) 14, (short) 9);
+        assertThat(day.weatherCode()).containsExactly((byte) 0, (byte) 61, (byte) 3);
+    }
+
+    @Test
+    void parse_reportsOpenMeteoErrors() {
+        assertThatThrownBy(() -> parse("{\"error\":true,\"reason\":\"Latitude must be in range\"}"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Latitude must be in range");
+    }
+
+    private static List<HourlySeries> parse(String json) throws IOException {
+        return OpenMeteoResponseParser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,293 @@
+package com.routeweather.infrastructure.adapter.out.weather;
+
+import com.routeweather.domain.model.Coordinates;
+import com.routeweather.domain.model.ForecastStatus;
+import com.routeweather.domain.model.TimedWaypoint;
+import com.routeweather.domain.model.WeatherCondition;
+import com.routeweather.domain.model.WeatherPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class OpenMeteoWeatherAdapterTest {
+
+    private static final Coordinates MADRID    = new Coordinates(40.4168, -3.7038);
+    private static final Coordinates BARCELONA = new Coordinates(41.3851, 2.1734);
+    private static final Coordinates VALENCIA  = new Coordinates(39.4699, -0.3763);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T07:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockRestServiceServer server;
+    private OpenMeteoWeatherAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        adapter = adapter(restTemplate, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.shutdown();
+    }
+
+    @Test
+    void getForecast_splitsBatchResponseBackIntoWaypointOrder() {
+        server.expect(once(), requestTo(containsString("start_date=2026-03-01&end_date=2026-03-01")))
+                .andRespond(withSuccess("[" + location(12.0, 0) + "," + location(3.0, 71) + "]", MediaType.APPLICATION_JSON));
+
+        List<WeatherPoint> points = adapter.getForecast(List.of(
+                new TimedWaypoint(MADRID,    LocalDateTime.of(2026, 3, 1, 8, 0)),
+                new TimedWaypoint(BARCELONA, LocalDateTime.of(2026, 3, 1, 14, 30))));
+
+        server.verify();
+        assertThat(points).extracting(WeatherPoint::coordinates).containsExactly(MADRID, BARCELONA);
+        assertThat(points.get(0).temperatureCelsius()).isEqualTo(20.0);   // 12 + hour 8
+        assertThat(points.get(1).temperatureCelsius()).isEqualTo(17.0);   // 3 + hour 14
+        assertThat(points.get(1).condition()).isEqualTo(WeatherCondition.SNOWY);
+    }
+
+    @Test
+    void getForecast_batchesCellsByDateInBatchesOfBatchSize() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        adapter.shutdown();
+        adapter = adapter(restTemplate, 5);   // batches of two cells
+        server.expect(once(), requestTo(allOf(containsString("latitude=40.45,41.35&"),
+                        containsString("start_date=2026-03-01&end_date=2026-03-01"))))
+                .andRespond(withSuccess("[" + location(12.0, 0) + "," + location(3.0, 0) + "]", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(allOf(containsString("latitude=42.05"),
+                        containsString("start_date=2026-03-01&end_date=2026-03-01"))))
+                .andRespond(withSuccess(location(7.0, 0), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(allOf(containsString("latitude=39.45&"),
+                        containsString("start_date=2026-03-15&end_date=2026-03-15"))))
+                .andRespond(withSuccess(location(LocalDate.of(2026, 3, 15), 20.0, 0), MediaType.APPLICATION_JSON));
+
+        List<WeatherPoint> points = adapter.getForecast(List.of(
+                new TimedWaypoint(MADRID,    LocalDateTime.of(2026, 3, 1, 8, 0)),
+                new TimedWaypoint(BARCELONA, LocalDateTime.of(2026, 3, 1, 10, 0)),
+                new TimedWaypoint(new Coordinates(42.0, -1.0), LocalDateTime.of(2026, 3, 1, 12, 0)),
+                new TimedWaypoint(VALENCIA,  LocalDateTime.of(2026, 3, 15, 9, 0))));
+
+        server.verify();
+        assertThat(points).extracting(WeatherPoint::temperatureCelsius).containsExactly(20.0, 13.0, 19.0, 29.0);
+    }
+
+    @Test
+    void getForecast_answersLaterWaypointsInTheSameCellAndDayFromCache() {
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withSuccess(location(10.0, 0), MediaType.APPLICATION_JSON));
+
+        adapter.getForecast(List.of(new TimedWaypoint(MADRID, LocalDateTime.of(2026, 3, 1, 8, 0))));
+        List<WeatherPoint> later = adapter.getForecast(List.of(
+                new TimedWaypoint(new Coordinates(40.4101, -3.7099), LocalDateTime.of(2026, 3, 1, 18, 0))));
+
+        server.verify();
+        assertThat(later.get(0).temperatureCelsius()).isEqualTo(28.0);
+    }
+
+    @Test
+    void getForecast_fallsBackToPerCellRequestsWhenBatchFails() {
+        server.expect(once(), requestTo(containsString("latitude=40.45,41.35")))
+                .andRespond(withServerError());
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withSuccess(location(1.0, 0), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withSuccess(location(1.0, 0), MediaType.APPLICATION_JSON));
+
+        List<WeatherPoint> points = adapter.getForecast(List.of(
+                new TimedWaypoint(MADRID,    LocalDateTime.of(2026, 3, 1, 8, 0)),
+                new TimedWaypoint(BARCELONA, LocalDateTime.of(2026, 3, 1, 9, 0))));
+
+        server.verify();
+        assertThat(points).extracting(WeatherPoint::temperatureCelsius).containsExactly(9.0, 10.0);
+    }
+
+    @Test
+    void getForecast_servesLastGoodForecastAsStaleWhenOpenMeteoFails() {
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withSuccess(location(10.0, 0), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withServerError());
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withServerError());
+
+        WeatherPoint fresh = adapter.getForecast(List.of(new TimedWaypoint(MADRID, LocalDateTime.of(2026, 3, 1, 8, 0)))).get(0);
+        clock.advance(Duration.ofHours(4));   // the 06 UTC run is out at 10:00, superseding the cached forecast
+        WeatherPoint stale = adapter.getForecast(List.of(new TimedWaypoint(MADRID, LocalDateTime.of(2026, 3, 1, 9, 0)))).get(0);
+        WeatherPoint unavailable = adapter.getForecast(List.of(new TimedWaypoint(BARCELONA, LocalDateTime.of(2026, 3, 1, 9, 0)))).get(0);
+
+        server.verify();
+        assertThat(fresh.status()).isEqualTo(ForecastStatus.FRESH);
+        assertThat(stale.status()).isEqualTo(ForecastStatus.STALE);
+        assertThat(stale.temperatureCelsius()).isEqualTo(19.0);
+        assertThat(unavailable.status()).isEqualTo(ForecastStatus.UNAVAILABLE);
+        assertThat(unavailable.condition()).isNull();
+    }
+
+    @Test
+    void getForecast_keepsForecastUntilTheNextModelRunIsAvailable() {
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withSuccess(location(10.0, 0), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withSuccess(location(5.0, 0), MediaType.APPLICATION_JSON));
+        TimedWaypoint madrid = new TimedWaypoint(MADRID, LocalDateTime.of(2026, 3, 1, 8, 0));
+
+        adapter.getForecast(List.of(madrid));
+        clock.advance(Duration.ofMinutes(179));   // 09:59, the 06 UTC run is not out yet
+        WeatherPoint cached = adapter.getForecast(List.of(madrid)).get(0);
+        clock.advance(Duration.ofMinutes(1));
+        WeatherPoint updated = adapter.getForecast(List.of(madrid)).get(0);
+
+        server.verify();
+        assertThat(cached.temperatureCelsius()).isEqualTo(18.0);
+        assertThat(updated.temperatureCelsius()).isEqualTo(13.0);
+        assertThat(updated.status()).isEqualTo(ForecastStatus.FRESH);
+    }
+
+    @Test
+    void refresh_refetchesOnlyCellsReadSinceTheirLastFetch() {
+        server.expect(once(), requestTo(containsString("latitude=40.45,41.35")))
+                .andRespond(withSuccess("[" + location(10.0, 0) + "," + location(3.0, 0) + "]", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(containsString("latitude=40.45&")))
+                .andRespond(withSuccess(location(5.0, 0), MediaType.APPLICATION_JSON));
+        TimedWaypoint madrid = new TimedWaypoint(MADRID, LocalDateTime.of(2026, 3, 1, 8, 0));
+
+        adapter.getForecast(List.of(madrid, new TimedWaypoint(BARCELONA, LocalDateTime.of(2026, 3, 1, 9, 0))));
+        adapter.getForecast(List.of(madrid));   // only Madrid is read again
+        assertThat(adapter.refresh(Instant.parse("2026-03-01T04:00:00Z"))).isZero();   // nothing superseded by that run
+        clock.advance(Duration.ofHours(3));
+
+        assertThat(adapter.refresh(Instant.parse("2026-03-01T10:00:00Z"))).isEqualTo(1);
+        WeatherPoint refreshed = adapter.getForecast(List.of(madrid)).get(0);
+
+        server.verify();
+        assertThat(refreshed.temperatureCelsius()).isEqualTo(13.0);
+    }
+
+    @Test
+    void refresh_servesClaimedCellsAsStaleUntilTheirReplacementIsStored() {
+        TimedWaypoint madrid = new TimedWaypoint(MADRID, LocalDateTime.of(2026, 3, 1, 8, 0));
+        List<WeatherPoint> duringRefresh = new ArrayList<>();
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withSuccess(location(10.0, 0), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(containsString("/forecast"))).andRespond(request -> {
+            // A request arriving while the pass is fetching gets the claimed cell, marked STALE, without a call of its own
+            duringRefresh.addAll(adapter.getForecast(List.of(madrid)));
+            return withSuccess(location(5.0, 0), MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        adapter.getForecast(List.of(madrid));
+        adapter.getForecast(List.of(madrid));
+        clock.advance(Duration.ofHours(3));   // 10:00, the 06 UTC run is out
+        adapter.refresh(Instant.parse("2026-03-01T10:00:00Z"));
+
+        server.verify();
+        assertThat(duringRefresh).singleElement().satisfies(point -> {
+            assertThat(point.temperatureCelsius()).isEqualTo(18.0);
+            assertThat(point.status()).isEqualTo(ForecastStatus.STALE);
+        });
+        assertThat(meterRegistry.counter("forecast.cells.stale.served").count()).isEqualTo(1);
+        WeatherPoint refreshed = adapter.getForecast(List.of(madrid)).get(0);
+        assertThat(refreshed.temperatureCelsius()).isEqualTo(13.0);
+        assertThat(refreshed.status()).isEqualTo(ForecastStatus.FRESH);
+    }
+
+    @Test
+    void getForecast_skipsOpenMeteoWhileItsCircuitIsOpen() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        adapter.shutdown();
+        adapter = adapter(restTemplate, 1);
+        server.expect(once(), requestTo(containsString("/forecast")))
+                .andRespond(withServerError());
+
+        adapter.getForecast(List.of(new TimedWaypoint(MADRID, LocalDateTime.of(2026, 3, 1, 8, 0))));
+        // The circuit opened on the first failure: no request is made for the second call
+        WeatherPoint point = adapter.getForecast(List.of(new TimedWaypoint(BARCELONA, LocalDateTime.of(2026, 3, 1, 8, 0)))).get(0);
+
+        server.verify();
+        assertThat(point.status()).isEqualTo(ForecastStatus.UNAVAILABLE);
+    }
+
+    /** Refresh passes are run by the tests themselves, not scheduled. */
+    private OpenMeteoWeatherAdapter adapter(RestTemplate restTemplate, int failureThreshold) {
+        return new OpenMeteoWeatherAdapter("http://open-meteo.test/v1", true, 2, 4, 8, Duration.ofSeconds(2),
+                0.1, DataSize.ofMegabytes(1), Duration.ofHours(24), List.of(0, 6, 12, 18), Duration.ofHours(4),
+                false, 100, failureThreshold, Duration.ofMinutes(1), Duration.ofMillis(200),
+                restTemplate, meterRegistry, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** One location with a day of hourly data; temperature rises by one degree per hour. */
+    private static String location(double baseTemperature, int weatherCode) {
+        return location(LocalDate.of(2026, 3, 1), baseTemperature, weatherCode);
+    }
+
+    private static String location(LocalDate date, double baseTemperature, int weatherCode) {
+        StringBuilder time = new StringBuilder();
+        StringBuilder temperature = new StringBuilder();
+        StringBuilder zeros = new StringBuilder();
+        StringBuilder codes = new StringBuilder();
+        for (int h = 0; h < 24; h++) {
+            String sep = h == 0 ? "" : ",";
+            time.append(sep).append(String.format("\"%sT%02d:00\"", date, h));
+            temperature.append(sep).append(baseTemperature + h);
+            zeros.append(sep).append(0);
+            codes.append(sep).append(weatherCode);
+        }
+        return "{\"hourly\":{\"time\":[" + time + "],\"temperature_2m\":[" + temperature
+                + "],\"precipitation\":[" + zeros + "],\"windspeed_10m\":[" + zeros
+                + "],\"weathercode\":[" + codes + "]}}";
+    }
+}
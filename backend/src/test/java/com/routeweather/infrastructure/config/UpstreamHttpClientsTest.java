@@ -0,0 +1,88 @@
+package com.routeweather.infrastructure.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamHttpClientsTest {
+
+    private static final UpstreamHttpClients.Settings SETTINGS = new UpstreamHttpClients.Settings(
+            4, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(1), Duration.ofSeconds(30));
+
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+    private final List<String> acceptEncodings = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamHttpClients clients;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            acceptEncodings.add(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = gzip("{\"ok\":true}");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        clients = new UpstreamHttpClients(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.close();
+        server.stop(0);
+    }
+
+    @Test
+    void reusesConnectionsAndDecompressesResponses() {
+        RestTemplate restTemplate = clients.create("test", SETTINGS);
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/forecast";
+
+        String first = restTemplate.getForObject(url, String.class);
+        String second = restTemplate.getForObject(url, String.class);
+
+        assertThat(first).isEqualTo("{\"ok\":true}");
+        assertThat(second).isEqualTo(first);
+        assertThat(acceptEncodings).allSatisfy(encoding -> assertThat(encoding).contains("gzip"));
+        // Both calls went over the same kept-alive connection
+        assertThat(clientPorts).hasSize(2);
+        assertThat(clientPorts.get(1)).isEqualTo(clientPorts.get(0));
+    }
+
+    @Test
+    void publishesPoolMetricsPerUpstream() {
+        clients.create("test", SETTINGS);
+
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "test").gauge().value())
+                .isEqualTo(4.0);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,50 @@
+package com.routeweather.infrastructure.observability;
+
+import com.routeweather.infrastructure.adapter.out.resilience.CircuitOpenException;
+import com.routeweather.infrastructure.scheduling.CallPriority;
+import com.routeweather.infrastructure.scheduling.RequestContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamCallTimerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamCallTimer callTimer = new UpstreamCallTimer("osrm", meterRegistry);
+
+    @Test
+    void tagsEachCallWithItsOutcome() {
+        callTimer.time(() -> "route");
+        assertThatThrownBy(() -> callTimer.time(() -> {
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        })).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> callTimer.time(() -> {
+            throw new CircuitOpenException("osrm circuit is open");
+        })).isInstanceOf(CircuitOpenException.class);
+
+        assertThat(countOf("success")).isEqualTo(1);
+        assertThat(countOf("server_error")).isEqualTo(1);
+        assertThat(countOf("circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void addsCallTimeToTheCurrentRequestsTimings() {
+        StageTimings timings = new StageTimings();
+        try (RequestContext.Scope ignored = RequestContext.open(new RequestContext(CallPriority.INTERACTIVE, null, timings))) {
+            callTimer.time(() -> "first");
+            callTimer.time(() -> "second");
+        }
+        callTimer.time(() -> "outside the request");
+
+        assertThat(timings.toHeaderValue()).matches("osrm;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d");
+        assertThat(countOf("success")).isEqualTo(3);
+    }
+
+    private long countOf(String outcome) {
+        return meterRegistry.get("upstream.call").tag("upstream", "osrm").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.routeweather.infrastructure.scheduling;
+
+import com.routeweather.application.port.in.GetRouteWeatherUseCase;
+import com.routeweather.application.port.in.RouteWeatherQuery;
+import com.routeweather.application.service.PopularRouteTracker;
+import com.routeweather.domain.model.RouteWeatherReport;
+import com.routeweather.infrastructure.observability.UpstreamCallTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PopularRouteWarmerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-02T10:00:00Z"), ZoneOffset.UTC);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamCallTimer upstream = new UpstreamCallTimer("osrm", meterRegistry);
+    private final List<RouteWeatherQuery> warmed = new ArrayList<>();
+
+    /** Each warmed query costs two upstream calls, at WARMUP priority. */
+    private final GetRouteWeatherUseCase routeWeather = query -> {
+        assertThat(RequestContext.current().priority()).isEqualTo(CallPriority.WARMUP);
+        upstream.time(() -> "geocode");
+        upstream.time(() -> "route");
+        warmed.add(query);
+        return mock(RouteWeatherReport.class);
+    };
+
+    @Test
+    void warm_coversUpcomingDeparturesOfTopRoutesMostPopularFirst() {
+        PopularRouteTracker tracker = new PopularRouteTracker(mock(GetRouteWeatherUseCase.class), 256, 8);
+        ask(tracker, "Madrid", "Barcelona", LocalTime.of(8, 30), 3);
+        ask(tracker, "Bilbao", "Zaragoza", LocalTime.of(17, 0), 1);
+
+        int answered = newWarmer(tracker, 100).warm();
+
+        // 08:00 today has already passed at 10:00; 17:00 today has not
+        assertThat(answered).isEqualTo(5);
+        assertThat(warmed).containsExactly(
+                query("madrid", "barcelona", "2026-03-03", 8),
+                query("madrid", "barcelona", "2026-03-04", 8),
+                query("bilbao", "zaragoza", "2026-03-02", 17),
+                query("bilbao", "zaragoza", "2026-03-03", 17),
+                query("bilbao", "zaragoza", "2026-03-04", 17));
+    }
+
+    @Test
+    void warm_stopsWhenTheUpstreamCallBudgetIsSpent() {
+        PopularRouteTracker tracker = new PopularRouteTracker(mock(GetRouteWeatherUseCase.class), 256, 8);
+        ask(tracker, "Madrid", "Barcelona", LocalTime.of(18, 0), 1);
+
+        int answered = newWarmer(tracker, 5).warm();
+
+        // two queries fit in five calls; the third is rejected halfway and the pass stops
+        assertThat(answered).isEqualTo(2);
+        assertThat(meterRegistry.get("upstream.call").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("route.warmer.budget.exhausted").counter().count()).isEqualTo(0);
+        assertThat(meterRegistry.get("route.warmer.queries").tag("outcome", "failed").counter().count()).isEqualTo(1);
+    }
+
+    private PopularRouteWarmer newWarmer(PopularRouteTracker tracker, int callBudget) {
+        return new PopularRouteWarmer(tracker, routeWeather, 10, 3, callBudget,
+                Duration.ofSeconds(10), Duration.ZERO, meterRegistry, CLOCK);
+    }
+
+    private static void ask(PopularRouteTracker tracker, String origin, String destination, LocalTime time, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.getWeatherForRoute(new RouteWeatherQuery(origin, destination, LocalDate.of(2026, 3, 1), time));
+        }
+    }
+
+    private static RouteWeatherQuery query(String origin, String destination, String date, int hour) {
+        return new RouteWeatherQuery(origin, destination, LocalDate.parse(date), LocalTime.of(hour, 0));
+    }
+}
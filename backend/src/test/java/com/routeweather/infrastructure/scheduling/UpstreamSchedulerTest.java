@@ -0,0 +1,167 @@
+package com.routeweather.infrastructure.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UpstreamScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void runsCallsWithTheSameKeyOnce() throws Exception {
+        scheduler = new UpstreamScheduler("test", 100, 10, meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> scheduler.call("paris", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "result";
+        }));
+        awaitExecutions(executions, 1);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                () -> scheduler.call("paris", () -> "not called"));
+        awaitCount("upstream.scheduler.deduplicated", 1);
+        release.countDown();
+
+        assertThat(first.get(2, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(second.get(2, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void startsInteractiveCallsBeforeWarmUpCallsQueuedEarlier() throws Exception {
+        scheduler = new UpstreamScheduler("test", 5, 1, meterRegistry);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.call("token", () -> "spends the only token");
+
+        CompletableFuture<Void> warmUp = submit(CallPriority.WARMUP, () -> scheduler.call("warm-up", () -> order.add("warm-up")));
+        awaitQueueDepth(1);
+        CompletableFuture<Void> interactive = submit(CallPriority.INTERACTIVE, () -> scheduler.call("interactive", () -> order.add("interactive")));
+        awaitQueueDepth(2);
+
+        CompletableFuture.allOf(warmUp, interactive).get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly("interactive", "warm-up");
+    }
+
+    @Test
+    void raisesAQueuedWarmUpCallWhenAnInteractiveCallerJoinsIt() throws Exception {
+        scheduler = new UpstreamScheduler("test", 5, 1, meterRegistry);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.call("token", () -> "spends the only token");
+
+        CompletableFuture<Void> batch = submit(CallPriority.BATCH, () -> scheduler.call("batch", () -> order.add("batch")));
+        awaitQueueDepth(1);
+        CompletableFuture<Void> warmUp = submit(CallPriority.WARMUP, () -> scheduler.call("madrid", () -> order.add("madrid")));
+        awaitQueueDepth(2);
+        CompletableFuture<Void> interactive = submit(CallPriority.INTERACTIVE, () -> scheduler.call("madrid", () -> order.add("never")));
+        awaitCount("upstream.scheduler.deduplicated", 1);
+
+        CompletableFuture.allOf(batch, warmUp, interactive).get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly("madrid", "batch");
+    }
+
+    @Test
+    void grantsAnExtraRequestOnlyAFreeTokenWhichQueuedCallsThenWaitFor() throws Exception {
+        scheduler = new UpstreamScheduler("test", 5, 2, meterRegistry);
+
+        assertThat(scheduler.tryAcquireExtra()).isTrue();
+        scheduler.call("token", () -> "spends the last token");
+        assertThat(scheduler.tryAcquireExtra()).isFalse();
+
+        long start = System.nanoTime();
+        scheduler.call("next", () -> "waits for a refill");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    void rejectsACallThatCouldNotStartBeforeTheDeadline() throws Exception {
+        scheduler = new UpstreamScheduler("test", 1, 1, meterRegistry);
+        scheduler.call("token", () -> "spends the only token");
+        submit(CallPriority.BATCH, () -> scheduler.call("queued", () -> "queued"));
+        awaitQueueDepth(1);
+
+        try (RequestContext.Scope ignored = RequestContext.open(CallPriority.BATCH, Duration.ofMillis(100))) {
+            // Rejected up front from the predicted wait, not after waiting out the deadline
+            assertThatThrownBy(() -> scheduler.call("late", () -> "never"))
+                    .isInstanceOf(SchedulerRejectedException.class)
+                    .hasMessageContaining("would wait");
+        }
+
+        assertThat(meterRegistry.get("upstream.scheduler.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void executorHandsTheSubmittersContextToTheTask() throws Exception {
+        try (ExecutorService executor = new ContextPropagatingExecutorService(Executors.newVirtualThreadPerTaskExecutor())) {
+            CompletableFuture<RequestContext> seen;
+            RequestContext batch;
+            try (RequestContext.Scope ignored = RequestContext.open(CallPriority.BATCH, Duration.ofSeconds(5))) {
+                batch = RequestContext.current();
+                seen = CompletableFuture.supplyAsync(RequestContext::current, executor);
+            }
+
+            assertThat(seen.get(2, TimeUnit.SECONDS)).isEqualTo(batch);
+            assertThat(RequestContext.current()).isEqualTo(RequestContext.DEFAULT);
+        }
+    }
+
+    private static CompletableFuture<Void> submit(CallPriority priority, Runnable call) {
+        return CompletableFuture.runAsync(() -> {
+            try (RequestContext.Scope ignored = RequestContext.open(priority, Duration.ofSeconds(5))) {
+                call.run();
+            }
+        });
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        awaitCondition(() -> meterRegistry.get("upstream.scheduler.queue.depth").gauge().value() >= depth);
+    }
+
+    private void awaitCount(String counter, int count) throws InterruptedException {
+        awaitCondition(() -> meterRegistry.get(counter).counter().count() >= count);
+    }
+
+    private static void awaitExecutions(AtomicInteger executions, int count) throws InterruptedException {
+        awaitCondition(() -> executions.get() >= count);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
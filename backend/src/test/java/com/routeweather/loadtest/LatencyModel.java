@@ -0,0 +1,43 @@
+package com.routeweather.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Log-normal response times: most calls near the median, with a long tail reaching
+ * {@code p99} for one call in a hundred, the shape upstream HTTP latencies usually have.
+ */
+record LatencyModel(Duration median, Duration p99) {
+
+    private static final double Z_99 = 2.326;
+
+    LatencyModel {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99 must not be below the median");
+        }
+    }
+
+    /** Parses {@code <median>/<p99>}, e.g. {@code 60ms/400ms}. */
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected <median>/<p99>, got: " + spec);
+        }
+        return new LatencyModel(DurationStyle.detectAndParse(parts[0].trim()), DurationStyle.detectAndParse(parts[1].trim()));
+    }
+
+    long sampleMillis(Random random) {
+        if (median.isZero()) {
+            return 0;
+        }
+        double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        return Math.round(median.toMillis() * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    @Override
+    public String toString() {
+        return "median " + median.toMillis() + " ms, p99 " + p99.toMillis() + " ms";
+    }
+}
@@ -0,0 +1,202 @@
+package com.routeweather.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Replays the upstream responses in src/test/resources/loadtest, adapted to each request so
+ * that different routes produce different geometry and forecast cells (and so exercise the
+ * caches the way real traffic does):
+ *
+ *  - nominatim-search.json:   the place's coordinates are derived from its name, spread over
+ *                             the Iberian peninsula
+ *  - osrm-route.json:         the recorded geometry is rotated and stretched onto the requested
+ *                             origin and destination, then densified to {@code routePoints}
+ *  - openmeteo-forecast.json: the recorded day is repeated for every requested location and
+ *                             day, at the requested coordinates
+ *
+ * Replace the files with real captures to replay those instead; only the fields the
+ * adapters read are rewritten.
+ */
+final class RecordedResponses {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final JsonNode nominatim = load("nominatim-search.json");
+    private final JsonNode osrm = load("osrm-route.json");
+    private final JsonNode openMeteo = load("openmeteo-forecast.json");
+    private final int routePoints;
+
+    RecordedResponses(int routePoints) {
+        this.routePoints = routePoints;
+    }
+
+    byte[] nominatim(URI request) {
+        String place = query(request).getOrDefault("q", "");
+        int hash = place.toLowerCase().hashCode();
+        double latitude = 37.0 + Math.floorMod(hash, 6000) / 1000.0;
+        double longitude = -8.0 + Math.floorMod(hash / 6000, 10000) / 1000.0;
+
+        ArrayNode results = nominatim.deepCopy();
+        ObjectNode first = (ObjectNode) results.get(0);
+        first.put("lat", String.format(Locale.ROOT, "%.7f", latitude));
+        first.put("lon", String.format(Locale.ROOT, "%.7f", longitude));
+        first.put("name", place);
+        first.put("display_name", place + ", España");
+        return write(results);
+    }
+
+    /** Answers /route/v1/driving/{lon},{lat};{lon},{lat}. */
+    byte[] osrm(URI request) {
+        String[] ends = request.getPath().substring(request.getPath().lastIndexOf('/') + 1).split(";");
+        double[] from = lonLat(ends[0]);
+        double[] to = lonLat(ends[1]);
+
+        ObjectNode response = osrm.deepCopy();
+        ObjectNode route = (ObjectNode) response.get("routes").get(0);
+        JsonNode recorded = route.get("geometry").get("coordinates");
+        double[] a = lonLat(recorded.get(0));
+        double[] b = lonLat(recorded.get(recorded.size() - 1));
+
+        // Similarity transform (as complex numbers): p' = from + (p - a) * (to - from) / (b - a)
+        double dx = b[0] - a[0], dy = b[1] - a[1];
+        double scale = dx * dx + dy * dy;
+        double re = ((to[0] - from[0]) * dx + (to[1] - from[1]) * dy) / scale;
+        double im = ((to[1] - from[1]) * dx - (to[0] - from[0]) * dy) / scale;
+
+        int perSegment = Math.max(1, (routePoints - 1) / (recorded.size() - 1));
+        ArrayNode coordinates = JSON.createArrayNode();
+        ArrayNode durations = JSON.createArrayNode();
+        double totalSeconds = 0;
+        double[] previous = null;
+        for (int i = 0; i < recorded.size() - 1; i++) {
+            double[] p = lonLat(recorded.get(i));
+            double[] q = lonLat(recorded.get(i + 1));
+            for (int k = 0; k < perSegment; k++) {
+                double t = (double) k / perSegment;
+                double x = p[0] + (q[0] - p[0]) * t - a[0];
+                double y = p[1] + (q[1] - p[1]) * t - a[1];
+                double[] point = {from[0] + x * re - y * im, from[1] + x * im + y * re};
+                previous = append(coordinates, durations, previous, point);
+            }
+        }
+        append(coordinates, durations, previous, to);
+        for (JsonNode duration : durations) {
+            totalSeconds += duration.asDouble();
+        }
+
+        ((ObjectNode) route.get("geometry")).set("coordinates", coordinates);
+        ObjectNode leg = (ObjectNode) route.get("legs").get(0);
+        ((ObjectNode) leg.get("annotation")).set("duration", durations);
+        leg.put("duration", totalSeconds);
+        route.put("duration", totalSeconds);
+        return write(response);
+    }
+
+    /** Answers /forecast?latitude=..&longitude=..&start_date=..&end_date=.. for one or more locations. */
+    byte[] openMeteo(URI request) {
+        Map<String, String> query = query(request);
+        String[] latitudes = query.get("latitude").split(",");
+        String[] longitudes = query.get("longitude").split(",");
+        LocalDate start = LocalDate.parse(query.get("start_date"));
+        int days = (int) ChronoUnit.DAYS.between(start, LocalDate.parse(query.get("end_date"))) + 1;
+
+        JsonNode hourly = openMeteo.get("hourly");
+        int recordedHours = hourly.get("time").size();
+        ArrayNode locations = JSON.createArrayNode();
+        for (int l = 0; l < latitudes.length; l++) {
+            ObjectNode location = openMeteo.deepCopy();
+            location.put("latitude", Double.parseDouble(latitudes[l]));
+            location.put("longitude", Double.parseDouble(longitudes[l]));
+            ObjectNode series = JSON.createObjectNode();
+            ArrayNode time = series.putArray("time");
+            for (int h = 0; h < days * 24; h++) {
+                time.add(start.atStartOfDay().plusHours(h).toString());
+            }
+            hourly.fields().forEachRemaining(field -> {
+                if (!field.getKey().equals("time")) {
+                    ArrayNode values = series.putArray(field.getKey());
+                    for (int h = 0; h < days * 24; h++) {
+                        values.add(field.getValue().get(h % recordedHours));
+                    }
+                }
+            });
+            location.set("hourly", series);
+            locations.add(location);
+        }
+        return write(locations.size() == 1 ? locations.get(0) : locations);
+    }
+
+    private static double[] append(ArrayNode coordinates, ArrayNode durations, double[] previous, double[] point) {
+        coordinates.addArray().add(Math.round(point[0] * 1e6) / 1e6).add(Math.round(point[1] * 1e6) / 1e6);
+        if (previous != null) {
+            // Motorway speed, 100 km/h
+            durations.add(Math.round(distanceKm(previous, point) * 36 * 10) / 10.0);
+        }
+        return point;
+    }
+
+    private static double distanceKm(double[] a, double[] b) {
+        double dLat = Math.toRadians(b[1] - a[1]);
+        double dLon = Math.toRadians(b[0] - a[0]) * Math.cos(Math.toRadians((a[1] + b[1]) / 2));
+        return 6371 * Math.sqrt(dLat * dLat + dLon * dLon);
+    }
+
+    private static double[] lonLat(String pair) {
+        String[] parts = pair.split(",");
+        return new double[] {Double.parseDouble(parts[0]), Double.parseDouble(parts[1])};
+    }
+
+    private static double[] lonLat(JsonNode pair) {
+        return new double[] {pair.get(0).asDouble(), pair.get(1).asDouble()};
+    }
+
+    private static Map<String, String> query(URI request) {
+        Map<String, String> params = new HashMap<>();
+        String raw = request.getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static JsonNode load(String name) {
+        try (InputStream in = RecordedResponses.class.getResourceAsStream("/loadtest/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing recorded response: loadtest/" + name);
+            }
+            return JSON.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] write(JsonNode node) {
+        try {
+            return JSON.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.routeweather.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test: drives the full application through POST /api/routes/weather at a fixed rate
+ * against local stand-ins for Nominatim, OSRM and Open-Meteo, then prints throughput,
+ * latency percentiles, upstream calls per report and the mean Server-Timing breakdown.
+ *
+ * Excluded from the regular build; run with
+ *   mvn -Pload-test test [-Dloadtest.rps=50 -Dloadtest.duration=60s ...]
+ *
+ * Settings (system properties):
+ *   loadtest.rps, loadtest.duration        arrival rate and how long to keep it up
+ *   loadtest.routes                        distinct origin/destination pairs requested
+ *   loadtest.route-points                  OSRM geometry points per route
+ *   loadtest.<upstream>.latency            median/p99, e.g. 60ms/400ms
+ *   loadtest.<upstream>.error-rate         fraction answered with 503
+ *   loadtest.<upstream>.rate-limit         requests per second before 429s, 0 for none
+ *   loadtest.log-level                     application log level, WARN by default
+ * with upstream one of nominatim, osrm, openmeteo. Any application property (rate limits,
+ * cache sizes, concurrency) can be overridden the same way, e.g.
+ * -Dexternal.nominatim.rate-limit.permits-per-second=1 to reproduce the public limit.
+ *
+ * Requests are sent open-loop: each is due at a fixed offset from the start and its
+ * latency is measured from that moment, so a slow server cannot slow the offered load
+ * down and hide its own queueing.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.routeweather=${loadtest.log-level:WARN}")
+class RouteWeatherLoadTest {
+
+    private static final String[] PLACES = {
+            "Madrid", "Barcelona", "Valencia", "Sevilla", "Zaragoza", "Málaga", "Murcia", "Palma",
+            "Bilbao", "Alicante", "Córdoba", "Valladolid", "Vigo", "Gijón", "Granada", "A Coruña",
+            "Vitoria", "Elche", "Oviedo", "Pamplona", "Santander", "Almería", "San Sebastián", "Burgos",
+            "Salamanca", "Albacete", "Logroño", "Badajoz", "Huelva", "León", "Tarragona", "Cádiz",
+            "Lleida", "Jaén", "Ourense", "Girona", "Lugo", "Cáceres", "Toledo", "Segovia"};
+
+    private static final RecordedResponses RESPONSES = new RecordedResponses(intSetting("loadtest.route-points", 3000));
+    private static final UpstreamStandIn NOMINATIM = standIn("nominatim", "40ms/250ms", 0.01, 100, RESPONSES::nominatim);
+    private static final UpstreamStandIn OSRM = standIn("osrm", "60ms/400ms", 0.01, 100, RESPONSES::osrm);
+    private static final UpstreamStandIn OPEN_METEO = standIn("openmeteo", "50ms/300ms", 0.01, 0, RESPONSES::openMeteo);
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreams(DynamicPropertyRegistry registry) {
+        registry.add("external.nominatim.base-url", NOMINATIM::baseUrl);
+        registry.add("external.osrm.base-url", OSRM::baseUrl);
+        registry.add("external.openmeteo.base-url", OPEN_METEO::baseUrl);
+        registry.add("external.openrouteservice.api-key", () -> "stub");
+        registry.add("external.nominatim.cache.file", () -> "");   // start cold on every run
+        // The public Nominatim limit (1/s) would throttle everything else out of the picture
+        registry.add("external.nominatim.rate-limit.permits-per-second",
+                () -> setting("external.nominatim.rate-limit.permits-per-second", "80"));
+        registry.add("external.nominatim.rate-limit.burst", () -> setting("external.nominatim.rate-limit.burst", "20"));
+        registry.add("external.osrm.rate-limit.permits-per-second",
+                () -> setting("external.osrm.rate-limit.permits-per-second", "80"));
+        registry.add("external.osrm.rate-limit.burst", () -> setting("external.osrm.rate-limit.burst", "20"));
+    }
+
+    @AfterAll
+    static void stopStandIns() {
+        NOMINATIM.close();
+        OSRM.close();
+        OPEN_METEO.close();
+    }
+
+    @Test
+    void sustainsTargetRate() throws Exception {
+        double rps = Double.parseDouble(setting("loadtest.rps", "20"));
+        Duration duration = DurationStyle.detectAndParse(setting("loadtest.duration", "30s"));
+        List<String> bodies = requestBodies(intSetting("loadtest.routes", 60));
+        int total = (int) (rps * duration.toMillis() / 1000);
+        long periodNanos = (long) (1e9 / rps);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/routes/weather");
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        Map<String, LongAdder> stageNanos = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long due = start + i * periodNanos;
+                TimeUnit.NANOSECONDS.sleep(Math.max(0, due - System.nanoTime()));
+                String body = bodies.get(i % bodies.size());
+                senders.execute(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(30))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    String status;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        status = String.valueOf(response.statusCode());
+                        response.headers().firstValue("Server-Timing").ifPresent(header -> addStages(header, stageNanos));
+                    } catch (Exception e) {
+                        status = e.getClass().getSimpleName();
+                    }
+                    latencies.add(System.nanoTime() - due);
+                    statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long ok = statuses.getOrDefault("200", new LongAdder()).sum();
+        System.out.println(report(rps, duration, total, elapsedSeconds, latencies, statuses, stageNanos, ok));
+        assertThat(latencies).hasSize(total);
+    }
+
+    /** A request body per distinct route, departing over the next few days. */
+    private static List<String> requestBodies(int routes) {
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < routes; i++) {
+            String origin = PLACES[i % PLACES.length];
+            String destination = PLACES[(i * 7 + 3) % PLACES.length];
+            if (origin.equals(destination)) {
+                destination = PLACES[(i + 1) % PLACES.length];
+            }
+            bodies.add("""
+                    {"origin":"%s","destination":"%s","travelDate":"%s","departureTime":"%02d:00"}
+                    """.formatted(origin, destination, LocalDate.now().plusDays(1 + i % 3), 6 + i % 12));
+        }
+        return bodies;
+    }
+
+    private static void addStages(String header, Map<String, LongAdder> stageNanos) {
+        for (String entry : header.split(",")) {
+            String[] parts = entry.trim().split(";dur=");
+            if (parts.length == 2) {
+                stageNanos.computeIfAbsent(parts[0], s -> new LongAdder())
+                        .add((long) (Double.parseDouble(parts[1]) * 1e6));
+            }
+        }
+    }
+
+    private static String report(double rps, Duration duration, int total, double elapsedSeconds,
+                                 ConcurrentLinkedQueue<Long> latencies, Map<String, LongAdder> statuses,
+                                 Map<String, LongAdder> stageNanos, long ok) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        StringBuilder out = new StringBuilder("\n=== Route weather load test ===\n");
+        out.append(String.format("Offered      %.1f req/s for %s (%d requests)%n", rps, duration, total));
+        out.append(String.format("Throughput   %.1f req/s, %.1f ok/s%n", total / elapsedSeconds, ok / elapsedSeconds));
+        out.append("Responses    ").append(new TreeMap<>(statuses)).append('\n');
+        out.append(String.format("Latency ms   p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+        out.append("Upstream calls (per successful report):\n");
+        for (UpstreamStandIn upstream : List.of(NOMINATIM, OSRM, OPEN_METEO)) {
+            out.append(String.format("  %-10s %6d calls (%.2f), %d errors, %d throttled  [%s]%n",
+                    upstream.name(), upstream.calls(), ok == 0 ? 0.0 : (double) upstream.calls() / ok,
+                    upstream.errors(), upstream.throttled(), upstream.behaviour()));
+        }
+        out.append("Mean Server-Timing ms (per successful report):\n");
+        new TreeMap<>(stageNanos).forEach((stage, nanos) ->
+                out.append(String.format("  %-10s %8.1f%n", stage, ok == 0 ? 0.0 : nanos.sum() / 1e6 / ok)));
+        return out.toString();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static UpstreamStandIn standIn(String name, String latency, double errorRate, double rateLimit,
+                                           Function<URI, byte[]> responder) {
+        return new UpstreamStandIn(name, new UpstreamStandIn.Behaviour(
+                LatencyModel.parse(setting("loadtest." + name + ".latency", latency)),
+                Double.parseDouble(setting("loadtest." + name + ".error-rate", String.valueOf(errorRate))),
+                Double.parseDouble(setting("loadtest." + name + ".rate-limit", String.valueOf(rateLimit)))),
+                responder);
+    }
+
+    private static String setting(String key, String defaultValue) {
+        return System.getProperty(key, defaultValue);
+    }
+
+    private static int intSetting(String key, int defaultValue) {
+        return Integer.parseInt(setting(key, String.valueOf(defaultValue)));
+    }
+}
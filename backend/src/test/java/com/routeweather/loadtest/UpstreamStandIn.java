@@ -0,0 +1,136 @@
+package com.routeweather.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A local stand-in for one upstream API, served by the JDK HTTP server on a random port.
+ *
+ * Every request is first checked against a token-bucket rate limit (429 with Retry-After
+ * when exceeded, like Nominatim's), then delayed by a sample of the latency model, then
+ * failed with a 503 at the configured error rate or answered by the responder.
+ */
+final class UpstreamStandIn implements AutoCloseable {
+
+    /** How the stand-in behaves; permitsPerSecond 0 disables the rate limit. */
+    record Behaviour(LatencyModel latency, double errorRate, double permitsPerSecond) {
+
+        @Override
+        public String toString() {
+            return String.format("latency %s, error rate %.1f%%, rate limit %s", latency, errorRate * 100,
+                    permitsPerSecond > 0 ? permitsPerSecond + "/s" : "none");
+        }
+    }
+
+    private final String name;
+    private final Behaviour behaviour;
+    private final Function<URI, byte[]> responder;
+    private final HttpServer server;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    private double tokens;
+    private long refilledAtNanos = System.nanoTime();
+
+    UpstreamStandIn(String name, Behaviour behaviour, Function<URI, byte[]> responder) {
+        this.name = name;
+        this.behaviour = behaviour;
+        this.responder = responder;
+        this.tokens = Math.max(1, behaviour.permitsPerSecond());
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the " + name + " stand-in", e);
+        }
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String name() {
+        return name;
+    }
+
+    Behaviour behaviour() {
+        return behaviour;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    long throttled() {
+        return throttled.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            calls.incrementAndGet();
+            if (!tryAcquire()) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            sleep(behaviour.latency().sampleMillis(random));
+            if (random.nextDouble() < behaviour.errorRate()) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] body = responder.apply(exchange.getRequestURI());
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private synchronized boolean tryAcquire() {
+        double rate = behaviour.permitsPerSecond();
+        if (rate <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(Math.max(1, rate), tokens + (now - refilledAtNanos) / 1e9 * rate);
+        refilledAtNanos = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
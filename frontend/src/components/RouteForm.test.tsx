@@ -1,8 +1,15 @@
-import { render, screen, fireEvent } from '@testing-library/react'
-import { describe, it, expect, vi } from 'vitest'
+import { render, screen, fireEvent, waitFor } from '@testing-library/react'
+import { beforeEach, describe, it, expect, vi } from 'vitest'
 import { RouteForm } from './RouteForm'
+import { suggestPlaces } from '../services/api'
+
+vi.mock('../services/api', () => ({ suggestPlaces: vi.fn() }))
 
 describe('RouteForm', () => {
+  beforeEach(() => {
+    vi.mocked(suggestPlaces).mockReset().mockResolvedValue([])
+  })
+
   it('renders origin, destination and date inputs', () => {
     render(<RouteForm onSubmit={vi.fn()} loading={false} />)
 
@@ -25,6 +32,33 @@ describe('RouteForm', () => {
       origin: 'Madrid',
       destination: 'Barcelona',
       travelDate: '2026-03-01',
+      departureTime: '08:00',
+    })
+  })
+
+  it('submits the coordinates of a place picked from the suggestions', async () => {
+    vi.mocked(suggestPlaces).mockResolvedValue([
+      { name: 'Valencia', latitude: 39.46975, longitude: -0.37739 },
+      { name: 'Valladolid', latitude: 41.65518, longitude: -4.72372 },
+    ])
+    const onSubmit = vi.fn()
+    const { container } = render(<RouteForm onSubmit={onSubmit} loading={false} />)
+
+    fireEvent.change(screen.getByLabelText('From'), { target: { value: 'Val' } })
+    await waitFor(() => expect(container.querySelectorAll('#origin-suggestions option')).toHaveLength(2))
+    expect(suggestPlaces).toHaveBeenCalledWith('Val', expect.any(AbortSignal))
+
+    fireEvent.change(screen.getByLabelText('From'), { target: { value: 'Valencia' } })
+    fireEvent.change(screen.getByLabelText('To'), { target: { value: 'Madrid' } })
+    fireEvent.change(screen.getByLabelText('Date'), { target: { value: '2026-03-01' } })
+    fireEvent.submit(screen.getByRole('form', { name: 'Route form' }))
+
+    expect(onSubmit).toHaveBeenCalledWith({
+      origin: 'Valencia',
+      destination: 'Madrid',
+      travelDate: '2026-03-01',
+      departureTime: '08:00',
+      originCoordinates: { latitude: 39.46975, longitude: -0.37739 },
     })
   })
 
@@ -1,5 +1,41 @@
-import { useState, type FormEvent } from 'react'
-import type { RouteRequest } from '../types'
+import { useEffect, useState, type FormEvent } from 'react'
+import { suggestPlaces } from '../services/api'
+import type { CoordinatesRequest, PlaceSuggestion, RouteRequest } from '../types'
+
+const SUGGEST_DELAY_MS = 150
+
+/** Place suggestions for the text typed so far, fetched once typing pauses. */
+function usePlaceSuggestions(text: string): PlaceSuggestion[] {
+  const [suggestions, setSuggestions] = useState<PlaceSuggestion[]>([])
+
+  useEffect(() => {
+    if (text.trim().length < 2) {
+      setSuggestions([])
+      return
+    }
+    const controller = new AbortController()
+    const timer = setTimeout(() => {
+      suggestPlaces(text, controller.signal)
+        .then(setSuggestions)
+        .catch(() => {}) // suggestions are a convenience; free text still works
+    }, SUGGEST_DELAY_MS)
+    return () => {
+      clearTimeout(timer)
+      controller.abort()
+    }
+  }, [text])
+
+  return suggestions
+}
+
+/** The suggestion picked from the list: one whose name the input now holds exactly. */
+function chosen(suggestions: PlaceSuggestion[], text: string): PlaceSuggestion | undefined {
+  return suggestions.find((place) => place.name === text)
+}
+
+function coordinatesOf(place: PlaceSuggestion): CoordinatesRequest {
+  return { latitude: place.latitude, longitude: place.longitude }
+}
 
 interface Props {
   onSubmit: (request: RouteRequest) => void
@@ -10,13 +46,24 @@ export function RouteForm({ onSubmit, loading }: Props) {
   const today = new Date().toISOString().split('T')[0]
 
   const [origin, setOrigin] = useState('')
+  const [originPlace, setOriginPlace] = useState<PlaceSuggestion>()
   const [destination, setDestination] = useState('')
+  const [destinationPlace, setDestinationPlace] = useState<PlaceSuggestion>()
   const [travelDate, setTravelDate] = useState(today)
   const [departureTime, setDepartureTime] = useState('08:00')
+  const originSuggestions = usePlaceSuggestions(origin)
+  const destinationSuggestions = usePlaceSuggestions(destination)
 
   function handleSubmit(e: FormEvent) {
     e.preventDefault()
-    onSubmit({ origin, destination, travelDate, departureTime })
+    onSubmit({
+      origin,
+      destination,
+      travelDate,
+      departureTime,
+      ...(originPlace && { originCoordinates: coordinatesOf(originPlace) }),
+      ...(destinationPlace && { destinationCoordinates: coordinatesOf(destinationPlace) }),
+    })
   }
 
   return (
@@ -29,10 +76,20 @@ export function RouteForm({ onSubmit, loading }: Props) {
             id="origin"
             type="text"
             placeholder="e.g. Madrid"
+            list="origin-suggestions"
+            autoComplete="off"
             value={origin}
-            onChange={(e) => setOrigin(e.target.value)}
+            onChange={(e) => {
+              setOrigin(e.target.value)
+              setOriginPlace(chosen(originSuggestions, e.target.value))
+            }}
             required
           />
+          <datalist id="origin-suggestions">
+            {originSuggestions.map((place) => (
+              <option key={`${place.latitude},${place.longitude}`} value={place.name} />
+            ))}
+          </datalist>
         </div>
 
         <div className="form-field">
@@ -41,10 +98,20 @@ export function RouteForm({ onSubmit, loading }: Props) {
             id="destination"
             type="text"
             placeholder="e.g. Barcelona"
+            list="destination-suggestions"
+            autoComplete="off"
             value={destination}
-            onChange={(e) => setDestination(e.target.value)}
+            onChange={(e) => {
+              setDestination(e.target.value)
+              setDestinationPlace(chosen(destinationSuggestions, e.target.value))
+            }}
             required
           />
+          <datalist id="destination-suggestions">
+            {destinationSuggestions.map((place) => (
+              <option key={`${place.latitude},${place.longitude}`} value={place.name} />
+            ))}
+          </datalist>
         </div>
 
         <div className="form-field">
@@ -125,12 +125,19 @@ export function RouteMap({ weatherPoints, routeGeometry }: Props) {
           <Popup>
             <div className="map-popup">
               <div className="map-popup-stop">{stopLabel(i)}</div>
-              <div className="map-popup-condition">
-                {CONDITION_ICON[point.condition]} {CONDITION_LABEL[point.condition]}
-              </div>
-              <div className="map-popup-temp">{point.temperatureCelsius.toFixed(1)} °C</div>
-              <div className="map-popup-detail">💨 {point.windSpeedKmh} km/h</div>
-              <div className="map-popup-detail">💧 {point.precipitationMm} mm</div>
+              {point.condition === null || point.temperatureCelsius === null ? (
+                <div className="map-popup-condition">Forecast unavailable</div>
+              ) : (
+                <>
+                  <div className="map-popup-condition">
+                    {CONDITION_ICON[point.condition]} {CONDITION_LABEL[point.condition]}
+                  </div>
+                  <div className="map-popup-temp">{point.temperatureCelsius.toFixed(1)} °C</div>
+                  <div className="map-popup-detail">💨 {point.windSpeedKmh} km/h</div>
+                  <div className="map-popup-detail">💧 {point.precipitationMm} mm</div>
+                  {point.status === 'STALE' && <div className="map-popup-detail">Last known forecast</div>}
+                </>
+              )}
             </div>
           </Popup>
         </Marker>
@@ -21,6 +21,7 @@ const mockReport: RouteWeatherResponse = {
       precipitationMm: 0.0,
       windSpeedKmh: 10,
       condition: 'CLEAR',
+      status: 'FRESH',
     },
     {
       latitude: 41.137,
@@ -30,6 +31,7 @@ const mockReport: RouteWeatherResponse = {
       precipitationMm: 2.0,
       windSpeedKmh: 20,
       condition: 'RAINY',
+      status: 'FRESH',
     },
     {
       latitude: 41.385,
@@ -39,6 +41,7 @@ const mockReport: RouteWeatherResponse = {
       precipitationMm: 0.0,
       windSpeedKmh: 8,
       condition: 'PARTLY_CLOUDY',
+      status: 'FRESH',
     },
   ],
 }
@@ -84,6 +87,33 @@ describe('WeatherReport', () => {
     expect(screen.getByText('Partly cloudy')).toBeInTheDocument()
   })
 
+  it('marks stale and unavailable forecasts', () => {
+    const [first, second, third] = mockReport.weatherPoints
+    render(
+      <WeatherReport
+        report={{
+          ...mockReport,
+          weatherPoints: [
+            first,
+            { ...second, status: 'STALE' },
+            {
+              ...third,
+              temperatureCelsius: null,
+              precipitationMm: null,
+              windSpeedKmh: null,
+              condition: null,
+              status: 'UNAVAILABLE',
+            },
+          ],
+        }}
+      />,
+    )
+
+    expect(screen.getByText('Last known forecast')).toBeInTheDocument()
+    expect(screen.getByText('Forecast unavailable')).toBeInTheDocument()
+    expect(screen.queryByText('14.2°C')).not.toBeInTheDocument()
+  })
+
   it('shows fallback message when no weather points', () => {
     render(<WeatherReport report={{ ...mockReport, weatherPoints: [] }} />)
 
@@ -51,13 +51,27 @@ function WeatherCard({
   return (
     <div className={stopClass(index, total)}>
       <span className="card-stop">{stopLabel(index, total)}</span>
-      <div className="card-icon">{CONDITION_ICON[point.condition]}</div>
-      <div className="card-condition">{CONDITION_LABEL[point.condition]}</div>
-      <div className="card-temp">{point.temperatureCelsius.toFixed(1)}°C</div>
-      <div className="card-details">
-        <span className="card-detail">💧 {point.precipitationMm} mm</span>
-        <span className="card-detail">💨 {point.windSpeedKmh} km/h</span>
-      </div>
+      {point.condition === null || point.temperatureCelsius === null ? (
+        <>
+          <div className="card-icon">❔</div>
+          <div className="card-condition">Forecast unavailable</div>
+        </>
+      ) : (
+        <>
+          <div className="card-icon">{CONDITION_ICON[point.condition]}</div>
+          <div className="card-condition">{CONDITION_LABEL[point.condition]}</div>
+          <div className="card-temp">{point.temperatureCelsius.toFixed(1)}°C</div>
+          <div className="card-details">
+            <span className="card-detail">💧 {point.precipitationMm} mm</span>
+            <span className="card-detail">💨 {point.windSpeedKmh} km/h</span>
+          </div>
+          {point.status === 'STALE' && (
+            <span className="card-stale" title="Latest forecast could not be fetched; showing the last known one">
+              Last known forecast
+            </span>
+          )}
+        </>
+      )}
       <div className="card-coords">
         {point.latitude.toFixed(4)}, {point.longitude.toFixed(4)}
       </div>
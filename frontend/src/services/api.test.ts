@@ -0,0 +1,33 @@
+import { describe, it, expect } from 'vitest'
+import { decodeCbor, decodePolyline } from './api'
+
+describe('decodePolyline', () => {
+  it('decodes the reference example of the encoded polyline format', () => {
+    expect(decodePolyline('_p~iF~ps|U_ulLnnqC_mqNvxq`@')).toEqual([
+      { latitude: 38.5, longitude: -120.2 },
+      { latitude: 40.7, longitude: -120.95 },
+      { latitude: 43.252, longitude: -126.453 },
+    ])
+  })
+})
+
+describe('decodeCbor', () => {
+  it('decodes maps, arrays, byte strings, floats and simple values', () => {
+    // {"a": [1, -2, "x"], "b": h'0000803f', "c": 1.5, "d": true, "e": {_ "f": null}}
+    const bytes = new Uint8Array([
+      0xa5, 0x61, 0x61, 0x83, 0x01, 0x21, 0x61, 0x78,
+      0x61, 0x62, 0x44, 0x00, 0x00, 0x80, 0x3f,
+      0x61, 0x63, 0xfb, 0x3f, 0xf8, 0, 0, 0, 0, 0, 0,
+      0x61, 0x64, 0xf5,
+      0x61, 0x65, 0xbf, 0x61, 0x66, 0xf6, 0xff,
+    ])
+
+    expect(decodeCbor(bytes)).toEqual({
+      a: [1, -2, 'x'],
+      b: new Uint8Array([0x00, 0x00, 0x80, 0x3f]),
+      c: 1.5,
+      d: true,
+      e: { f: null },
+    })
+  })
+})
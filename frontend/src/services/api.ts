@@ -1,20 +1,304 @@
-import type { RouteRequest, RouteWeatherResponse } from '../types'
+import type {
+  CoordinatesResponse,
+  PlaceSuggestion,
+  RouteMetadataEvent,
+  RouteRequest,
+  RouteWeatherResponse,
+  StreamCompleteEvent,
+  WeatherPointEvent,
+} from '../types'
 
 const BASE_URL = '/api'
 
+/**
+ * Wire formats offered by POST /routes/weather (selected with the Accept header).
+ * They differ only in how routeGeometry is encoded; all decode to RouteWeatherResponse.
+ *  - json:     [{ latitude, longitude }, ...]
+ *  - polyline: JSON with an encoded polyline string (precision 5), ~10x smaller on long routes
+ *  - cbor:     CBOR with a byte string of little-endian float32 [lat, lon] pairs
+ */
+export type ResponseFormat = 'json' | 'polyline' | 'cbor'
+
+const ACCEPT: Record<ResponseFormat, string> = {
+  json: 'application/json',
+  polyline: 'application/vnd.routeweather.polyline+json',
+  cbor: 'application/cbor',
+}
+
+type WireRouteWeatherResponse = Omit<RouteWeatherResponse, 'routeGeometry'> & {
+  routeGeometry: CoordinatesResponse[] | string | Uint8Array
+}
+
+/** ?zoom= picks the server-side geometry simplification for that map zoom level. */
+function zoomQuery(zoom?: number): string {
+  return zoom === undefined ? '' : `?zoom=${zoom}`
+}
+
 export async function getRouteWeather(
-  request: RouteRequest
+  request: RouteRequest,
+  format: ResponseFormat = 'polyline',
+  zoom?: number
 ): Promise<RouteWeatherResponse> {
-  const response = await fetch(`${BASE_URL}/routes/weather`, {
+  const response = await fetch(`${BASE_URL}/routes/weather${zoomQuery(zoom)}`, {
     method: 'POST',
-    headers: { 'Content-Type': 'application/json' },
+    headers: { 'Content-Type': 'application/json', Accept: ACCEPT[format] },
     body: JSON.stringify(request),
   })
 
+  const isCbor = response.headers.get('Content-Type')?.includes('cbor') ?? false
+  const body: Promise<unknown> = isCbor
+    ? response.arrayBuffer().then((buffer) => decodeCbor(new Uint8Array(buffer)))
+    : response.json()
+
   if (!response.ok) {
+    const problem = (await body.catch(() => ({}))) as { detail?: string }
+    throw new Error(problem.detail ?? `HTTP ${response.status}`)
+  }
+
+  const wire = (await body) as WireRouteWeatherResponse
+  return { ...wire, routeGeometry: decodeGeometry(wire.routeGeometry) }
+}
+
+function decodeGeometry(geometry: WireRouteWeatherResponse['routeGeometry']): CoordinatesResponse[] {
+  if (typeof geometry === 'string') return decodePolyline(geometry)
+  if (geometry instanceof Uint8Array) return decodePackedFloat32(geometry)
+  return geometry
+}
+
+/** Decodes the Encoded Polyline Algorithm Format with precision 5. */
+export function decodePolyline(encoded: string): CoordinatesResponse[] {
+  const points: CoordinatesResponse[] = []
+  let index = 0
+  let latitude = 0
+  let longitude = 0
+
+  const nextDelta = (): number => {
+    let result = 0
+    let shift = 0
+    let byte: number
+    do {
+      byte = encoded.charCodeAt(index++) - 63
+      result |= (byte & 0x1f) << shift
+      shift += 5
+    } while (byte >= 0x20)
+    return result & 1 ? ~(result >>> 1) : result >>> 1
+  }
+
+  while (index < encoded.length) {
+    latitude += nextDelta()
+    longitude += nextDelta()
+    points.push({ latitude: latitude / 1e5, longitude: longitude / 1e5 })
+  }
+  return points
+}
+
+function decodePackedFloat32(bytes: Uint8Array): CoordinatesResponse[] {
+  const view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength)
+  const points: CoordinatesResponse[] = new Array(bytes.byteLength / 8)
+  for (let i = 0; i < points.length; i++) {
+    points[i] = {
+      latitude: view.getFloat32(i * 8, true),
+      longitude: view.getFloat32(i * 8 + 4, true),
+    }
+  }
+  return points
+}
+
+/**
+ * Minimal CBOR (RFC 8949) decoder covering what Jackson writes: integers, strings, byte
+ * strings, arrays and maps (definite or indefinite length), tags, simple values and floats.
+ */
+export function decodeCbor(bytes: Uint8Array): unknown {
+  const view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength)
+  const text = new TextDecoder()
+  let offset = 0
+
+  const readArgument = (info: number): number => {
+    if (info < 24) return info
+    switch (info) {
+      case 24:
+        return view.getUint8(offset++)
+      case 25:
+        offset += 2
+        return view.getUint16(offset - 2)
+      case 26:
+        offset += 4
+        return view.getUint32(offset - 4)
+      case 27:
+        offset += 8
+        return Number(view.getBigUint64(offset - 8))
+      case 31:
+        return -1 // indefinite length
+      default:
+        throw new Error(`Invalid CBOR additional info ${info}`)
+    }
+  }
+
+  const isBreak = (): boolean => {
+    if (view.getUint8(offset) !== 0xff) return false
+    offset++
+    return true
+  }
+
+  const readBytes = (length: number): Uint8Array => {
+    offset += length
+    return bytes.subarray(offset - length, offset)
+  }
+
+  const readItem = (): unknown => {
+    const initial = view.getUint8(offset++)
+    const major = initial >> 5
+    const info = initial & 0x1f
+
+    switch (major) {
+      case 0:
+        return readArgument(info)
+      case 1:
+        return -1 - readArgument(info)
+      case 2:
+      case 3: {
+        const length = readArgument(info)
+        let data: Uint8Array
+        if (length >= 0) {
+          data = readBytes(length)
+        } else {
+          // Indefinite length: definite-length chunks of the same major type until a break
+          const chunks: Uint8Array[] = []
+          while (!isBreak()) chunks.push(readBytes(readArgument(view.getUint8(offset++) & 0x1f)))
+          data = new Uint8Array(chunks.reduce((total, chunk) => total + chunk.length, 0))
+          let at = 0
+          for (const chunk of chunks) {
+            data.set(chunk, at)
+            at += chunk.length
+          }
+        }
+        return major === 2 ? data : text.decode(data)
+      }
+      case 4: {
+        const length = readArgument(info)
+        const items: unknown[] = []
+        if (length >= 0) for (let i = 0; i < length; i++) items.push(readItem())
+        else while (!isBreak()) items.push(readItem())
+        return items
+      }
+      case 5: {
+        const length = readArgument(info)
+        const map: Record<string, unknown> = {}
+        if (length >= 0) for (let i = 0; i < length; i++) map[String(readItem())] = readItem()
+        else while (!isBreak()) map[String(readItem())] = readItem()
+        return map
+      }
+      case 6:
+        readArgument(info) // tags carry no meaning for these responses
+        return readItem()
+      default:
+        switch (info) {
+          case 20:
+            return false
+          case 21:
+            return true
+          case 22:
+          case 23:
+            return null
+          case 25:
+            offset += 2
+            return decodeFloat16(view.getUint16(offset - 2))
+          case 26:
+            offset += 4
+            return view.getFloat32(offset - 4)
+          case 27:
+            offset += 8
+            return view.getFloat64(offset - 8)
+          default:
+            throw new Error(`Unsupported CBOR simple value ${info}`)
+        }
+    }
+  }
+
+  return readItem()
+}
+
+function decodeFloat16(half: number): number {
+  const exponent = (half >> 10) & 0x1f
+  const mantissa = half & 0x3ff
+  const sign = half & 0x8000 ? -1 : 1
+  if (exponent === 0) return sign * mantissa * 2 ** -24
+  if (exponent === 0x1f) return mantissa ? NaN : sign * Infinity
+  return sign * (1 + mantissa / 1024) * 2 ** (exponent - 15)
+}
+
+/**
+ * Known places starting with `prefix`, answered from the server's memory (never from an
+ * upstream), so it is cheap enough to call as the user types.
+ */
+export async function suggestPlaces(prefix: string, signal?: AbortSignal): Promise<PlaceSuggestion[]> {
+  const response = await fetch(`${BASE_URL}/places/suggest?q=${encodeURIComponent(prefix)}`, { signal })
+  if (!response.ok) throw new Error(`HTTP ${response.status}`)
+  return response.json()
+}
+
+export interface RouteWeatherStreamHandlers {
+  onRoute: (route: RouteMetadataEvent) => void
+  onWeatherPoint: (event: WeatherPointEvent) => void
+  onComplete?: (event: StreamCompleteEvent) => void
+}
+
+/**
+ * Streaming variant of getRouteWeather: the route arrives first, then each weather point
+ * as soon as its forecast resolves. Resolves once the stream completes.
+ *
+ * EventSource only supports GET, so the Server-Sent Events stream is read from fetch.
+ */
+export async function streamRouteWeather(
+  request: RouteRequest,
+  handlers: RouteWeatherStreamHandlers,
+  zoom?: number
+): Promise<void> {
+  const response = await fetch(`${BASE_URL}/routes/weather/stream${zoomQuery(zoom)}`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json', Accept: 'text/event-stream' },
+    body: JSON.stringify(request),
+  })
+
+  if (!response.ok || !response.body) {
     const problem = await response.json().catch(() => ({}))
     throw new Error(problem.detail ?? `HTTP ${response.status}`)
   }
 
-  return response.json() as Promise<RouteWeatherResponse>
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader()
+  let buffer = ''
+  for (;;) {
+    const { value, done } = await reader.read()
+    if (done) return
+    buffer += value
+
+    let boundary = buffer.indexOf('\n\n')
+    while (boundary >= 0) {
+      const block = buffer.slice(0, boundary)
+      buffer = buffer.slice(boundary + 2)
+      boundary = buffer.indexOf('\n\n')
+
+      let event = 'message'
+      const data: string[] = []
+      for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) event = line.slice(6).trim()
+        else if (line.startsWith('data:')) data.push(line.slice(5))
+      }
+      const payload = data.length > 0 ? JSON.parse(data.join('\n')) : {}
+
+      switch (event) {
+        case 'route':
+          handlers.onRoute(payload as RouteMetadataEvent)
+          break
+        case 'weather-point':
+          handlers.onWeatherPoint(payload as WeatherPointEvent)
+          break
+        case 'complete':
+          handlers.onComplete?.(payload as StreamCompleteEvent)
+          return
+        case 'error':
+          throw new Error(payload.detail ?? payload.title ?? 'Stream failed')
+      }
+    }
+  }
 }
@@ -5,18 +5,28 @@ export interface RouteRequest {
   destination: string;
   travelDate: string; // ISO date string: YYYY-MM-DD
   departureTime: string; // 24-hour time string: HH:mm
+  // Set when the place was picked from the suggestions, so the server routes from exactly there
+  originCoordinates?: CoordinatesRequest;
+  destinationCoordinates?: CoordinatesRequest;
+}
+
+export interface CoordinatesRequest {
+  latitude: number;
+  longitude: number;
 }
 
 // ─── Response types ───────────────────────────────────────────────────────────
 
+// Weather values are null when status is UNAVAILABLE
 export interface WeatherPointResponse {
   latitude: number;
   longitude: number;
   forecastTime: string;
-  temperatureCelsius: number;
-  precipitationMm: number;
-  windSpeedKmh: number;
-  condition: WeatherCondition;
+  temperatureCelsius: number | null;
+  precipitationMm: number | null;
+  windSpeedKmh: number | null;
+  condition: WeatherCondition | null;
+  status: ForecastStatus;
 }
 
 export interface CoordinatesResponse {
@@ -24,6 +34,13 @@ export interface CoordinatesResponse {
   longitude: number;
 }
 
+// GET /api/places/suggest
+export interface PlaceSuggestion {
+  name: string;
+  latitude: number;
+  longitude: number;
+}
+
 export interface RouteWeatherResponse {
   origin: string;
   destination: string;
@@ -32,6 +49,25 @@ export interface RouteWeatherResponse {
   routeGeometry: CoordinatesResponse[];
 }
 
+// ─── Streaming events (POST /api/routes/weather/stream) ──────────────────────
+
+export interface RouteMetadataEvent {
+  origin: string;
+  destination: string;
+  travelDate: string;
+  waypointCount: number;
+  routeGeometry: CoordinatesResponse[];
+}
+
+export interface WeatherPointEvent {
+  index: number; // position along the route; events arrive in completion order
+  weatherPoint: WeatherPointResponse;
+}
+
+export interface StreamCompleteEvent {
+  weatherPointCount: number;
+}
+
 // ─── Domain enums (mirror the backend) ───────────────────────────────────────
 
 export type WeatherCondition =
@@ -44,6 +80,10 @@ export type WeatherCondition =
   | 'STORMY'
   | 'FOGGY';
 
+// FRESH: current forecast; STALE: last good forecast while the source is failing;
+// UNAVAILABLE: no forecast could be obtained
+export type ForecastStatus = 'FRESH' | 'STALE' | 'UNAVAILABLE';
+
 // ─── UI state ─────────────────────────────────────────────────────────────────
 
 export type LoadingState = 'idle' | 'loading' | 'success' | 'error';